@@ -0,0 +1,75 @@
+package graph.bench;
+
+import graph.dagsp.DAGLongestPath;
+import graph.dagsp.DAGShortestPath;
+import graph.model.CSRGraph;
+import graph.scc.CondensationBuilder;
+import graph.scc.KosarajuSCC;
+import graph.topo.KahnTopologicalSort;
+import org.openjdk.jmh.annotations.*;
+import tools.DatasetGenerator;
+import java.util.concurrent.TimeUnit;
+
+// throughput of the pipeline stages over generated graphs;
+// run with -prof gc to also report allocation rate per operation
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class GraphAlgorithmsBenchmark {
+
+    @Param({"1000", "100000"})
+    public int vertices;
+
+    // average out-degree: 2 is sparse, 8 is dense
+    @Param({"2", "8"})
+    public int density;
+
+    @Param({"true", "false"})
+    public boolean cyclic;
+
+    private CSRGraph graph;
+    private KosarajuSCC solvedScc;
+    private CSRGraph condensation;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        graph = DatasetGenerator.generateGraph(vertices, vertices * density, cyclic, 42);
+        solvedScc = new KosarajuSCC(graph);
+        solvedScc.findSCCs();
+        condensation = solvedScc.buildCondensation(CondensationBuilder.WeightMode.FIRST);
+    }
+
+    @Benchmark
+    public int[] kosarajuFindSCCs() {
+        KosarajuSCC scc = new KosarajuSCC(graph);
+        scc.findSCCs();
+        return scc.getComponentIds();
+    }
+
+    @Benchmark
+    public CSRGraph buildCondensation() {
+        return solvedScc.buildCondensation(CondensationBuilder.WeightMode.FIRST);
+    }
+
+    @Benchmark
+    public int[] kahnSort() {
+        return new KahnTopologicalSort(condensation).computeOrder();
+    }
+
+    @Benchmark
+    public int dagShortestPaths() {
+        DAGShortestPath sp = new DAGShortestPath(condensation);
+        sp.computeShortestPaths(0);
+        return sp.getDistance(condensation.getNumVertices() - 1);
+    }
+
+    @Benchmark
+    public int dagLongestPaths() {
+        DAGLongestPath lp = new DAGLongestPath(condensation);
+        lp.computeLongestPaths(0);
+        return lp.getDistance(condensation.getNumVertices() - 1);
+    }
+}
@@ -0,0 +1,91 @@
+package graph.bench;
+
+import graph.model.CSRGraph;
+import graph.model.Graph;
+import graph.model.ParallelCSRBuilder;
+import org.openjdk.jmh.annotations.*;
+import tools.DatasetGenerator;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// building a graph from raw edge arrays: one addEdge per edge into Graph or
+// CSRGraph.Builder against the bulk ParallelCSRBuilder
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class GraphConstructionBenchmark {
+
+    @Param({"100000", "1000000"})
+    public int vertices;
+
+    @Param({"8"})
+    public int density;
+
+    private int[] from;
+    private int[] to;
+    private int[] weight;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        CSRGraph graph = DatasetGenerator.generateGraph(vertices, vertices * density, true, 42);
+        int m = graph.getNumEdges();
+        from = new int[m];
+        to = new int[m];
+        weight = new int[m];
+        // shuffle sources so the input is not already grouped by vertex
+        int i = 0;
+        for (int u = 0; u < vertices; u++) {
+            for (int e = graph.getEdgeStart(u); e < graph.getEdgeEnd(u); e++, i++) {
+                from[i] = u;
+                to[i] = graph.getTargetAt(e);
+                weight[i] = graph.getWeightAt(e);
+            }
+        }
+        Random random = new Random(42);
+        for (int k = m - 1; k > 0; k--) {
+            int j = random.nextInt(k + 1);
+            swap(from, k, j);
+            swap(to, k, j);
+            swap(weight, k, j);
+        }
+    }
+
+    private static void swap(int[] a, int i, int j) {
+        int t = a[i];
+        a[i] = a[j];
+        a[j] = t;
+    }
+
+    @Benchmark
+    public Graph graphAddEdge() {
+        Graph graph = new Graph(vertices, true);
+        for (int i = 0; i < from.length; i++) {
+            graph.addEdge(from[i], to[i], weight[i]);
+        }
+        return graph;
+    }
+
+    @Benchmark
+    public CSRGraph csrBuilder() {
+        CSRGraph.Builder builder = new CSRGraph.Builder(vertices, true);
+        for (int i = 0; i < from.length; i++) {
+            builder.addEdge(from[i], to[i], weight[i]);
+        }
+        return builder.build();
+    }
+
+    @Benchmark
+    public CSRGraph parallelBuilder() {
+        return new ParallelCSRBuilder(vertices, true).build(from, to, weight);
+    }
+
+    @Benchmark
+    public CSRGraph parallelBuilderSortedDedup() {
+        return new ParallelCSRBuilder(vertices, true)
+                .setDuplicates(ParallelCSRBuilder.Duplicates.MIN)
+                .build(from, to, weight);
+    }
+}
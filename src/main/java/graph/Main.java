@@ -1,25 +1,167 @@
 package graph;
 
+import graph.cache.AnalysisResult;
+import graph.cache.ResultCache;
 import graph.dagsp.DAGLongestPath;
 import graph.dagsp.DAGShortestPath;
-import graph.model.Graph;
 import graph.model.GraphLoader;
+import graph.model.GraphView;
+import graph.scc.CondensationBuilder;
 import graph.scc.KosarajuSCC;
+import graph.schedule.ListScheduler;
 import graph.topo.KahnTopologicalSort;
+import util.MetricsRegistry;
 
+import java.io.ByteArrayOutputStream;
 import java.io.File;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 public class Main {
 
+    // workers of the step 6 execution plan unless --workers is given
+    private static final int DEFAULT_WORKERS = 4;
+    // everything that shapes the cached results besides the graph itself
+    private static final String CACHE_PARAMETERS = "kosaraju;condensation=FIRST;kahn;source=0";
+
+    // usage: Main [--batch] [--threads N] [--workers N] [--metrics FILE]
+    //             [--cache DIR] [--cache-size MB] [file-or-directory...]
+    // without arguments the data/small, data/medium and data/large folders
+    // are processed one after another
     public static void main(String[] args) {
+        boolean batch = false;
+        int threads = Runtime.getRuntime().availableProcessors();
+        int workers = DEFAULT_WORKERS;
+        String metricsFile = null;
+        String cacheDir = null;
+        long cacheBytes = ResultCache.DEFAULT_MAX_BYTES;
+        List<String> inputs = new ArrayList<>();
+
+        try {
+            for (int i = 0; i < args.length; i++) {
+                switch (args[i]) {
+                    case "--batch":
+                        batch = true;
+                        break;
+                    case "--threads":
+                        batch = true;
+                        threads = positiveInt(args, i++);
+                        break;
+                    case "--workers":
+                        workers = positiveInt(args, i++);
+                        break;
+                    case "--metrics":
+                        metricsFile = optionValue(args, i++);
+                        break;
+                    case "--cache":
+                        cacheDir = optionValue(args, i++);
+                        break;
+                    case "--cache-size":
+                        cacheBytes = (long) positiveInt(args, i++) << 20;
+                        break;
+                    default:
+                        if (args[i].startsWith("--")) {
+                            throw new IllegalArgumentException("Unknown option " + args[i]);
+                        }
+                        inputs.add(args[i]);
+                }
+            }
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            printUsage();
+            System.exit(2);
+        }
+
         System.out.println("========================================");
         System.out.println("Smart City/Campus Scheduling System");
         System.out.println("Assignment 4: Graph Algorithms");
         System.out.println("========================================\n");
 
+        ResultCache cache = cacheDir == null ? null : openCache(Paths.get(cacheDir), cacheBytes);
+
+        boolean ok = true;
+        if (batch) {
+            ok = runBatch(collectDatasets(inputs), threads, workers, cache);
+        } else if (!inputs.isEmpty()) {
+            for (String filePath : collectDatasets(inputs)) {
+                ok &= processDataset(filePath, workers, cache, System.out, System.err);
+            }
+        } else {
+            ok = runCategories(workers, cache);
+        }
+
+        System.out.println("\n" + "=".repeat(60));
+        System.out.println(ok ? "All datasets processed successfully!" : "Some datasets failed, see errors above");
+        System.out.println("=".repeat(60));
+
+        if (cache != null) {
+            System.out.println(cache);
+        }
+        if (metricsFile != null) {
+            exportMetrics(metricsFile);
+        }
+    }
+
+    private static void printUsage() {
+        System.err.println("usage: Main [--batch] [--threads N] [--workers N] [--metrics FILE]"
+                + " [--cache DIR] [--cache-size MB] [file-or-directory...]");
+    }
+
+    // the value following option i
+    private static String optionValue(String[] args, int i) {
+        if (i + 1 == args.length) {
+            throw new IllegalArgumentException("Missing value for " + args[i]);
+        }
+        return args[i + 1];
+    }
+
+    private static int positiveInt(String[] args, int i) {
+        String value = optionValue(args, i);
+        try {
+            int parsed = Integer.parseInt(value);
+            if (parsed > 0) {
+                return parsed;
+            }
+        } catch (NumberFormatException e) {
+            // reported below
+        }
+        throw new IllegalArgumentException("Invalid value for " + args[i] + ": " + value);
+    }
+
+    // null (run without a cache) if the directory is unusable
+    private static ResultCache openCache(Path directory, long maxBytes) {
+        try {
+            return new ResultCache(directory, maxBytes);
+        } catch (IOException e) {
+            System.err.println("Could not open result cache " + directory + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    // per-algorithm totals and timing percentiles over all datasets, JSON or CSV by extension
+    private static void exportMetrics(String file) {
+        try {
+            MetricsRegistry.global().export(Paths.get(file));
+            System.out.println("Metrics written to " + file);
+        } catch (IOException e) {
+            System.err.println("Could not write metrics to " + file + ": " + e.getMessage());
+        }
+    }
+
+    // returns false if any dataset failed
+    private static boolean runCategories(int workers, ResultCache cache) {
         String[] categories = {"small", "medium", "large"};
+        boolean ok = true;
 
         for (String category : categories) {
             System.out.println("\n" + "=".repeat(60));
@@ -36,71 +178,242 @@ public class Main {
             if (files != null) {
                 Arrays.sort(files);
                 for (File file : files) {
-                    processDataset(file.getPath());
+                    ok &= processDataset(file.getPath(), workers, cache, System.out, System.err);
+                }
+            }
+        }
+        return ok;
+    }
+
+    // expand directories into their .json files; defaults to the data folders
+    private static List<String> collectDatasets(List<String> inputs) {
+        if (inputs.isEmpty()) {
+            inputs = Arrays.asList("data/small", "data/medium", "data/large");
+        }
+        List<String> datasets = new ArrayList<>();
+        for (String input : inputs) {
+            File file = new File(input);
+            if (file.isDirectory()) {
+                File[] files = file.listFiles((dir, name) -> name.endsWith(".json"));
+                if (files != null) {
+                    Arrays.sort(files);
+                    for (File f : files) {
+                        datasets.add(f.getPath());
+                    }
+                }
+            } else if (file.exists()) {
+                datasets.add(file.getPath());
+            } else {
+                System.out.println("Warning: " + input + " not found!");
+            }
+        }
+        return datasets;
+    }
+
+    // process datasets concurrently; each report is buffered and printed whole, in input order.
+    // Returns false if any dataset failed
+    private static boolean runBatch(List<String> datasets, int threads, int workers, ResultCache cache) {
+        System.out.println("Batch mode: " + datasets.size() + " datasets on " + threads + " threads");
+
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, threads));
+        long batchStart = System.nanoTime();
+        List<Future<DatasetReport>> futures = new ArrayList<>();
+        for (String filePath : datasets) {
+            futures.add(executor.submit(() -> runBuffered(filePath, workers, cache)));
+        }
+
+        List<DatasetReport> reports = new ArrayList<>();
+        boolean ok = true;
+        try {
+            for (int i = 0; i < futures.size(); i++) {
+                // a dataset that died outside processDataset still gets a failed report
+                DatasetReport report;
+                try {
+                    report = futures.get(i).get();
+                } catch (ExecutionException e) {
+                    report = new DatasetReport(datasets.get(i),
+                            "Error processing " + datasets.get(i) + ": " + e.getCause() + "\n", 0, false);
                 }
+                System.out.print(report.output);
+                reports.add(report);
+                ok &= report.success;
             }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            System.err.println("Batch interrupted");
+            ok = false;
+        } finally {
+            executor.shutdownNow();
+        }
+        double wallMs = (System.nanoTime() - batchStart) / 1_000_000.0;
+
+        printBatchSummary(reports, wallMs);
+        return ok && reports.size() == datasets.size();
+    }
+
+    private static DatasetReport runBuffered(String filePath, int workers, ResultCache cache) {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        PrintStream out = new PrintStream(buffer, false, StandardCharsets.UTF_8);
+        long start = System.nanoTime();
+        boolean ok = processDataset(filePath, workers, cache, out, out);
+        double elapsedMs = (System.nanoTime() - start) / 1_000_000.0;
+        out.flush();
+        return new DatasetReport(filePath, buffer.toString(StandardCharsets.UTF_8), elapsedMs, ok);
+    }
+
+    private static void printBatchSummary(List<DatasetReport> reports, double wallMs) {
+        double totalMs = 0;
+        int failed = 0;
+        DatasetReport slowest = null;
+        for (DatasetReport report : reports) {
+            totalMs += report.elapsedMs;
+            if (!report.success) failed++;
+            if (slowest == null || report.elapsedMs > slowest.elapsedMs) slowest = report;
         }
 
         System.out.println("\n" + "=".repeat(60));
-        System.out.println("All datasets processed successfully!");
+        System.out.println("Batch Summary");
         System.out.println("=".repeat(60));
+        System.out.printf("Datasets: %d (%d failed)\n", reports.size(), failed);
+        System.out.printf("Wall time: %.3f ms\n", wallMs);
+        System.out.printf("Sum of dataset times: %.3f ms\n", totalMs);
+        if (wallMs > 0) {
+            System.out.printf("Effective parallelism: %.2fx\n", totalMs / wallMs);
+        }
+        if (slowest != null) {
+            System.out.printf("Slowest: %s (%.3f ms)\n", slowest.filePath, slowest.elapsedMs);
+        }
+    }
+
+    // buffered output and timing of one dataset
+    private static class DatasetReport {
+        final String filePath;
+        final String output;
+        final double elapsedMs;
+        final boolean success;
+
+        DatasetReport(String filePath, String output, double elapsedMs, boolean success) {
+            this.filePath = filePath;
+            this.output = output;
+            this.elapsedMs = elapsedMs;
+            this.success = success;
+        }
     }
 
-    private static void processDataset(String filePath) {
-        System.out.println("\n--- Processing: " + filePath + " ---");
+    // run the full pipeline on one dataset; returns false if it failed. With a
+    // cache, SCCs, topological order and path results of an unchanged graph
+    // are read back instead of recomputed
+    private static boolean processDataset(String filePath, int workers, ResultCache cache,
+                                          PrintStream out, PrintStream err) {
+        out.println("\n--- Processing: " + filePath + " ---");
 
         try {
             GraphLoader.GraphData data = GraphLoader.loadFromFile(filePath);
-            Graph graph = data.graph;
+            GraphView graph = data.graph;
 
-            System.out.println("Graph loaded: " + graph.getNumVertices() +
-                    " vertices, " + graph.getNumEdges() + " edges");
+            out.println("Graph loaded: " + graph.getNumVertices() +
+                    " vertices, " + graph.getNumEdgesLong() + " edges");
+
+            String cacheKey = cache == null ? null : ResultCache.key(graph, CACHE_PARAMETERS);
+            AnalysisResult cached = cache == null ? null : cache.get(cacheKey);
+            if (cached != null) {
+                out.println("Results served from cache " + cacheKey);
+            }
 
             // find strongly connected components
-            System.out.println("\n1. Finding Strongly Connected Components...");
+            out.println("\n1. Finding Strongly Connected Components...");
             KosarajuSCC sccFinder = new KosarajuSCC(graph);
-            sccFinder.findSCCs();
-            sccFinder.printSCCs();
+            if (cached != null) {
+                sccFinder.restore(cached.componentIds, cached.members);
+            } else {
+                sccFinder.findSCCs();
+            }
+            sccFinder.printSCCs(out);
 
             // build DAG of SCCs
-            System.out.println("\n2. Building Condensation DAG...");
-            Graph condensation = sccFinder.buildCondensationGraph();
-            System.out.println("Condensation graph: " + condensation.getNumVertices() +
+            out.println("\n2. Building Condensation DAG...");
+            GraphView condensation = sccFinder.buildCondensation(CondensationBuilder.WeightMode.FIRST);
+            out.println("Condensation graph: " + condensation.getNumVertices() +
                     " components, " + condensation.getNumEdges() + " edges");
 
             // topological sort on DAG
-            System.out.println("\n3. Topological Sort of Condensation...");
+            out.println("\n3. Topological Sort of Condensation...");
             KahnTopologicalSort topoSort = new KahnTopologicalSort(condensation);
-            List<Integer> topoOrder = topoSort.sort();
-            topoSort.printOrder();
+            int[] topoOrder;
+            if (cached != null && cached.topoOrder != null) {
+                topoOrder = cached.topoOrder;
+                topoSort.restore(topoOrder);
+            } else {
+                topoOrder = topoSort.computeOrder();
+            }
+            topoSort.printOrder(out);
 
+            DAGShortestPath shortestPath = null;
+            DAGLongestPath longestPath = null;
             if (topoSort.isDAG()) {
-                System.out.println("\n4. DAG Path Analysis...");
-                DAGShortestPath shortestPath = new DAGShortestPath(condensation);
-                shortestPath.computeShortestPaths(0);
-                shortestPath.printPaths();
-
-                DAGLongestPath longestPath = new DAGLongestPath(condensation);
-                longestPath.computeLongestPaths(0);
-                longestPath.printPaths();
+                out.println("\n4. DAG Path Analysis...");
+                shortestPath = new DAGShortestPath(condensation);
+                longestPath = new DAGLongestPath(condensation);
+                if (cached != null && cached.hasPaths()) {
+                    shortestPath.restore(cached.source, cached.shortestDistances, cached.shortestPredecessors);
+                    longestPath.restore(cached.source, cached.longestDistances, cached.longestPredecessors);
+                } else {
+                    shortestPath.computeShortestPaths(0, topoOrder);
+                    longestPath.computeLongestPaths(0, topoOrder);
+                }
+                shortestPath.printPaths(out);
+                longestPath.printPaths(out);
             } else {
-                System.out.println("\n4. Skipping path analysis (graph contains cycles)");
+                out.println("\n4. Skipping path analysis (graph contains cycles)");
+            }
+
+            if (cache != null && cached == null) {
+                // a failed write only costs the next run a recomputation
+                try {
+                    cache.put(cacheKey, new AnalysisResult(sccFinder.getComponentIds(), sccFinder.getMembers(),
+                            topoOrder, 0,
+                            shortestPath == null ? null : shortestPath.getDistances(),
+                            shortestPath == null ? null : shortestPath.getPredecessors(),
+                            longestPath == null ? null : longestPath.getDistances(),
+                            longestPath == null ? null : longestPath.getPredecessors()));
+                } catch (IOException e) {
+                    err.println("Could not cache results of " + filePath + ": " + e.getMessage());
+                }
             }
 
             if (topoOrder != null) {
-                System.out.println("\n5. Original Task Execution Order:");
+                out.println("\n5. Original Task Execution Order:");
                 List<List<Integer>> sccs = sccFinder.getSCCs();
 
-                System.out.print("Task order: ");
+                out.print("Task order: ");
                 for (int compId : topoOrder) {
-                    System.out.print(sccs.get(compId) + " ");
+                    out.print(sccs.get(compId) + " ");
                 }
-                System.out.println();
+                out.println();
+
+                out.println("\n6. Parallel Execution Plan...");
+                ListScheduler scheduler = new ListScheduler(condensation,
+                        componentDurations(condensation, sccs), workers);
+                scheduler.compute(topoOrder);
+                scheduler.printPlan(out);
             }
 
         } catch (Exception e) {
-            System.err.println("Error processing " + filePath + ": " + e.getMessage());
-            e.printStackTrace();
+            err.println("Error processing " + filePath + ": " + e.getMessage());
+            e.printStackTrace(err);
+            return false;
+        }
+        return true;
+    }
+
+    // summed task durations when the input is node-weighted, otherwise one
+    // time unit per original task
+    private static long[] componentDurations(GraphView condensation, List<List<Integer>> sccs) {
+        long[] duration = new long[condensation.getNumVertices()];
+        for (int c = 0; c < duration.length; c++) {
+            duration[c] = condensation.hasNodeWeights()
+                    ? condensation.getNodeWeight(c) : sccs.get(c).size();
         }
+        return duration;
     }
 }
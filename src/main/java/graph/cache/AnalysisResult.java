@@ -0,0 +1,156 @@
+package graph.cache;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.zip.CRC32;
+
+// results of one pipeline run on one graph, in the compact form a
+// ResultCache keeps on disk. Arrays may be null when the step did not run
+// (no topological order, no path analysis). Encoding: magic, version, then
+// every array as a varint length (0 for null, length + 1 otherwise) and
+// zig-zag varints, then a CRC32 of everything before it
+public class AnalysisResult {
+    static final int MAGIC = 0x53435253; // "SCRS"
+    static final int VERSION = 1;
+
+    public final int[] componentIds;
+    // vertices grouped by component, see AbstractSCCFinder.getMembers()
+    public final int[] members;
+    public final int[] topoOrder;
+    public final int source;
+    public final int[] shortestDistances;
+    public final int[] shortestPredecessors;
+    public final int[] longestDistances;
+    public final int[] longestPredecessors;
+
+    public AnalysisResult(int[] componentIds, int[] members, int[] topoOrder, int source,
+                          int[] shortestDistances, int[] shortestPredecessors,
+                          int[] longestDistances, int[] longestPredecessors) {
+        this.componentIds = componentIds;
+        this.members = members;
+        this.topoOrder = topoOrder;
+        this.source = source;
+        this.shortestDistances = shortestDistances;
+        this.shortestPredecessors = shortestPredecessors;
+        this.longestDistances = longestDistances;
+        this.longestPredecessors = longestPredecessors;
+    }
+
+    public boolean hasPaths() {
+        return shortestDistances != null && longestDistances != null;
+    }
+
+    public void writeTo(OutputStream out) throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        writeFixed(buffer, MAGIC);
+        writeFixed(buffer, VERSION);
+        writeVarint(buffer, zigZag(source));
+        for (int[] array : arrays()) {
+            writeArray(buffer, array);
+        }
+        CRC32 crc = new CRC32();
+        crc.update(buffer.toByteArray());
+        writeFixed(buffer, (int) crc.getValue());
+        buffer.writeTo(out);
+    }
+
+    // IOException on a foreign, truncated or corrupted stream
+    public static AnalysisResult readFrom(InputStream in) throws IOException {
+        byte[] bytes = in.readAllBytes();
+        if (bytes.length < 12) {
+            throw new EOFException("Truncated analysis result");
+        }
+        CRC32 crc = new CRC32();
+        crc.update(bytes, 0, bytes.length - 4);
+        DataInputStream data = new DataInputStream(new ByteArrayInputStream(bytes));
+        if (data.readInt() != MAGIC) {
+            throw new IOException("Not an analysis result");
+        }
+        int version = data.readInt();
+        if (version != VERSION) {
+            throw new IOException("Unsupported analysis result version " + version);
+        }
+        int stored = ByteBuffer.wrap(bytes, bytes.length - 4, 4).getInt();
+        if (stored != (int) crc.getValue()) {
+            throw new IOException("Analysis result checksum mismatch");
+        }
+        int source = unZigZag(readVarint(data));
+        int[][] arrays = new int[7][];
+        for (int i = 0; i < arrays.length; i++) {
+            arrays[i] = readArray(data);
+        }
+        return new AnalysisResult(arrays[0], arrays[1], arrays[2], source,
+                arrays[3], arrays[4], arrays[5], arrays[6]);
+    }
+
+    private int[][] arrays() {
+        return new int[][]{componentIds, members, topoOrder,
+                shortestDistances, shortestPredecessors, longestDistances, longestPredecessors};
+    }
+
+    private static void writeArray(ByteArrayOutputStream out, int[] array) {
+        if (array == null) {
+            writeVarint(out, 0);
+            return;
+        }
+        writeVarint(out, array.length + 1);
+        for (int value : array) {
+            writeVarint(out, zigZag(value));
+        }
+    }
+
+    private static int[] readArray(DataInputStream in) throws IOException {
+        int length = readVarint(in);
+        if (length == 0) {
+            return null;
+        }
+        int[] array = new int[length - 1];
+        for (int i = 0; i < array.length; i++) {
+            array[i] = unZigZag(readVarint(in));
+        }
+        return array;
+    }
+
+    private static void writeFixed(ByteArrayOutputStream out, int value) {
+        out.write(value >>> 24);
+        out.write(value >>> 16);
+        out.write(value >>> 8);
+        out.write(value);
+    }
+
+    // 7 bits per byte, high bit set on all but the last
+    private static void writeVarint(ByteArrayOutputStream out, int value) {
+        while ((value & ~0x7F) != 0) {
+            out.write((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.write(value);
+    }
+
+    private static int readVarint(DataInputStream in) throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < 35; shift += 7) {
+            int b = in.readUnsignedByte();
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed varint");
+    }
+
+    // small magnitudes of either sign stay short; -1 (no predecessor) is one byte
+    private static int zigZag(int value) {
+        return (value << 1) ^ (value >> 31);
+    }
+
+    private static int unZigZag(int value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+}
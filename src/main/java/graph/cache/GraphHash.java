@@ -0,0 +1,53 @@
+package graph.cache;
+
+import graph.model.GraphView;
+import java.nio.charset.StandardCharsets;
+
+// fast 64-bit content hash of a graph: vertex count, direction, and every
+// vertex's degree, targets, weights and node weight in order. Not a
+// cryptographic hash; equal graphs always agree, and different graphs
+// collide with negligible probability
+public final class GraphHash {
+    private static final long SEED = 0x5343475248415348L;
+    private static final long MULTIPLIER = 0x9E3779B97F4A7C15L;
+
+    private GraphHash() {
+    }
+
+    public static long of(GraphView graph) {
+        int n = graph.getNumVertices();
+        long h = mix(SEED, n);
+        h = mix(h, graph.isDirected() ? 1 : 0);
+        h = mix(h, graph.hasNodeWeights() ? 1 : 0);
+        for (int u = 0; u < n; u++) {
+            int degree = graph.getOutDegree(u);
+            h = mix(h, degree);
+            h = mix(h, graph.getNodeWeight(u));
+            for (int i = 0; i < degree; i++) {
+                h = mix(h, ((long) graph.getTarget(u, i) << 32) | (graph.getWeight(u, i) & 0xFFFFFFFFL));
+            }
+        }
+        return finish(h);
+    }
+
+    public static long of(String s) {
+        long h = SEED;
+        for (byte b : s.getBytes(StandardCharsets.UTF_8)) {
+            h = mix(h, b);
+        }
+        return finish(h);
+    }
+
+    private static long mix(long h, long value) {
+        return Long.rotateLeft(h ^ (value * MULTIPLIER), 31) * MULTIPLIER;
+    }
+
+    // murmur3 finalizer, so every input bit reaches every output bit
+    private static long finish(long h) {
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        h *= 0xC4CEB9FE1A85EC53L;
+        return h ^ (h >>> 33);
+    }
+}
@@ -0,0 +1,310 @@
+package graph.cache;
+
+import graph.dagsp.MultiSourceDAGPaths.Objective;
+import graph.model.GraphView;
+import graph.topo.KahnTopologicalSort;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+// answers repeated distance/path queries on one DAG (typically a
+// condensation) from cached single-source results. Each (objective, source)
+// pair is computed once by the relaxation sweep of DAGShortestPath or
+// DAGLongestPath, run directly over a topological order kept per graph
+// version, so a miss allocates only its result. The distance and
+// predecessor arrays stay in an LRU cache bounded by their total size in
+// bytes. Queries may come from any number of threads: a cache miss is
+// computed outside the lock, and concurrent misses on the same source wait
+// for one computation. When the graph's version changes, or setGraph()
+// installs a new one, all cached results are dropped
+public class PathQueryService {
+    public static final long DEFAULT_MAX_BYTES = 64L << 20;
+    // bookkeeping charged per entry on top of its two arrays
+    private static final long ENTRY_OVERHEAD = 64;
+
+    private final long maxBytes;
+    private volatile State state;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public PathQueryService(GraphView dag) {
+        this(dag, DEFAULT_MAX_BYTES);
+    }
+
+    public PathQueryService(GraphView dag, long maxBytes) {
+        if (maxBytes <= 0) {
+            throw new IllegalArgumentException("Cache size must be positive");
+        }
+        this.maxBytes = maxBytes;
+        this.state = new State(dag);
+    }
+
+    // serve queries on a new graph, e.g. a fresh condensation
+    public void setGraph(GraphView dag) {
+        state = new State(dag);
+    }
+
+    // Integer.MAX_VALUE if to is unreachable from from
+    public int getShortestDistance(int from, int to) {
+        return get(Objective.SHORTEST, from).getDistance(to);
+    }
+
+    // Integer.MIN_VALUE if to is unreachable from from
+    public int getLongestDistance(int from, int to) {
+        return get(Objective.LONGEST, from).getDistance(to);
+    }
+
+    // null if unreachable
+    public List<Integer> getShortestPath(int from, int to) {
+        return get(Objective.SHORTEST, from).getPath(to);
+    }
+
+    public List<Integer> getLongestPath(int from, int to) {
+        return get(Objective.LONGEST, from).getPath(to);
+    }
+
+    // all results for one source, computed on a miss. The arrays are shared
+    // with the cache and must not be modified
+    public Paths get(Objective objective, int source) {
+        State current = current();
+        if (source < 0 || source >= current.graph.getNumVertices()) {
+            throw new IllegalArgumentException("Invalid vertex index");
+        }
+        long key = (long) source << 1 | objective.ordinal();
+
+        Paths paths = current.lookup(key);
+        if (paths != null) {
+            hits.increment();
+            return paths;
+        }
+
+        CompletableFuture<Paths> pending = new CompletableFuture<>();
+        CompletableFuture<Paths> running = current.inFlight.putIfAbsent(key, pending);
+        if (running != null) {
+            // someone else is computing this source
+            hits.increment();
+            return join(running);
+        }
+        try {
+            // another thread may have stored it between lookup and putIfAbsent
+            paths = current.lookup(key);
+            if (paths != null) {
+                hits.increment();
+                pending.complete(paths);
+                return paths;
+            }
+            misses.increment();
+            paths = current.compute(objective, source);
+            current.store(key, paths);
+            pending.complete(paths);
+            return paths;
+        } catch (RuntimeException | Error e) {
+            pending.completeExceptionally(e);
+            throw e;
+        } finally {
+            current.inFlight.remove(key, pending);
+        }
+    }
+
+    // drop every cached result
+    public void invalidate() {
+        state = new State(state.graph);
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    public long getEvictions() {
+        return evictions.sum();
+    }
+
+    public int getCachedSources() {
+        return state.size();
+    }
+
+    public long getCachedBytes() {
+        return state.bytes();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Path query cache: %d hits, %d misses, %d evictions, %d entries, %d bytes",
+                getHits(), getMisses(), getEvictions(), getCachedSources(), getCachedBytes());
+    }
+
+    // the state of the graph as it is now, rebuilt if the graph changed
+    private State current() {
+        State current = state;
+        if (current.graph.getVersion() != current.version) {
+            synchronized (this) {
+                current = state;
+                if (current.graph.getVersion() != current.version) {
+                    current = new State(current.graph);
+                    state = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    private static Paths join(CompletableFuture<Paths> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw e;
+        }
+    }
+
+    // cache of one graph version; replaced whole on invalidation, so a
+    // computation still running for an old version cannot leak into a new one
+    private final class State {
+        final GraphView graph;
+        final long version;
+        final ConcurrentHashMap<Long, CompletableFuture<Paths>> inFlight = new ConcurrentHashMap<>();
+        // guarded by this; least recently used first
+        private final LinkedHashMap<Long, Paths> entries = new LinkedHashMap<>(16, 0.75f, true);
+        private long bytes;
+        // Kahn order, computed by the first miss
+        private volatile int[] topoOrder;
+
+        State(GraphView graph) {
+            this.graph = graph;
+            this.version = graph.getVersion();
+        }
+
+        synchronized Paths lookup(long key) {
+            return entries.get(key);
+        }
+
+        synchronized int size() {
+            return entries.size();
+        }
+
+        synchronized long bytes() {
+            return bytes;
+        }
+
+        // results larger than the whole cache are returned but not kept
+        synchronized void store(long key, Paths paths) {
+            long weight = paths.weight();
+            if (weight > maxBytes) {
+                return;
+            }
+            Paths previous = entries.put(key, paths);
+            bytes += weight - (previous == null ? 0 : previous.weight());
+            Iterator<Map.Entry<Long, Paths>> eldest = entries.entrySet().iterator();
+            while (bytes > maxBytes && eldest.hasNext()) {
+                bytes -= eldest.next().getValue().weight();
+                eldest.remove();
+                evictions.increment();
+            }
+        }
+
+        // same distances and predecessors as DAGShortestPath/DAGLongestPath
+        Paths compute(Objective objective, int source) {
+            int[] order = topoOrder();
+            int n = graph.getNumVertices();
+            int unreachable = objective.unreachable;
+            boolean shortest = objective == Objective.SHORTEST;
+
+            int[] distances = new int[n];
+            int[] predecessors = new int[n];
+            Arrays.fill(distances, unreachable);
+            Arrays.fill(predecessors, -1);
+            distances[source] = graph.getNodeWeight(source);
+
+            for (int u : order) {
+                int d = distances[u];
+                if (d == unreachable) {
+                    continue;
+                }
+                int degree = graph.getOutDegree(u);
+                for (int i = 0; i < degree; i++) {
+                    int v = graph.getTarget(u, i);
+                    int candidate = d + graph.getWeight(u, i) + graph.getNodeWeight(v);
+                    if (shortest ? candidate < distances[v] : candidate > distances[v]) {
+                        distances[v] = candidate;
+                        predecessors[v] = u;
+                    }
+                }
+            }
+            return new Paths(objective, source, distances, predecessors);
+        }
+
+        private int[] topoOrder() {
+            int[] order = topoOrder;
+            if (order == null) {
+                // racing threads compute the same order; any one of them wins
+                order = new KahnTopologicalSort(graph).computeOrder();
+                if (order == null) {
+                    throw new IllegalStateException("Graph contains a cycle");
+                }
+                topoOrder = order;
+            }
+            return order;
+        }
+    }
+
+    // single-source result: distance and predecessor (-1 for none) per vertex
+    public static final class Paths {
+        public final Objective objective;
+        public final int source;
+        private final int[] distances;
+        private final int[] predecessors;
+
+        Paths(Objective objective, int source, int[] distances, int[] predecessors) {
+            this.objective = objective;
+            this.source = source;
+            this.distances = distances;
+            this.predecessors = predecessors;
+        }
+
+        public int getDistance(int vertex) {
+            return distances[vertex];
+        }
+
+        public int getPredecessor(int vertex) {
+            return predecessors[vertex];
+        }
+
+        public boolean isReachable(int vertex) {
+            return distances[vertex] != objective.unreachable;
+        }
+
+        // vertices from source to vertex, null if unreachable
+        public List<Integer> getPath(int vertex) {
+            if (!isReachable(vertex)) {
+                return null;
+            }
+            LinkedList<Integer> path = new LinkedList<>();
+            for (int v = vertex; v != -1; v = predecessors[v]) {
+                path.addFirst(v);
+            }
+            return path;
+        }
+
+        long weight() {
+            return ENTRY_OVERHEAD + 2L * distances.length * Integer.BYTES;
+        }
+    }
+}
@@ -0,0 +1,169 @@
+package graph.cache;
+
+import graph.model.GraphView;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// persistent, size-bounded cache of AnalysisResults, one file per key in a
+// directory. Least recently used entries are evicted once the files exceed
+// maxBytes; recency survives restarts as the files' modification times,
+// which every hit refreshes. Entries are written to a temporary file and
+// moved into place, so readers never see a partial file. Safe for
+// concurrent use within one process (batch mode)
+public class ResultCache {
+    public static final long DEFAULT_MAX_BYTES = 256L << 20;
+    private static final String SUFFIX = ".res";
+
+    private final Path directory;
+    private final long maxBytes;
+    // key -> file size, least recently used first
+    private final LinkedHashMap<String, Long> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long totalBytes;
+    private long hits;
+    private long misses;
+
+    public ResultCache(Path directory) throws IOException {
+        this(directory, DEFAULT_MAX_BYTES);
+    }
+
+    public ResultCache(Path directory, long maxBytes) throws IOException {
+        if (maxBytes <= 0) {
+            throw new IllegalArgumentException("Cache size must be positive");
+        }
+        this.directory = directory;
+        this.maxBytes = maxBytes;
+        Files.createDirectories(directory);
+
+        // rebuild the LRU order from the modification times of earlier runs
+        List<Path> files = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, "*" + SUFFIX)) {
+            stream.forEach(files::add);
+        }
+        List<Map.Entry<Path, FileTime>> dated = new ArrayList<>();
+        for (Path file : files) {
+            dated.add(Map.entry(file, Files.getLastModifiedTime(file)));
+        }
+        dated.sort(Map.Entry.comparingByValue());
+        for (Map.Entry<Path, FileTime> file : dated) {
+            String name = file.getKey().getFileName().toString();
+            long size = Files.size(file.getKey());
+            entries.put(name.substring(0, name.length() - SUFFIX.length()), size);
+            totalBytes += size;
+        }
+        evict();
+    }
+
+    // content hash of the graph plus a hash of the parameters that shaped the
+    // result (algorithm, weight mode, source, ...)
+    public static String key(GraphView graph, String parameters) {
+        return String.format("%016x-%016x", GraphHash.of(graph), GraphHash.of(parameters));
+    }
+
+    // null on a miss; unreadable entries are dropped and count as misses
+    public synchronized AnalysisResult get(String key) {
+        if (entries.get(key) == null) {
+            misses++;
+            return null;
+        }
+        Path file = fileOf(key);
+        try (InputStream in = new BufferedInputStream(Files.newInputStream(file))) {
+            AnalysisResult result = AnalysisResult.readFrom(in);
+            Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis()));
+            hits++;
+            return result;
+        } catch (IOException e) {
+            remove(key);
+            misses++;
+            return null;
+        }
+    }
+
+    // store or replace the entry; an entry larger than the whole cache is not
+    // kept. The file is written without the lock, so concurrent puts only
+    // wait for each other's move and index update
+    public void put(String key, AnalysisResult result) throws IOException {
+        Path temp = Files.createTempFile(directory, key, ".tmp");
+        try {
+            try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(temp))) {
+                result.writeTo(out);
+            }
+            long size = Files.size(temp);
+            if (size > maxBytes) {
+                return;
+            }
+            synchronized (this) {
+                Files.move(temp, fileOf(key), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                Long previous = entries.put(key, size);
+                totalBytes += size - (previous == null ? 0 : previous);
+                evict();
+            }
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    public synchronized boolean contains(String key) {
+        return entries.containsKey(key);
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public synchronized long getTotalBytes() {
+        return totalBytes;
+    }
+
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    public synchronized long getMisses() {
+        return misses;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return String.format("Result cache: %d hits, %d misses, %d entries, %d bytes",
+                hits, misses, entries.size(), totalBytes);
+    }
+
+    private void evict() throws IOException {
+        Iterator<Map.Entry<String, Long>> eldest = entries.entrySet().iterator();
+        while (totalBytes > maxBytes && eldest.hasNext()) {
+            Map.Entry<String, Long> entry = eldest.next();
+            totalBytes -= entry.getValue();
+            eldest.remove();
+            Files.deleteIfExists(fileOf(entry.getKey()));
+        }
+    }
+
+    private void remove(String key) {
+        Long size = entries.remove(key);
+        if (size != null) {
+            totalBytes -= size;
+        }
+        try {
+            Files.deleteIfExists(fileOf(key));
+        } catch (IOException | SecurityException e) {
+            // already gone or not ours to delete; the index no longer lists it
+        }
+    }
+
+    private Path fileOf(String key) {
+        return directory.resolve(key + SUFFIX);
+    }
+}
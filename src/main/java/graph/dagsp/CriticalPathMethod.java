@@ -0,0 +1,181 @@
+package graph.dagsp;
+
+import graph.model.GraphView;
+import graph.topo.KahnTopologicalSort;
+import util.IntList;
+import util.Metrics;
+import java.io.PrintStream;
+import java.util.Arrays;
+
+// critical path method over a DAG of tasks. Task v takes duration[v]; an edge
+// u->v with weight w means v may start w time units after u finishes (w is a
+// lag, 0 for a plain dependency). Two sweeps over one topological order:
+// - forward:  ES[v] = max(EF[u] + w) over predecessors, EF = ES + duration
+// - backward: LF[u] = min(LS[v] - w) over successors, LS = LF - duration
+// sinks finish at the project duration. Total float is LS - ES, free float
+// the delay that leaves every successor's ES untouched. Tasks with zero
+// total float are critical
+public class CriticalPathMethod {
+    private final GraphView graph;
+    private final long[] duration;
+    private final Metrics metrics;
+    private Schedule schedule;
+
+    // durations from the graph's node weights (0 on edge-weighted graphs)
+    public CriticalPathMethod(GraphView dag) {
+        this(dag, nodeDurations(dag));
+    }
+
+    public CriticalPathMethod(GraphView dag, long[] duration) {
+        if (duration.length != dag.getNumVertices()) {
+            throw new IllegalArgumentException("Expected " + dag.getNumVertices()
+                    + " durations, got " + duration.length);
+        }
+        for (long d : duration) {
+            if (d < 0) {
+                throw new IllegalArgumentException("Negative task duration: " + d);
+            }
+        }
+        this.graph = dag;
+        this.duration = duration.clone();
+        this.metrics = new Metrics("Critical Path Method");
+    }
+
+    // node weights of a DAG as task durations; shared with ListScheduler
+    public static long[] nodeDurations(GraphView dag) {
+        long[] duration = new long[dag.getNumVertices()];
+        for (int v = 0; v < duration.length; v++) {
+            duration[v] = dag.getNodeWeight(v);
+        }
+        return duration;
+    }
+
+    // return null if graph has cycle
+    public Schedule compute() {
+        int[] topoOrder = new KahnTopologicalSort(graph).computeOrder();
+        if (topoOrder == null) {
+            return null;
+        }
+        return compute(topoOrder);
+    }
+
+    // same, over a topological order the caller already has
+    public Schedule compute(int[] topoOrder) {
+        metrics.startTimer();
+        int n = graph.getNumVertices();
+        long[] earliestStart = new long[n];
+        long[] latestStart = new long[n];
+        long[] totalFloat = new long[n];
+        long[] freeFloat = new long[n];
+
+        long projectDuration = 0;
+        long phaseStart = System.nanoTime();
+        for (int u : topoOrder) {
+            long finish = earliestStart[u] + duration[u];
+            projectDuration = Math.max(projectDuration, finish);
+            int degree = graph.getOutDegree(u);
+            for (int i = 0; i < degree; i++) {
+                int v = graph.getTarget(u, i);
+                earliestStart[v] = Math.max(earliestStart[v], finish + graph.getWeight(u, i));
+                metrics.incrementOperations();
+            }
+        }
+        metrics.record("forward", System.nanoTime() - phaseStart);
+
+        phaseStart = System.nanoTime();
+        for (int k = n - 1; k >= 0; k--) {
+            int u = topoOrder[k];
+            long earliestFinish = earliestStart[u] + duration[u];
+            long latestFinish = projectDuration;
+            long free = projectDuration - earliestFinish;
+            int degree = graph.getOutDegree(u);
+            for (int i = 0; i < degree; i++) {
+                int v = graph.getTarget(u, i);
+                int lag = graph.getWeight(u, i);
+                latestFinish = Math.min(latestFinish, latestStart[v] - lag);
+                free = Math.min(free, earliestStart[v] - lag - earliestFinish);
+                metrics.incrementOperations();
+            }
+            latestStart[u] = latestFinish - duration[u];
+            totalFloat[u] = latestStart[u] - earliestStart[u];
+            freeFloat[u] = free;
+        }
+        metrics.record("backward", System.nanoTime() - phaseStart);
+
+        IntList critical = new IntList();
+        for (int u : topoOrder) {
+            if (totalFloat[u] == 0) {
+                critical.add(u);
+            }
+        }
+
+        metrics.stopTimer();
+        schedule = new Schedule(duration, earliestStart, latestStart, totalFloat, freeFloat,
+                critical.toArray(), projectDuration);
+        return schedule;
+    }
+
+    public Schedule getSchedule() {
+        if (schedule == null) {
+            throw new IllegalStateException("Must call compute() first");
+        }
+        return schedule;
+    }
+
+    public Metrics getMetrics() {
+        return metrics;
+    }
+
+    public void printSchedule() {
+        printSchedule(System.out);
+    }
+
+    public void printSchedule(PrintStream out) {
+        Schedule s = getSchedule();
+        out.println("=== Critical Path Schedule ===");
+        out.println("Project duration: " + s.projectDuration);
+        for (int v = 0; v < s.earliestStart.length; v++) {
+            out.printf("Task %d: ES=%d, EF=%d, LS=%d, LF=%d, total float=%d, free float=%d%s\n",
+                    v, s.earliestStart[v], s.getEarliestFinish(v), s.latestStart[v],
+                    s.getLatestFinish(v), s.totalFloat[v], s.freeFloat[v],
+                    s.isCritical(v) ? " (critical)" : "");
+        }
+        out.println("Critical tasks: " + Arrays.toString(s.criticalTasks));
+        out.println(metrics);
+    }
+
+    // per-task times indexed by vertex; criticalTasks in topological order
+    public static class Schedule {
+        public final long[] duration;
+        public final long[] earliestStart;
+        public final long[] latestStart;
+        public final long[] totalFloat;
+        public final long[] freeFloat;
+        public final int[] criticalTasks;
+        public final long projectDuration;
+
+        public Schedule(long[] duration, long[] earliestStart, long[] latestStart,
+                        long[] totalFloat, long[] freeFloat, int[] criticalTasks,
+                        long projectDuration) {
+            this.duration = duration;
+            this.earliestStart = earliestStart;
+            this.latestStart = latestStart;
+            this.totalFloat = totalFloat;
+            this.freeFloat = freeFloat;
+            this.criticalTasks = criticalTasks;
+            this.projectDuration = projectDuration;
+        }
+
+        public long getEarliestFinish(int task) {
+            return earliestStart[task] + duration[task];
+        }
+
+        public long getLatestFinish(int task) {
+            return latestStart[task] + duration[task];
+        }
+
+        public boolean isCritical(int task) {
+            return totalFloat[task] == 0;
+        }
+    }
+}
@@ -1,50 +1,61 @@
 package graph.dagsp;
 
-import graph.model.Edge;
-import graph.model.Graph;
+import graph.model.GraphView;
 import graph.topo.KahnTopologicalSort;
 import util.Metrics;
+import java.io.PrintStream;
 import java.util.*;
 
 public class DAGLongestPath {
-    private final Graph graph;
+    private final GraphView graph;
     private final Metrics metrics;
     private int[] distances;
     private int[] predecessors;
     private int source;
+    // set by restore(), cleared by the next computation
+    private boolean restored;
+    // Kahn order of the graph, reused by later sources until the graph changes
+    private int[] topoOrder;
+    private long topoVersion;
 
-    public DAGLongestPath(Graph graph) {
+    public DAGLongestPath(GraphView graph) {
         this.graph = graph;
         this.metrics = new Metrics("DAG Longest Path");
     }
 
     // compute longest paths from source
     public boolean computeLongestPaths(int source) {
+        if (topoOrder == null || topoVersion != graph.getVersion()) {
+            topoVersion = graph.getVersion();
+            topoOrder = new KahnTopologicalSort(graph).computeOrder();
+            if (topoOrder == null) {
+                return false;
+            }
+        }
+        return computeLongestPaths(source, topoOrder);
+    }
+
+    // same, over a topological order the caller already has
+    public boolean computeLongestPaths(int source, int[] topoOrder) {
         this.source = source;
+        this.restored = false;
         metrics.startTimer();
 
         int n = graph.getNumVertices();
 
-        KahnTopologicalSort topoSort = new KahnTopologicalSort(graph);
-        List<Integer> topoOrder = topoSort.sort();
-
-        if (topoOrder == null) {
-            metrics.stopTimer();
-            System.err.println("Error: Graph contains a cycle");
-            return false;
-        }
-
         distances = new int[n];
         predecessors = new int[n];
         Arrays.fill(distances, Integer.MIN_VALUE);
         Arrays.fill(predecessors, -1);
-        distances[source] = 0;
+        // a path's length counts its edges and, on node-weighted graphs, its vertices
+        distances[source] = graph.getNodeWeight(source);
 
         for (int u : topoOrder) {
             if (distances[u] != Integer.MIN_VALUE) {
-                for (Edge e : graph.getEdges(u)) {
-                    int v = e.getTo();
-                    int newDist = distances[u] + e.getWeight();
+                int degree = graph.getOutDegree(u);
+                for (int i = 0; i < degree; i++) {
+                    int v = graph.getTarget(u, i);
+                    int newDist = distances[u] + graph.getWeight(u, i) + graph.getNodeWeight(v);
                     metrics.incrementOperations();
 
                     if (newDist > distances[v]) {
@@ -83,6 +94,31 @@ public class DAGLongestPath {
         return new CriticalPathResult(path, maxDistance);
     }
 
+    // adopt distances and predecessors computed earlier from source instead
+    // of running computeLongestPaths()
+    public void restore(int source, int[] distances, int[] predecessors) {
+        int n = graph.getNumVertices();
+        if (distances.length != n || predecessors.length != n) {
+            throw new IllegalArgumentException("Expected results for " + n + " vertices");
+        }
+        this.source = source;
+        this.distances = distances;
+        this.predecessors = predecessors;
+        this.restored = true;
+    }
+
+    public int[] getDistances() {
+        if (distances == null)
+            throw new IllegalStateException("Must call computeLongestPaths() first");
+        return distances;
+    }
+
+    public int[] getPredecessors() {
+        if (predecessors == null)
+            throw new IllegalStateException("Must call computeLongestPaths() first");
+        return predecessors;
+    }
+
     public int getDistance(int vertex) {
         if (distances == null) {
             throw new IllegalStateException("Must call computeLongestPaths() first");
@@ -112,25 +148,29 @@ public class DAGLongestPath {
     }
 
     public void printPaths() {
-        System.out.println("=== Longest Paths from vertex " + source + " ===");
+        printPaths(System.out);
+    }
+
+    public void printPaths(PrintStream out) {
+        out.println("=== Longest Paths from vertex " + source + " ===");
 
         for (int i = 0; i < graph.getNumVertices(); i++) {
             if (distances[i] == Integer.MIN_VALUE) {
-                System.out.printf("Vertex %d: unreachable\n", i);
+                out.printf("Vertex %d: unreachable\n", i);
             } else {
                 List<Integer> path = getPath(i);
-                System.out.printf("Vertex %d: distance=%d, path=%s\n",
+                out.printf("Vertex %d: distance=%d, path=%s\n",
                         i, distances[i], path);
             }
         }
 
         CriticalPathResult critical = findCriticalPath();
         if (critical != null) {
-            System.out.println("\nCritical Path: " + critical.path);
-            System.out.println("Critical Path Length: " + critical.length);
+            out.println("\nCritical Path: " + critical.path);
+            out.println("Critical Path Length: " + critical.length);
         }
 
-        System.out.println(metrics);
+        out.println(restored ? metrics.getName() + ": restored from cache" : metrics);
     }
 
     public static class CriticalPathResult {
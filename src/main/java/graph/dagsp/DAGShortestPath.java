@@ -1,51 +1,62 @@
 package graph.dagsp;
 
-import graph.model.Edge;
-import graph.model.Graph;
+import graph.model.GraphView;
 import graph.topo.KahnTopologicalSort;
 import util.Metrics;
+import java.io.PrintStream;
 import java.util.*;
 
 public class DAGShortestPath {
-    private final Graph graph;
+    private final GraphView graph;
     private final Metrics metrics;
     private int[] distances;
     private int[] predecessors;
     private int source;
+    // set by restore(), cleared by the next computation
+    private boolean restored;
+    // Kahn order of the graph, reused by later sources until the graph changes
+    private int[] topoOrder;
+    private long topoVersion;
 
-    public DAGShortestPath(Graph graph) {
+    public DAGShortestPath(GraphView graph) {
         this.graph = graph;
         this.metrics = new Metrics("DAG Shortest Path");
     }
 
     // compute the shortest paths from source vertex
     public boolean computeShortestPaths(int source) {
+        if (topoOrder == null || topoVersion != graph.getVersion()) {
+            topoVersion = graph.getVersion();
+            topoOrder = new KahnTopologicalSort(graph).computeOrder();
+            if (topoOrder == null) {
+                return false;
+            }
+        }
+        return computeShortestPaths(source, topoOrder);
+    }
+
+    // same, over a topological order the caller already has
+    public boolean computeShortestPaths(int source, int[] topoOrder) {
         this.source = source;
+        this.restored = false;
         metrics.startTimer();
 
         int n = graph.getNumVertices();
 
-        KahnTopologicalSort topoSort = new KahnTopologicalSort(graph);
-        List<Integer> topoOrder = topoSort.sort();
-
-        if (topoOrder == null) {
-            metrics.stopTimer();
-            System.err.println("Error: Graph contains a cycle");
-            return false;
-        }
-
         distances = new int[n];
         predecessors = new int[n];
         Arrays.fill(distances, Integer.MAX_VALUE);
         Arrays.fill(predecessors, -1);
-        distances[source] = 0;
+        // a path's length counts its edges and, on node-weighted graphs, its vertices
+        distances[source] = graph.getNodeWeight(source);
 
         // relax edges following topo order
         for (int u : topoOrder) {
             if (distances[u] != Integer.MAX_VALUE) {
-                for (Edge e : graph.getEdges(u)) {
-                    int v = e.getTo();
-                    int newDist = distances[u] + e.getWeight();
+                int degree = graph.getOutDegree(u);
+                for (int i = 0; i < degree; i++) {
+                    int v = graph.getTarget(u, i);
+                    int newDist = distances[u] + graph.getWeight(u, i) + graph.getNodeWeight(v);
                     metrics.incrementOperations();
                     if (newDist < distances[v]) {
                         distances[v] = newDist;
@@ -59,6 +70,31 @@ public class DAGShortestPath {
         return true;
     }
 
+    // adopt distances and predecessors computed earlier from source instead
+    // of running computeShortestPaths()
+    public void restore(int source, int[] distances, int[] predecessors) {
+        int n = graph.getNumVertices();
+        if (distances.length != n || predecessors.length != n) {
+            throw new IllegalArgumentException("Expected results for " + n + " vertices");
+        }
+        this.source = source;
+        this.distances = distances;
+        this.predecessors = predecessors;
+        this.restored = true;
+    }
+
+    public int[] getDistances() {
+        if (distances == null)
+            throw new IllegalStateException("Must call computeShortestPaths() first");
+        return distances;
+    }
+
+    public int[] getPredecessors() {
+        if (predecessors == null)
+            throw new IllegalStateException("Must call computeShortestPaths() first");
+        return predecessors;
+    }
+
     public int getDistance(int vertex) {
         if (distances == null)
             throw new IllegalStateException("Must call computeShortestPaths() first");
@@ -83,16 +119,20 @@ public class DAGShortestPath {
     }
 
     public void printPaths() {
-        System.out.println("=== Shortest Paths from vertex " + source + " ===");
+        printPaths(System.out);
+    }
+
+    public void printPaths(PrintStream out) {
+        out.println("=== Shortest Paths from vertex " + source + " ===");
         for (int i = 0; i < graph.getNumVertices(); i++) {
             if (distances[i] == Integer.MAX_VALUE) {
-                System.out.printf("Vertex %d: unreachable\n", i);
+                out.printf("Vertex %d: unreachable\n", i);
             } else {
                 List<Integer> path = getPath(i);
-                System.out.printf("Vertex %d: distance=%d, path=%s\n",
+                out.printf("Vertex %d: distance=%d, path=%s\n",
                         i, distances[i], path);
             }
         }
-        System.out.println(metrics);
+        out.println(restored ? metrics.getName() + ": restored from cache" : metrics);
     }
 }
@@ -0,0 +1,180 @@
+package graph.dagsp;
+
+import graph.model.GraphView;
+import graph.topo.KahnTopologicalSort;
+import util.Metrics;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+// shortest or longest path distances from many sources of one DAG. The
+// topological order is computed once in the constructor; a source at position
+// p can only reach positions >= p, so each sweep starts there. Batches of
+// sources run in parallel, one sweep per source. As in DAGShortestPath, node
+// weights (if any) count for every vertex on a path, source included
+public class MultiSourceDAGPaths {
+    public enum Objective {
+        SHORTEST(Integer.MAX_VALUE),
+        LONGEST(Integer.MIN_VALUE);
+
+        // distance of vertices the source cannot reach, as in DAGShortestPath/DAGLongestPath
+        public final int unreachable;
+
+        Objective(int unreachable) {
+            this.unreachable = unreachable;
+        }
+
+        boolean improves(int candidate, int current) {
+            return this == SHORTEST ? candidate < current : candidate > current;
+        }
+    }
+
+    private final GraphView graph;
+    private final ForkJoinPool pool;
+    private final Metrics metrics;
+    private final int[] topoOrder;
+    private final int[] position;
+
+    public MultiSourceDAGPaths(GraphView dag) {
+        this(dag, ForkJoinPool.commonPool());
+    }
+
+    public MultiSourceDAGPaths(GraphView dag, ForkJoinPool pool) {
+        int[] order = new KahnTopologicalSort(dag).computeOrder();
+        if (order == null) {
+            throw new IllegalArgumentException("Graph contains a cycle");
+        }
+        this.graph = dag;
+        this.pool = pool;
+        this.metrics = new Metrics("Multi-source DAG Paths");
+        this.topoOrder = order;
+        this.position = new int[order.length];
+        for (int i = 0; i < order.length; i++) {
+            position[order[i]] = i;
+        }
+    }
+
+    public int[] getTopologicalOrder() {
+        return topoOrder.clone();
+    }
+
+    // distances from one source, indexed by vertex
+    public int[] distancesFrom(int source, Objective objective) {
+        checkVertex(source);
+        metrics.startTimer();
+        int[] row = toVertexRow(source, sweep(source, objective), objective);
+        metrics.stopTimer();
+        return row;
+    }
+
+    // distances from every source in the batch, row i belongs to sources[i]
+    public int[][] distancesFrom(int[] sources, Objective objective) {
+        for (int source : sources) {
+            checkVertex(source);
+        }
+        metrics.startTimer();
+        int[][] rows = new int[sources.length][];
+        pool.submit(() -> IntStream.range(0, sources.length).parallel().forEach(i ->
+                rows[i] = toVertexRow(sources[i], sweep(sources[i], objective), objective))).join();
+        metrics.stopTimer();
+        return rows;
+    }
+
+    // distances between all pairs, stored as an upper triangle over topological
+    // positions: n(n+1)/2 ints instead of n^2
+    public AllPairs allPairs(Objective objective) {
+        int n = topoOrder.length;
+        metrics.startTimer();
+        int[][] rows = new int[n][];
+        pool.submit(() -> IntStream.range(0, n).parallel().forEach(p ->
+                rows[p] = sweep(topoOrder[p], objective))).join();
+        metrics.stopTimer();
+        return new AllPairs(objective, position, rows);
+    }
+
+    public Metrics getMetrics() {
+        return metrics;
+    }
+
+    // relax out-edges from the source's position onward; entry k of the
+    // result is the distance to the vertex at position start + k
+    private int[] sweep(int source, Objective objective) {
+        int start = position[source];
+        int[] dist = new int[topoOrder.length - start];
+        Arrays.fill(dist, objective.unreachable);
+        dist[0] = graph.getNodeWeight(source);
+        long relaxed = 0;
+
+        for (int k = start; k < topoOrder.length; k++) {
+            int d = dist[k - start];
+            if (d == objective.unreachable) {
+                continue;
+            }
+            int u = topoOrder[k];
+            int degree = graph.getOutDegree(u);
+            for (int i = 0; i < degree; i++) {
+                int v = graph.getTarget(u, i);
+                int slot = position[v] - start;
+                int candidate = d + graph.getWeight(u, i) + graph.getNodeWeight(v);
+                if (objective.improves(candidate, dist[slot])) {
+                    dist[slot] = candidate;
+                }
+            }
+            relaxed += degree;
+        }
+        metrics.addOperations(relaxed);
+        return dist;
+    }
+
+    private int[] toVertexRow(int source, int[] dist, Objective objective) {
+        int[] row = new int[topoOrder.length];
+        Arrays.fill(row, objective.unreachable);
+        int start = position[source];
+        for (int k = 0; k < dist.length; k++) {
+            row[topoOrder[start + k]] = dist[k];
+        }
+        return row;
+    }
+
+    private void checkVertex(int vertex) {
+        if (vertex < 0 || vertex >= topoOrder.length) {
+            throw new IllegalArgumentException("Invalid vertex index");
+        }
+    }
+
+    // all-pairs result; the row of the vertex at position p covers positions p..n-1
+    public static final class AllPairs {
+        private final Objective objective;
+        private final int[] position;
+        private final int[][] rows;
+
+        private AllPairs(Objective objective, int[] position, int[][] rows) {
+            this.objective = objective;
+            this.position = position;
+            this.rows = rows;
+        }
+
+        public int getDistance(int from, int to) {
+            int p = position[from];
+            int q = position[to];
+            return q < p ? objective.unreachable : rows[p][q - p];
+        }
+
+        public boolean isReachable(int from, int to) {
+            return getDistance(from, to) != objective.unreachable;
+        }
+
+        public Objective getObjective() {
+            return objective;
+        }
+
+        // number of stored distances
+        public long size() {
+            long total = 0;
+            for (int[] row : rows) {
+                total += row.length;
+            }
+            return total;
+        }
+    }
+}
@@ -0,0 +1,262 @@
+package graph.model;
+
+import util.OffHeapIntArray;
+import util.OffHeapLongArray;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+// versioned little-endian binary graph file:
+//   header (64 bytes): magic, version, flags, n, m, source, weight model
+//   offsets: long[n + 1], targets: int[m], weights: int[m]
+//   node weights: int[n], only with FLAG_NODE_WEIGHTS (version 2)
+// version 1 files are still read
+public class BinaryGraphFormat {
+    public static final int MAGIC = 0x53434752; // "SCGR"
+    public static final int VERSION = 2;
+    static final int HEADER_SIZE = 64;
+    static final int FLAG_DIRECTED = 1;
+    static final int FLAG_NODE_WEIGHTS = 2;
+    private static final int WEIGHT_MODEL_BYTES = 32;
+    private static final int CHUNK_SIZE = 1 << 16;
+
+    private BinaryGraphFormat() {
+    }
+
+    public static void write(GraphView graph, int source, String weightModel, Path path) throws IOException {
+        int n = graph.getNumVertices();
+        long m = 0;
+        for (int u = 0; u < n; u++) {
+            m += graph.getOutDegree(u);
+        }
+
+        try (Writer writer = new Writer(path, n, m, graph.isDirected(), graph.hasNodeWeights(),
+                source, weightModel)) {
+            for (int u = 0; u < n; u++) {
+                writer.addVertex(graph.getOutDegree(u), graph.getNodeWeight(u));
+            }
+            for (int u = 0; u < n; u++) {
+                int degree = graph.getOutDegree(u);
+                for (int i = 0; i < degree; i++) {
+                    writer.addEdge(graph.getTarget(u, i), graph.getWeight(u, i));
+                }
+            }
+        }
+    }
+
+    // map the file read-only; graph data stays in the page cache, not on the
+    // heap, and is mapped in segments, so sections may exceed 2 GB
+    public static GraphLoader.GraphData map(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+            while (header.hasRemaining() && channel.read(header) >= 0) {
+                // keep reading until the header is complete
+            }
+            header.flip();
+            if (header.remaining() < HEADER_SIZE || header.getInt() != MAGIC) {
+                throw new IOException("Not a binary graph file: " + path);
+            }
+            int version = header.getInt();
+            if (version < 1 || version > VERSION) {
+                throw new IOException("Unsupported binary graph version " + version);
+            }
+            int flags = header.getInt();
+            int n = header.getInt();
+            long m = header.getLong();
+            int source = header.getInt();
+            int modelLength = header.getInt();
+            if (modelLength < 0 || modelLength > WEIGHT_MODEL_BYTES) {
+                throw new IOException("Corrupt binary graph header: weight model length " + modelLength);
+            }
+            // m is bounded by the file size first, so the section sizes cannot overflow
+            if (n < 0 || m < 0 || m > channel.size() / (2 * Integer.BYTES)) {
+                throw new IOException("Corrupt binary graph header: n=" + n + ", m=" + m);
+            }
+            // an empty graph carries the default source 0
+            if (source < 0 || source >= Math.max(n, 1)) {
+                throw new IOException("Corrupt binary graph header: source " + source + " with n=" + n);
+            }
+            byte[] model = new byte[modelLength];
+            header.get(model);
+
+            boolean nodeWeighted = (flags & FLAG_NODE_WEIGHTS) != 0;
+            long offsetsBytes = (n + 1L) * Long.BYTES;
+            long edgeBytes = m * Integer.BYTES;
+            long nodeWeightsStart = HEADER_SIZE + offsetsBytes + 2 * edgeBytes;
+            long nodeWeightBytes = nodeWeighted ? (long) n * Integer.BYTES : 0;
+            if (channel.size() < nodeWeightsStart + nodeWeightBytes) {
+                throw new IOException("Truncated binary graph file: " + path);
+            }
+
+            FileChannel.MapMode mode = FileChannel.MapMode.READ_ONLY;
+            OffHeapLongArray offsets = OffHeapLongArray.map(channel, mode, HEADER_SIZE, n + 1L);
+            // the offsets must span exactly the m edges; a full scan of every
+            // offset and target is left to callers that need it
+            if (offsets.get(0) != 0 || offsets.get(n) != m) {
+                throw new IOException("Corrupt binary graph: offsets run from " + offsets.get(0)
+                        + " to " + offsets.get(n) + ", expected 0 to " + m);
+            }
+            OffHeapIntArray nodeWeights = nodeWeighted
+                    ? OffHeapIntArray.map(channel, mode, nodeWeightsStart, n)
+                    : null;
+            OffHeapCSRGraph graph = new OffHeapCSRGraph(n, (flags & FLAG_DIRECTED) != 0,
+                    offsets,
+                    OffHeapIntArray.map(channel, mode, HEADER_SIZE + offsetsBytes, m),
+                    OffHeapIntArray.map(channel, mode, HEADER_SIZE + offsetsBytes + edgeBytes, m),
+                    nodeWeights);
+            return new GraphLoader.GraphData(graph, source, new String(model, StandardCharsets.UTF_8));
+        }
+    }
+
+    // true if the file starts with the binary graph magic number
+    public static boolean isBinaryGraph(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer magic = ByteBuffer.allocate(Integer.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            channel.read(magic);
+            return !magic.hasRemaining() && magic.getInt(0) == MAGIC;
+        }
+    }
+
+    // streams a graph of known size to disk: n degrees in vertex order, then
+    // m edges in source order; only a few fixed-size buffers are held
+    public static class Writer implements Closeable {
+        private final FileChannel channel;
+        private final int numVertices;
+        private final long numEdges;
+        private final Section offsets;
+        private final Section targets;
+        private final Section weights;
+        // null unless the graph is node-weighted
+        private final Section nodeWeights;
+        private int verticesWritten;
+        private long edgesWritten;
+        private long nextOffset;
+
+        public Writer(Path path, int numVertices, long numEdges, boolean directed,
+                      int source, String weightModel) throws IOException {
+            this(path, numVertices, numEdges, directed, false, source, weightModel);
+        }
+
+        public Writer(Path path, int numVertices, long numEdges, boolean directed, boolean nodeWeighted,
+                      int source, String weightModel) throws IOException {
+            byte[] model = weightModel.getBytes(StandardCharsets.UTF_8);
+            if (model.length > WEIGHT_MODEL_BYTES) {
+                throw new IllegalArgumentException("Weight model name too long: " + weightModel);
+            }
+            this.numVertices = numVertices;
+            this.numEdges = numEdges;
+            this.channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+            int flags = (directed ? FLAG_DIRECTED : 0) | (nodeWeighted ? FLAG_NODE_WEIGHTS : 0);
+            header.putInt(MAGIC).putInt(VERSION).putInt(flags)
+                    .putInt(numVertices).putLong(numEdges).putInt(source).putInt(model.length).put(model);
+            header.clear();
+            writeFully(channel, header, 0);
+
+            long offsetsStart = HEADER_SIZE;
+            long targetsStart = offsetsStart + (numVertices + 1L) * Long.BYTES;
+            long weightsStart = targetsStart + numEdges * Integer.BYTES;
+            this.offsets = new Section(channel, offsetsStart);
+            this.targets = new Section(channel, targetsStart);
+            this.weights = new Section(channel, weightsStart);
+            this.nodeWeights = nodeWeighted ? new Section(channel, weightsStart + numEdges * Integer.BYTES) : null;
+            offsets.putLong(0);
+        }
+
+        // out-degree of the next vertex
+        public void addVertex(int degree) throws IOException {
+            addVertex(degree, 0);
+        }
+
+        // out-degree and node weight of the next vertex; the weight is
+        // dropped unless the writer was opened node-weighted
+        public void addVertex(int degree, int nodeWeight) throws IOException {
+            if (verticesWritten == numVertices) {
+                throw new IllegalStateException("All " + numVertices + " vertices already written");
+            }
+            nextOffset += degree;
+            offsets.putLong(nextOffset);
+            if (nodeWeights != null) {
+                nodeWeights.putInt(nodeWeight);
+            }
+            verticesWritten++;
+        }
+
+        // next edge in source order
+        public void addEdge(int target, int weight) throws IOException {
+            if (edgesWritten == numEdges) {
+                throw new IllegalStateException("All " + numEdges + " edges already written");
+            }
+            targets.putInt(target);
+            weights.putInt(weight);
+            edgesWritten++;
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                offsets.flush();
+                targets.flush();
+                weights.flush();
+                if (nodeWeights != null) {
+                    nodeWeights.flush();
+                }
+                if (verticesWritten != numVertices || edgesWritten != numEdges || nextOffset != numEdges) {
+                    throw new IOException(String.format(
+                            "Incomplete graph: %d/%d vertices, %d/%d edges, degrees sum to %d",
+                            verticesWritten, numVertices, edgesWritten, numEdges, nextOffset));
+                }
+            } finally {
+                channel.close();
+            }
+        }
+    }
+
+    // buffered sequential writer for one region of the file
+    private static class Section {
+        private final FileChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocate(CHUNK_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        private long position;
+
+        Section(FileChannel channel, long position) {
+            this.channel = channel;
+            this.position = position;
+        }
+
+        void putLong(long value) throws IOException {
+            if (buffer.remaining() < Long.BYTES) {
+                flush();
+            }
+            buffer.putLong(value);
+        }
+
+        void putInt(int value) throws IOException {
+            if (buffer.remaining() < Integer.BYTES) {
+                flush();
+            }
+            buffer.putInt(value);
+        }
+
+        void flush() throws IOException {
+            buffer.flip();
+            position += writeFully(channel, buffer, position);
+            buffer.clear();
+        }
+    }
+
+    private static int writeFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        int written = 0;
+        while (buffer.hasRemaining()) {
+            written += channel.write(buffer, position + written);
+        }
+        return written;
+    }
+}
@@ -0,0 +1,326 @@
+package graph.model;
+
+import java.util.Arrays;
+
+// immutable compressed sparse row graph:
+// edges of vertex v are targets/weights[offsets[v] .. offsets[v+1]);
+// nodeWeights is null for graphs weighted on edges only
+public final class CSRGraph implements GraphView {
+    private final int numVertices;
+    private final boolean directed;
+    private final int[] offsets;
+    private final int[] targets;
+    private final int[] weights;
+    private final int[] nodeWeights;
+    // in-edge index, built by the first transpose()
+    private volatile TransposeView transpose;
+
+    CSRGraph(int numVertices, boolean directed, int[] offsets, int[] targets, int[] weights) {
+        this(numVertices, directed, offsets, targets, weights, null);
+    }
+
+    CSRGraph(int numVertices, boolean directed, int[] offsets, int[] targets, int[] weights,
+             int[] nodeWeights) {
+        this.numVertices = numVertices;
+        this.directed = directed;
+        this.offsets = offsets;
+        this.targets = targets;
+        this.weights = weights;
+        this.nodeWeights = nodeWeights;
+    }
+
+    // wrap ready-made CSR arrays without copying them
+    public static CSRGraph fromArrays(int numVertices, boolean directed,
+                                      int[] offsets, int[] targets, int[] weights) {
+        if (offsets.length != numVertices + 1 || targets.length != weights.length
+                || offsets[numVertices] != targets.length) {
+            throw new IllegalArgumentException("Inconsistent CSR arrays");
+        }
+        return new CSRGraph(numVertices, directed, offsets, targets, weights);
+    }
+
+    // same graph sharing the edge arrays, with node weights attached (null drops them)
+    public CSRGraph withNodeWeights(int[] nodeWeights) {
+        if (nodeWeights != null && nodeWeights.length != numVertices) {
+            throw new IllegalArgumentException("Expected " + numVertices
+                    + " node weights, got " + nodeWeights.length);
+        }
+        return new CSRGraph(numVertices, directed, offsets, targets, weights, nodeWeights);
+    }
+
+    // freeze any graph into CSR form, keeping per-vertex edge order
+    public static CSRGraph from(GraphView graph) {
+        if (graph instanceof CSRGraph) {
+            return (CSRGraph) graph;
+        }
+        int n = graph.getNumVertices();
+        int[] offsets = new int[n + 1];
+        for (int u = 0; u < n; u++) {
+            offsets[u + 1] = offsets[u] + graph.getOutDegree(u);
+        }
+
+        int[] targets = new int[offsets[n]];
+        int[] weights = new int[offsets[n]];
+        for (int u = 0; u < n; u++) {
+            int base = offsets[u];
+            int degree = graph.getOutDegree(u);
+            for (int i = 0; i < degree; i++) {
+                targets[base + i] = graph.getTarget(u, i);
+                weights[base + i] = graph.getWeight(u, i);
+            }
+        }
+        return new CSRGraph(n, graph.isDirected(), offsets, targets, weights, nodeWeightsOf(graph));
+    }
+
+    // build the reversed graph directly in CSR form
+    public static CSRGraph reverseOf(GraphView graph) {
+        int n = graph.getNumVertices();
+        int[] offsets = new int[n + 1];
+        for (int u = 0; u < n; u++) {
+            int degree = graph.getOutDegree(u);
+            for (int i = 0; i < degree; i++) {
+                offsets[graph.getTarget(u, i) + 1]++;
+            }
+        }
+        for (int v = 0; v < n; v++) {
+            offsets[v + 1] += offsets[v];
+        }
+
+        int[] cursor = Arrays.copyOf(offsets, n);
+        int[] targets = new int[offsets[n]];
+        int[] weights = new int[offsets[n]];
+        for (int u = 0; u < n; u++) {
+            int degree = graph.getOutDegree(u);
+            for (int i = 0; i < degree; i++) {
+                int pos = cursor[graph.getTarget(u, i)]++;
+                targets[pos] = u;
+                weights[pos] = graph.getWeight(u, i);
+            }
+        }
+        return new CSRGraph(n, graph.isDirected(), offsets, targets, weights, nodeWeightsOf(graph));
+    }
+
+    // copy of a graph's node weights, null if it has none
+    public static int[] nodeWeightsOf(GraphView graph) {
+        if (!graph.hasNodeWeights()) {
+            return null;
+        }
+        int[] nodeWeights = new int[graph.getNumVertices()];
+        for (int v = 0; v < nodeWeights.length; v++) {
+            nodeWeights[v] = graph.getNodeWeight(v);
+        }
+        return nodeWeights;
+    }
+
+    @Override
+    public int getNumVertices() {
+        return numVertices;
+    }
+
+    @Override
+    public int getNumEdges() {
+        return targets.length;
+    }
+
+    @Override
+    public boolean isDirected() {
+        return directed;
+    }
+
+    @Override
+    public int getOutDegree(int vertex) {
+        return offsets[vertex + 1] - offsets[vertex];
+    }
+
+    @Override
+    public int getTarget(int vertex, int index) {
+        return targets[offsets[vertex] + index];
+    }
+
+    @Override
+    public int getWeight(int vertex, int index) {
+        return weights[offsets[vertex] + index];
+    }
+
+    @Override
+    public int getNodeWeight(int vertex) {
+        return nodeWeights == null ? 0 : nodeWeights[vertex];
+    }
+
+    @Override
+    public boolean hasNodeWeights() {
+        return nodeWeights != null;
+    }
+
+    // reverse view sharing this graph's weights, built once and cached
+    @Override
+    public TransposeView transpose() {
+        TransposeView view = transpose;
+        if (view == null) {
+            synchronized (this) {
+                view = transpose;
+                if (view == null) {
+                    view = new TransposeView(this);
+                    transpose = view;
+                }
+            }
+        }
+        return view;
+    }
+
+    // first edge slot of vertex (inclusive)
+    public int getEdgeStart(int vertex) {
+        return offsets[vertex];
+    }
+
+    // last edge slot of vertex (exclusive)
+    public int getEdgeEnd(int vertex) {
+        return offsets[vertex + 1];
+    }
+
+    public int getTargetAt(int edgeIndex) {
+        return targets[edgeIndex];
+    }
+
+    public int getWeightAt(int edgeIndex) {
+        return weights[edgeIndex];
+    }
+
+    // convert back to the mutable list-based representation
+    public Graph toGraph() {
+        Graph graph = new Graph(numVertices, directed);
+        for (int u = 0; u < numVertices; u++) {
+            for (int e = offsets[u]; e < offsets[u + 1]; e++) {
+                graph.addEdge(u, targets[e], weights[e]);
+            }
+            if (nodeWeights != null) {
+                graph.setNodeWeight(u, nodeWeights[u]);
+            }
+        }
+        return graph;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("CSRGraph: %d vertices, %d edges\n",
+                numVertices, getNumEdges()));
+        for (int i = 0; i < numVertices; i++) {
+            sb.append(String.format("  %d: ", i));
+            for (int e = offsets[i]; e < offsets[i + 1]; e++) {
+                sb.append(String.format("->%d(w=%d) ", targets[e], weights[e]));
+            }
+            sb.append("\n");
+        }
+        return sb.toString();
+    }
+
+    // collects edges in flat primitive arrays and sorts them into CSR on build();
+    // the vertex count may be supplied after the edges (as in our JSON files)
+    public static class Builder {
+        private int numVertices;
+        private boolean directed;
+        private int[] from;
+        private int[] to;
+        private int[] weight;
+        private int size;
+        private int maxVertex = -1;
+        private int[] nodeWeights;
+
+        public Builder(int numVertices, boolean directed) {
+            this.numVertices = numVertices;
+            this.directed = directed;
+            this.from = new int[16];
+            this.to = new int[16];
+            this.weight = new int[16];
+        }
+
+        // vertex count not known yet, set it with setNumVertices() before build()
+        public Builder() {
+            this(-1, true);
+        }
+
+        public Builder setNumVertices(int numVertices) {
+            if (numVertices < 0 || maxVertex >= numVertices) {
+                throw new IllegalArgumentException("Invalid vertex index");
+            }
+            this.numVertices = numVertices;
+            return this;
+        }
+
+        public Builder setDirected(boolean directed) {
+            this.directed = directed;
+            return this;
+        }
+
+        // one weight per vertex, checked against the vertex count on build()
+        public Builder setNodeWeights(int[] nodeWeights) {
+            this.nodeWeights = nodeWeights;
+            return this;
+        }
+
+        // overwrite the weight of the index-th added edge
+        public Builder setEdgeWeight(int edgeIndex, int weight) {
+            if (edgeIndex < 0 || edgeIndex >= size) {
+                throw new IllegalArgumentException("Invalid edge index");
+            }
+            this.weight[edgeIndex] = weight;
+            return this;
+        }
+
+        public Builder addEdge(int from, int to, int weight) {
+            int limit = numVertices < 0 ? Integer.MAX_VALUE : numVertices;
+            if (from < 0 || from >= limit || to < 0 || to >= limit) {
+                throw new IllegalArgumentException("Invalid vertex index");
+            }
+            if (size == this.from.length) {
+                int capacity = size + (size >> 1);
+                this.from = Arrays.copyOf(this.from, capacity);
+                this.to = Arrays.copyOf(this.to, capacity);
+                this.weight = Arrays.copyOf(this.weight, capacity);
+            }
+            this.from[size] = from;
+            this.to[size] = to;
+            this.weight[size] = weight;
+            size++;
+            maxVertex = Math.max(maxVertex, Math.max(from, to));
+            return this;
+        }
+
+        public Builder addEdge(int from, int to) {
+            return addEdge(from, to, 1);
+        }
+
+        public int getNumEdges() {
+            return size;
+        }
+
+        // stable counting sort by source keeps insertion order per vertex
+        public CSRGraph build() {
+            if (numVertices < 0) {
+                throw new IllegalStateException("Number of vertices not set");
+            }
+            if (nodeWeights != null && nodeWeights.length != numVertices) {
+                throw new IllegalStateException("Expected " + numVertices
+                        + " node weights, got " + nodeWeights.length);
+            }
+            int[] offsets = new int[numVertices + 1];
+            for (int i = 0; i < size; i++) {
+                offsets[from[i] + 1]++;
+            }
+            for (int v = 0; v < numVertices; v++) {
+                offsets[v + 1] += offsets[v];
+            }
+
+            int[] cursor = Arrays.copyOf(offsets, numVertices);
+            int[] targets = new int[size];
+            int[] weights = new int[size];
+            for (int i = 0; i < size; i++) {
+                int pos = cursor[from[i]]++;
+                targets[pos] = to[i];
+                weights[pos] = weight[i];
+            }
+            return new CSRGraph(numVertices, directed, offsets, targets, weights, nodeWeights);
+        }
+    }
+}
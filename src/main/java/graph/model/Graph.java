@@ -2,10 +2,16 @@ package graph.model;
 
 import java.util.*;
 
-public class Graph {
+public class Graph implements GraphView {
     private final int numVertices;
     private final List<List<Edge>> adjList;
     private final boolean directed;
+    // allocated by the first setNodeWeight()
+    private int[] nodeWeights;
+    // reversed copy behind transpose(), dropped on every change
+    private CSRGraph reverse;
+    // bumped with every change
+    private long version;
 
     public Graph(int numVertices, boolean directed) {
         this.numVertices = numVertices;
@@ -22,6 +28,8 @@ public class Graph {
             throw new IllegalArgumentException("Invalid vertex index");
         }
         adjList.get(from).add(new Edge(from, to, weight));
+        reverse = null;
+        version++;
     }
 
     // add edge with default weight = 1
@@ -29,6 +37,34 @@ public class Graph {
         addEdge(from, to, 1);
     }
 
+    // set the weight (task duration) of a vertex, others default to 0
+    public void setNodeWeight(int vertex, int weight) {
+        if (vertex < 0 || vertex >= numVertices) {
+            throw new IllegalArgumentException("Invalid vertex index");
+        }
+        if (nodeWeights == null) {
+            nodeWeights = new int[numVertices];
+        }
+        nodeWeights[vertex] = weight;
+        reverse = null;
+        version++;
+    }
+
+    @Override
+    public long getVersion() {
+        return version;
+    }
+
+    @Override
+    public int getNodeWeight(int vertex) {
+        return nodeWeights == null ? 0 : nodeWeights[vertex];
+    }
+
+    @Override
+    public boolean hasNodeWeights() {
+        return nodeWeights != null;
+    }
+
     // return edges from vertex
     public List<Edge> getEdges(int vertex) {
         if (vertex < 0 || vertex >= numVertices) {
@@ -37,15 +73,42 @@ public class Graph {
         return adjList.get(vertex);
     }
 
+    @Override
+    public int getOutDegree(int vertex) {
+        return adjList.get(vertex).size();
+    }
+
+    @Override
+    public int getTarget(int vertex, int index) {
+        return adjList.get(vertex).get(index).getTo();
+    }
+
+    @Override
+    public int getWeight(int vertex, int index) {
+        return adjList.get(vertex).get(index).getWeight();
+    }
+
+    @Override
     public int getNumVertices() {
         return numVertices;
     }
 
+    @Override
     public boolean isDirected() {
         return directed;
     }
 
-    // build reversed graph
+    // reversed CSR copy of the graph (2m + n ints), reused until the next
+    // addEdge() or setNodeWeight()
+    @Override
+    public GraphView transpose() {
+        if (reverse == null) {
+            reverse = CSRGraph.reverseOf(this);
+        }
+        return reverse;
+    }
+
+    // build reversed graph as a mutable copy; transpose() avoids the copy
     public Graph getReverse() {
         Graph reverse = new Graph(numVertices, directed);
         for (int u = 0; u < numVertices; u++) {
@@ -53,10 +116,14 @@ public class Graph {
                 reverse.addEdge(e.getTo(), e.getFrom(), e.getWeight());
             }
         }
+        if (nodeWeights != null) {
+            reverse.nodeWeights = nodeWeights.clone();
+        }
         return reverse;
     }
 
     // total edge count
+    @Override
     public int getNumEdges() {
         int count = 0;
         for (List<Edge> edges : adjList) {
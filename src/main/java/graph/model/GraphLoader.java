@@ -1,43 +1,168 @@
 package graph.model;
 
-import org.json.JSONArray;
-import org.json.JSONObject;
+import util.IntList;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
 
 public class GraphLoader {
 
-    // load graph from JSON file
-    public static GraphData loadFromFile(String filePath) throws Exception {
-        String content = new String(Files.readAllBytes(Paths.get(filePath)));
-        JSONObject json = new JSONObject(content);
+    // load graph from a JSON or binary graph file
+    public static GraphData loadFromFile(String filePath) throws IOException {
+        Path path = Paths.get(filePath);
+        if (BinaryGraphFormat.isBinaryGraph(path)) {
+            return BinaryGraphFormat.map(path);
+        }
+        try (Reader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            return load(reader);
+        }
+    }
 
-        boolean directed = json.getBoolean("directed");
-        int n = json.getInt("n");
-        Graph graph = new Graph(n, directed);
+    // stream the document: edges go straight into primitive CSR storage,
+    // no String copy of the file and no JSON object tree are built.
+    // weight_model "edge" (default) weighs edges, missing "w" means 1;
+    // "node" takes task durations from node_weights, missing "w" means 0
+    public static GraphData load(Reader reader) throws IOException {
+        JsonTokenizer json = new JsonTokenizer(reader);
+        CSRGraph.Builder builder = new CSRGraph.Builder();
+        // edges without "w": their default depends on weight_model, which may come later
+        IntList unweighted = new IntList();
+        Boolean directed = null;
+        Integer n = null;
+        int source = 0;
+        String weightModel = "edge";
+        int[] nodeWeights = null;
 
-        JSONArray edges = json.getJSONArray("edges");
-        for (int i = 0; i < edges.length(); i++) {
-            JSONObject edge = edges.getJSONObject(i);
-            int u = edge.getInt("u");
-            int v = edge.getInt("v");
-            int w = edge.optInt("w", 1);
-            graph.addEdge(u, v, w);
+        json.expect('{');
+        if (!json.consumeIf('}')) {
+            do {
+                String key = json.nextString();
+                json.expect(':');
+                switch (key) {
+                    case "directed":
+                        directed = json.nextBoolean();
+                        break;
+                    case "n":
+                        n = json.nextInt();
+                        builder.setNumVertices(n);
+                        break;
+                    case "edges":
+                        readEdges(json, builder, unweighted);
+                        break;
+                    case "node_weights":
+                        nodeWeights = readInts(json);
+                        break;
+                    case "source":
+                        source = json.nextInt();
+                        break;
+                    case "weight_model":
+                        weightModel = json.nextString();
+                        break;
+                    default:
+                        json.skipValue();
+                }
+            } while (json.consumeIf(','));
+            json.expect('}');
+        }
+
+        if (directed == null) {
+            throw new IOException("Missing \"directed\" field");
+        }
+        if (n == null) {
+            throw new IOException("Missing \"n\" field");
+        }
+        if (nodeWeights != null && nodeWeights.length != n) {
+            throw new IOException("Expected " + n + " node weights, got " + nodeWeights.length);
         }
 
-        int source = json.optInt("source", 0);
-        String weightModel = json.optString("weight_model", "edge");
+        switch (weightModel) {
+            case "edge":
+                break;
+            case "node":
+                if (nodeWeights == null) {
+                    throw new IOException("Weight model \"node\" needs a \"node_weights\" field");
+                }
+                for (int i = 0; i < unweighted.size(); i++) {
+                    builder.setEdgeWeight(unweighted.get(i), 0);
+                }
+                break;
+            default:
+                throw new IOException("Unknown weight model: " + weightModel);
+        }
 
+        CSRGraph graph = builder.setNumVertices(n).setDirected(directed)
+                .setNodeWeights(nodeWeights).build();
         return new GraphData(graph, source, weightModel);
     }
 
+    // edges: [{"u": .., "v": .., "w": ..}, ...], w defaults to 1
+    private static void readEdges(JsonTokenizer json, CSRGraph.Builder builder,
+                                  IntList unweighted) throws IOException {
+        json.expect('[');
+        if (json.consumeIf(']')) {
+            return;
+        }
+        do {
+            int u = -1;
+            int v = -1;
+            int w = 1;
+            boolean weighted = false;
+            json.expect('{');
+            if (!json.consumeIf('}')) {
+                do {
+                    String key = json.nextString();
+                    json.expect(':');
+                    switch (key) {
+                        case "u":
+                            u = json.nextInt();
+                            break;
+                        case "v":
+                            v = json.nextInt();
+                            break;
+                        case "w":
+                            w = json.nextInt();
+                            weighted = true;
+                            break;
+                        default:
+                            json.skipValue();
+                    }
+                } while (json.consumeIf(','));
+                json.expect('}');
+            }
+            if (u < 0 || v < 0) {
+                throw json.error("edge needs non-negative \"u\" and \"v\"");
+            }
+            if (!weighted) {
+                unweighted.add(builder.getNumEdges());
+            }
+            builder.addEdge(u, v, w);
+        } while (json.consumeIf(','));
+        json.expect(']');
+    }
+
+    // [int, int, ...]
+    private static int[] readInts(JsonTokenizer json) throws IOException {
+        IntList values = new IntList();
+        json.expect('[');
+        if (!json.consumeIf(']')) {
+            do {
+                values.add(json.nextInt());
+            } while (json.consumeIf(','));
+            json.expect(']');
+        }
+        return values.toArray();
+    }
+
     // container for loaded graph data
     public static class GraphData {
-        public final Graph graph;
+        public final GraphView graph;
         public final int source;
         public final String weightModel;
 
-        public GraphData(Graph graph, int source, String weightModel) {
+        public GraphData(GraphView graph, int source, String weightModel) {
             this.graph = graph;
             this.source = source;
             this.weightModel = weightModel;
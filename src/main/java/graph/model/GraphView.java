@@ -0,0 +1,47 @@
+package graph.model;
+
+// read-only adjacency access shared by Graph and CSRGraph;
+// edges of a vertex are addressed by local index 0..getOutDegree(v)-1,
+// so algorithms can walk them without allocating Edge objects
+public interface GraphView {
+
+    int getNumVertices();
+
+    int getNumEdges();
+
+    // edge count of graphs that may exceed 2^31 - 1 edges
+    default long getNumEdgesLong() {
+        return getNumEdges();
+    }
+
+    boolean isDirected();
+
+    int getOutDegree(int vertex);
+
+    // target of the index-th outgoing edge of vertex
+    int getTarget(int vertex, int index);
+
+    // weight of the index-th outgoing edge of vertex
+    int getWeight(int vertex, int index);
+
+    // weight of the vertex itself (task duration); 0 unless node-weighted
+    default int getNodeWeight(int vertex) {
+        return 0;
+    }
+
+    default boolean hasNodeWeights() {
+        return false;
+    }
+
+    // changes with every modification, so caches can tell stale results;
+    // immutable graphs stay at 0
+    default long getVersion() {
+        return 0;
+    }
+
+    // the graph with every edge reversed; a fresh copy unless the
+    // implementation keeps an in-edge index
+    default GraphView transpose() {
+        return CSRGraph.reverseOf(this);
+    }
+}
@@ -0,0 +1,202 @@
+package graph.model;
+
+import java.io.IOException;
+import java.io.Reader;
+
+// minimal pull tokenizer over a Reader: only a fixed char buffer is held,
+// so memory does not grow with the size of the document
+final class JsonTokenizer {
+    private final Reader in;
+    private final char[] buffer = new char[8192];
+    private final StringBuilder scratch = new StringBuilder();
+    private int pos;
+    private int limit;
+    private int line = 1;
+
+    JsonTokenizer(Reader in) {
+        this.in = in;
+    }
+
+    // next non-whitespace char without consuming it, -1 at end of input
+    int peek() throws IOException {
+        while (true) {
+            if (pos == limit && !fill()) {
+                return -1;
+            }
+            char c = buffer[pos];
+            if (c == '\n') {
+                line++;
+            } else if (c != ' ' && c != '\t' && c != '\r') {
+                return c;
+            }
+            pos++;
+        }
+    }
+
+    // consume c if it is the next token
+    boolean consumeIf(char c) throws IOException {
+        if (peek() == c) {
+            pos++;
+            return true;
+        }
+        return false;
+    }
+
+    void expect(char c) throws IOException {
+        if (!consumeIf(c)) {
+            throw error("expected '" + c + "'");
+        }
+    }
+
+    String nextString() throws IOException {
+        expect('"');
+        scratch.setLength(0);
+        while (true) {
+            char c = read();
+            if (c == '"') {
+                return scratch.toString();
+            }
+            if (c == '\\') {
+                char esc = read();
+                switch (esc) {
+                    case 'n': scratch.append('\n'); break;
+                    case 't': scratch.append('\t'); break;
+                    case 'r': scratch.append('\r'); break;
+                    case 'b': scratch.append('\b'); break;
+                    case 'f': scratch.append('\f'); break;
+                    case 'u':
+                        int code = 0;
+                        for (int i = 0; i < 4; i++) {
+                            int digit = Character.digit(read(), 16);
+                            if (digit < 0) {
+                                throw error("bad unicode escape");
+                            }
+                            code = code * 16 + digit;
+                        }
+                        scratch.append((char) code);
+                        break;
+                    default: scratch.append(esc);
+                }
+            } else {
+                scratch.append(c);
+            }
+        }
+    }
+
+    // integer value; fractional numbers are truncated like JSONObject.getInt
+    int nextInt() throws IOException {
+        int c = peek();
+        if (c != '-' && (c < '0' || c > '9')) {
+            throw error("expected number");
+        }
+        scratch.setLength(0);
+        boolean fractional = false;
+        while (pos < limit || fill()) {
+            char ch = buffer[pos];
+            if ((ch >= '0' && ch <= '9') || ch == '-' || ch == '+') {
+                scratch.append(ch);
+            } else if (ch == '.' || ch == 'e' || ch == 'E') {
+                scratch.append(ch);
+                fractional = true;
+            } else {
+                break;
+            }
+            pos++;
+        }
+        try {
+            if (fractional) {
+                return (int) Double.parseDouble(scratch.toString());
+            }
+            return Math.toIntExact(Long.parseLong(scratch.toString()));
+        } catch (NumberFormatException | ArithmeticException e) {
+            throw error("bad number " + scratch);
+        }
+    }
+
+    boolean nextBoolean() throws IOException {
+        if (consumeLiteral("true")) {
+            return true;
+        }
+        if (consumeLiteral("false")) {
+            return false;
+        }
+        throw error("expected boolean");
+    }
+
+    // skip any value, including nested objects and arrays
+    void skipValue() throws IOException {
+        int c = peek();
+        if (c == '"') {
+            nextString();
+        } else if (c == '{' || c == '[') {
+            char close = c == '{' ? '}' : ']';
+            pos++;
+            if (consumeIf(close)) {
+                return;
+            }
+            do {
+                if (close == '}') {
+                    nextString();
+                    expect(':');
+                }
+                skipValue();
+            } while (consumeIf(','));
+            expect(close);
+        } else if (c == '-' || (c >= '0' && c <= '9')) {
+            skipNumber();
+        } else if (!consumeLiteral("true") && !consumeLiteral("false") && !consumeLiteral("null")) {
+            throw error("unexpected value");
+        }
+    }
+
+    IOException error(String message) {
+        return new IOException("Malformed JSON at line " + line + ": " + message);
+    }
+
+    // skip a number token by its characters alone, so values outside the int
+    // range (timestamps, large ids) in unknown fields do not fail the load
+    private void skipNumber() throws IOException {
+        boolean digits = false;
+        while (pos < limit || fill()) {
+            char ch = buffer[pos];
+            if (ch >= '0' && ch <= '9') {
+                digits = true;
+            } else if (ch != '-' && ch != '+' && ch != '.' && ch != 'e' && ch != 'E') {
+                break;
+            }
+            pos++;
+        }
+        if (!digits) {
+            throw error("expected number");
+        }
+    }
+
+    private boolean consumeLiteral(String literal) throws IOException {
+        if (peek() != literal.charAt(0)) {
+            return false;
+        }
+        for (int i = 0; i < literal.length(); i++) {
+            if (read() != literal.charAt(i)) {
+                throw error("expected " + literal);
+            }
+        }
+        return true;
+    }
+
+    private char read() throws IOException {
+        if (pos == limit && !fill()) {
+            throw error("unexpected end of input");
+        }
+        return buffer[pos++];
+    }
+
+    private boolean fill() throws IOException {
+        int count = in.read(buffer, 0, buffer.length);
+        if (count <= 0) {
+            return false;
+        }
+        pos = 0;
+        limit = count;
+        return true;
+    }
+}
@@ -0,0 +1,244 @@
+package graph.model;
+
+import util.OffHeapIntArray;
+import util.OffHeapLongArray;
+import java.io.IOException;
+import java.nio.file.Path;
+
+// read-only CSR graph kept outside the Java heap, in direct buffers or in a
+// memory-mapped binary graph file. Edge slots are long, so the graph may
+// hold more than 2^31 edges; only the degree of a single vertex must fit an
+// int. Algorithms see it as a plain GraphView, and its transpose is built
+// off-heap as well
+public final class OffHeapCSRGraph implements GraphView {
+    private final int numVertices;
+    private final boolean directed;
+    private final OffHeapLongArray offsets;
+    private final OffHeapIntArray targets;
+    private final OffHeapIntArray weights;
+    // null unless node-weighted
+    private final OffHeapIntArray nodeWeights;
+    // reversed graph, built by the first transpose()
+    private volatile OffHeapCSRGraph transpose;
+
+    OffHeapCSRGraph(int numVertices, boolean directed, OffHeapLongArray offsets,
+                    OffHeapIntArray targets, OffHeapIntArray weights, OffHeapIntArray nodeWeights) {
+        this.numVertices = numVertices;
+        this.directed = directed;
+        this.offsets = offsets;
+        this.targets = targets;
+        this.weights = weights;
+        this.nodeWeights = nodeWeights;
+    }
+
+    // copy any graph into direct memory. Direct buffers are capped by
+    // -XX:MaxDirectMemorySize, which defaults to the maximum heap size; use
+    // copyOf(graph, file) for graphs beyond that
+    public static OffHeapCSRGraph copyOf(GraphView graph) {
+        int n = graph.getNumVertices();
+        long m = 0;
+        for (int u = 0; u < n; u++) {
+            m += graph.getOutDegree(u);
+        }
+        Builder builder = new Builder(n, m, graph.isDirected(), graph.hasNodeWeights());
+        for (int u = 0; u < n; u++) {
+            builder.addVertex(graph.getOutDegree(u), graph.getNodeWeight(u));
+        }
+        for (int u = 0; u < n; u++) {
+            int degree = graph.getOutDegree(u);
+            for (int i = 0; i < degree; i++) {
+                builder.addEdge(graph.getTarget(u, i), graph.getWeight(u, i));
+            }
+        }
+        return builder.build();
+    }
+
+    // write the graph to a binary graph file and map it; only the page cache
+    // holds it, so it is bounded by disk space rather than any JVM limit
+    public static OffHeapCSRGraph copyOf(GraphView graph, Path file) throws IOException {
+        BinaryGraphFormat.write(graph, 0, graph.hasNodeWeights() ? "node" : "edge", file);
+        return (OffHeapCSRGraph) BinaryGraphFormat.map(file).graph;
+    }
+
+    @Override
+    public int getNumVertices() {
+        return numVertices;
+    }
+
+    // throws ArithmeticException past 2^31 - 1 edges, see getNumEdgesLong()
+    @Override
+    public int getNumEdges() {
+        return Math.toIntExact(getNumEdgesLong());
+    }
+
+    @Override
+    public long getNumEdgesLong() {
+        return offsets.get(numVertices);
+    }
+
+    @Override
+    public boolean isDirected() {
+        return directed;
+    }
+
+    @Override
+    public int getOutDegree(int vertex) {
+        return (int) (offsets.get(vertex + 1) - offsets.get(vertex));
+    }
+
+    @Override
+    public int getTarget(int vertex, int index) {
+        return targets.get(offsets.get(vertex) + index);
+    }
+
+    @Override
+    public int getWeight(int vertex, int index) {
+        return weights.get(offsets.get(vertex) + index);
+    }
+
+    @Override
+    public int getNodeWeight(int vertex) {
+        return nodeWeights == null ? 0 : nodeWeights.get(vertex);
+    }
+
+    @Override
+    public boolean hasNodeWeights() {
+        return nodeWeights != null;
+    }
+
+    // first edge slot of vertex (inclusive)
+    public long getEdgeStart(int vertex) {
+        return offsets.get(vertex);
+    }
+
+    // last edge slot of vertex (exclusive)
+    public long getEdgeEnd(int vertex) {
+        return offsets.get(vertex + 1);
+    }
+
+    public int getTargetAt(long edgeIndex) {
+        return targets.get(edgeIndex);
+    }
+
+    public int getWeightAt(long edgeIndex) {
+        return weights.get(edgeIndex);
+    }
+
+    // reversed graph in direct memory, built once by a counting sort over
+    // the sources; in-edges come out ordered by source as in CSRGraph.reverseOf
+    @Override
+    public OffHeapCSRGraph transpose() {
+        OffHeapCSRGraph reverse = transpose;
+        if (reverse == null) {
+            synchronized (this) {
+                reverse = transpose;
+                if (reverse == null) {
+                    reverse = buildReverse();
+                    reverse.transpose = this;
+                    transpose = reverse;
+                }
+            }
+        }
+        return reverse;
+    }
+
+    private OffHeapCSRGraph buildReverse() {
+        int n = numVertices;
+        long m = getNumEdgesLong();
+        OffHeapLongArray inOffsets = OffHeapLongArray.allocate(n + 1L);
+        for (long e = 0; e < m; e++) {
+            int v = targets.get(e) + 1;
+            inOffsets.set(v, inOffsets.get(v) + 1);
+        }
+        for (int v = 0; v < n; v++) {
+            inOffsets.set(v + 1, inOffsets.get(v + 1) + inOffsets.get(v));
+        }
+
+        // inOffsets[v] doubles as the cursor of v and ends up at v's end
+        OffHeapIntArray sources = OffHeapIntArray.allocate(m);
+        OffHeapIntArray inWeights = OffHeapIntArray.allocate(m);
+        for (int u = 0; u < n; u++) {
+            for (long e = offsets.get(u); e < offsets.get(u + 1); e++) {
+                int v = targets.get(e);
+                long pos = inOffsets.get(v);
+                sources.set(pos, u);
+                inWeights.set(pos, weights.get(e));
+                inOffsets.set(v, pos + 1);
+            }
+        }
+        // shift the end positions back into start positions
+        for (int v = n; v > 0; v--) {
+            inOffsets.set(v, inOffsets.get(v - 1));
+        }
+        inOffsets.set(0, 0);
+        return new OffHeapCSRGraph(n, directed, inOffsets, sources, inWeights, nodeWeights);
+    }
+
+    // fills a graph of known size in direct memory: n degrees in vertex
+    // order, then m edges in source order (the layout of a binary graph file).
+    // Subject to -XX:MaxDirectMemorySize like copyOf(graph); for larger graphs
+    // stream into a BinaryGraphFormat.Writer and map the file instead
+    public static class Builder {
+        private final int numVertices;
+        private final long numEdges;
+        private final boolean directed;
+        private final OffHeapLongArray offsets;
+        private final OffHeapIntArray targets;
+        private final OffHeapIntArray weights;
+        private final OffHeapIntArray nodeWeights;
+        private int verticesAdded;
+        private long edgesAdded;
+
+        public Builder(int numVertices, long numEdges, boolean directed, boolean nodeWeighted) {
+            this.numVertices = numVertices;
+            this.numEdges = numEdges;
+            this.directed = directed;
+            this.offsets = OffHeapLongArray.allocate(numVertices + 1L);
+            this.targets = OffHeapIntArray.allocate(numEdges);
+            this.weights = OffHeapIntArray.allocate(numEdges);
+            this.nodeWeights = nodeWeighted ? OffHeapIntArray.allocate(numVertices) : null;
+        }
+
+        // out-degree and node weight of the next vertex; the weight is
+        // dropped unless the builder was created node-weighted
+        public Builder addVertex(int degree, int nodeWeight) {
+            if (verticesAdded == numVertices) {
+                throw new IllegalStateException("All " + numVertices + " vertices already added");
+            }
+            offsets.set(verticesAdded + 1L, offsets.get(verticesAdded) + degree);
+            if (nodeWeights != null) {
+                nodeWeights.set(verticesAdded, nodeWeight);
+            }
+            verticesAdded++;
+            return this;
+        }
+
+        public Builder addVertex(int degree) {
+            return addVertex(degree, 0);
+        }
+
+        // next edge in source order
+        public Builder addEdge(int target, int weight) {
+            if (edgesAdded == numEdges) {
+                throw new IllegalStateException("All " + numEdges + " edges already added");
+            }
+            if (target < 0 || target >= numVertices) {
+                throw new IllegalArgumentException("Invalid vertex index");
+            }
+            targets.set(edgesAdded, target);
+            weights.set(edgesAdded, weight);
+            edgesAdded++;
+            return this;
+        }
+
+        public OffHeapCSRGraph build() {
+            if (verticesAdded != numVertices || edgesAdded != numEdges
+                    || offsets.get(numVertices) != numEdges) {
+                throw new IllegalStateException(String.format(
+                        "Incomplete graph: %d/%d vertices, %d/%d edges, degrees sum to %d",
+                        verticesAdded, numVertices, edgesAdded, numEdges, offsets.get(verticesAdded)));
+            }
+            return new OffHeapCSRGraph(numVertices, directed, offsets, targets, weights, nodeWeights);
+        }
+    }
+}
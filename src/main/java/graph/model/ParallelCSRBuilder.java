@@ -0,0 +1,217 @@
+package graph.model;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.stream.IntStream;
+
+// bulk CSR construction from flat (from, to, weight) arrays on a ForkJoinPool:
+// - degree count with atomic increments, then a parallel prefix sum
+// - scatter of edge indices through atomic per-vertex cursors
+// - per-vertex fix-up: segments are sorted back into input order (or by
+//   target), duplicates merged, and targets/weights gathered from the input
+// so the result is deterministic and, without options, equal to what
+// CSRGraph.Builder produces from the same edges in the same order. Small
+// inputs and single-threaded pools take a sequential counting sort instead,
+// which is stable and needs no atomics
+public class ParallelCSRBuilder {
+    // inputs smaller than this are processed on the calling thread
+    private static final int PARALLEL_THRESHOLD = 1 << 14;
+
+    // what to do with several edges between the same two vertices
+    public enum Duplicates {
+        KEEP, FIRST, MIN, MAX, SUM
+    }
+
+    private final int numVertices;
+    private final boolean directed;
+    private ForkJoinPool pool = ForkJoinPool.commonPool();
+    private boolean sortNeighbours;
+    private Duplicates duplicates = Duplicates.KEEP;
+    private int[] nodeWeights;
+
+    public ParallelCSRBuilder(int numVertices, boolean directed) {
+        if (numVertices < 0) {
+            throw new IllegalArgumentException("Invalid number of vertices");
+        }
+        this.numVertices = numVertices;
+        this.directed = directed;
+    }
+
+    public ParallelCSRBuilder setPool(ForkJoinPool pool) {
+        this.pool = pool;
+        return this;
+    }
+
+    // neighbours by ascending target instead of input order
+    public ParallelCSRBuilder setSortNeighbours(boolean sortNeighbours) {
+        this.sortNeighbours = sortNeighbours;
+        return this;
+    }
+
+    // anything but KEEP also sorts neighbours; FIRST keeps the earliest edge in input order
+    public ParallelCSRBuilder setDuplicates(Duplicates duplicates) {
+        this.duplicates = duplicates;
+        return this;
+    }
+
+    public ParallelCSRBuilder setNodeWeights(int[] nodeWeights) {
+        if (nodeWeights != null && nodeWeights.length != numVertices) {
+            throw new IllegalArgumentException("Expected " + numVertices
+                    + " node weights, got " + nodeWeights.length);
+        }
+        this.nodeWeights = nodeWeights;
+        return this;
+    }
+
+    // edge i runs from[i] -> to[i] with weight[i]; a null weight array means weight 1
+    public CSRGraph build(int[] from, int[] to, int[] weight) {
+        int m = from.length;
+        if (to.length != m || (weight != null && weight.length != m)) {
+            throw new IllegalArgumentException("Edge arrays differ in length");
+        }
+        return pool.submit(() -> buildInPool(from, to, weight)).join();
+    }
+
+    private CSRGraph buildInPool(int[] from, int[] to, int[] weight) {
+        int n = numVertices;
+        int m = from.length;
+
+        int[] offsets = new int[n + 1];
+        int[] edgeIndex = new int[m];
+        boolean parallel = m >= PARALLEL_THRESHOLD && pool.getParallelism() > 1;
+        if (parallel) {
+            // degree count
+            AtomicIntegerArray degree = new AtomicIntegerArray(n);
+            range(m).forEach(i -> {
+                checkEdge(from[i], to[i], n);
+                degree.incrementAndGet(from[i]);
+            });
+            range(n).forEach(u -> offsets[u + 1] = degree.get(u));
+            Arrays.parallelPrefix(offsets, Integer::sum);
+
+            // scatter: edge indices land in their source's segment in arbitrary order
+            AtomicIntegerArray cursor = new AtomicIntegerArray(Arrays.copyOf(offsets, n));
+            range(m).forEach(i -> edgeIndex[cursor.getAndIncrement(from[i])] = i);
+        } else {
+            // plain counting sort, segments come out in input order
+            for (int i = 0; i < m; i++) {
+                checkEdge(from[i], to[i], n);
+                offsets[from[i] + 1]++;
+            }
+            for (int u = 0; u < n; u++) {
+                offsets[u + 1] += offsets[u];
+            }
+            int[] cursor = Arrays.copyOf(offsets, n);
+            for (int i = 0; i < m; i++) {
+                edgeIndex[cursor[from[i]]++] = i;
+            }
+        }
+
+        boolean byTarget = sortNeighbours || duplicates != Duplicates.KEEP;
+        int[] targets = new int[m];
+        int[] weights = new int[m];
+        // kept[u + 1]: edges of u left after merging duplicates, at the start of its segment
+        int[] kept = new int[n + 1];
+        range(n).forEach(u -> {
+            int lo = offsets[u];
+            int hi = offsets[u + 1];
+            if (byTarget) {
+                sortByTarget(edgeIndex, lo, hi, to);
+            } else if (parallel) {
+                // back into input order after the atomic scatter
+                if (hi - lo >= PARALLEL_THRESHOLD) {
+                    Arrays.parallelSort(edgeIndex, lo, hi);
+                } else {
+                    Arrays.sort(edgeIndex, lo, hi);
+                }
+            }
+            for (int p = lo; p < hi; p++) {
+                int i = edgeIndex[p];
+                targets[p] = to[i];
+                weights[p] = weight == null ? 1 : weight[i];
+            }
+            kept[u + 1] = duplicates == Duplicates.KEEP ? hi - lo : merge(targets, weights, lo, hi);
+        });
+
+        if (duplicates == Duplicates.KEEP) {
+            return new CSRGraph(n, directed, offsets, targets, weights, copyNodeWeights());
+        }
+
+        // compact the merged segments
+        Arrays.parallelPrefix(kept, Integer::sum);
+        int[] compactTargets = new int[kept[n]];
+        int[] compactWeights = new int[kept[n]];
+        range(n).forEach(u -> {
+            int count = kept[u + 1] - kept[u];
+            System.arraycopy(targets, offsets[u], compactTargets, kept[u], count);
+            System.arraycopy(weights, offsets[u], compactWeights, kept[u], count);
+        });
+        return new CSRGraph(n, directed, kept, compactTargets, compactWeights, copyNodeWeights());
+    }
+
+    private static void checkEdge(int u, int v, int n) {
+        if (u < 0 || u >= n || v < 0 || v >= n) {
+            throw new IllegalArgumentException("Invalid vertex index");
+        }
+    }
+
+    // sort a segment of edge indices by (target, index); runs of the same target
+    // therefore stay in input order. Hub segments are sorted in parallel
+    private static void sortByTarget(int[] edgeIndex, int lo, int hi, int[] to) {
+        int length = hi - lo;
+        if (length < 2) {
+            return;
+        }
+        long[] keys = new long[length];
+        for (int k = 0; k < length; k++) {
+            int i = edgeIndex[lo + k];
+            keys[k] = ((long) to[i] << 32) | i;
+        }
+        if (length >= PARALLEL_THRESHOLD) {
+            Arrays.parallelSort(keys);
+        } else {
+            Arrays.sort(keys);
+        }
+        for (int k = 0; k < length; k++) {
+            edgeIndex[lo + k] = (int) keys[k];
+        }
+    }
+
+    // merge equal targets of a sorted segment in place; returns the edges left
+    private int merge(int[] targets, int[] weights, int lo, int hi) {
+        int write = lo;
+        for (int p = lo; p < hi; p++) {
+            if (write > lo && targets[write - 1] == targets[p]) {
+                int w = weights[p];
+                switch (duplicates) {
+                    case MIN:
+                        weights[write - 1] = Math.min(weights[write - 1], w);
+                        break;
+                    case MAX:
+                        weights[write - 1] = Math.max(weights[write - 1], w);
+                        break;
+                    case SUM:
+                        weights[write - 1] += w;
+                        break;
+                    default:
+                        break;
+                }
+            } else {
+                targets[write] = targets[p];
+                weights[write] = weights[p];
+                write++;
+            }
+        }
+        return write - lo;
+    }
+
+    private int[] copyNodeWeights() {
+        return nodeWeights == null ? null : nodeWeights.clone();
+    }
+
+    private static IntStream range(int size) {
+        IntStream range = IntStream.range(0, size);
+        return size >= PARALLEL_THRESHOLD ? range.parallel() : range;
+    }
+}
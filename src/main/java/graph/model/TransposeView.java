@@ -0,0 +1,104 @@
+package graph.model;
+
+import java.util.Arrays;
+
+// the reverse of a CSRGraph as an in-edge (CSC) index: for every vertex its
+// sources and the weights of those edges, the same 2m + n ints a
+// CSRGraph.reverseOf copy takes, but built once per graph and linked back to
+// it. In-edges of a vertex are ordered by source, as in CSRGraph.reverseOf
+public final class TransposeView implements GraphView {
+    private final CSRGraph forward;
+    // in-edges of v are sources/weights[inOffsets[v] .. inOffsets[v+1])
+    private final int[] inOffsets;
+    private final int[] sources;
+    private final int[] weights;
+
+    TransposeView(CSRGraph forward) {
+        this.forward = forward;
+        int n = forward.getNumVertices();
+        int m = forward.getNumEdges();
+        inOffsets = new int[n + 1];
+        for (int e = 0; e < m; e++) {
+            inOffsets[forward.getTargetAt(e) + 1]++;
+        }
+        for (int v = 0; v < n; v++) {
+            inOffsets[v + 1] += inOffsets[v];
+        }
+
+        int[] cursor = Arrays.copyOf(inOffsets, n);
+        sources = new int[m];
+        weights = new int[m];
+        for (int u = 0; u < n; u++) {
+            for (int e = forward.getEdgeStart(u); e < forward.getEdgeEnd(u); e++) {
+                int pos = cursor[forward.getTargetAt(e)]++;
+                sources[pos] = u;
+                weights[pos] = forward.getWeightAt(e);
+            }
+        }
+    }
+
+    @Override
+    public int getNumVertices() {
+        return forward.getNumVertices();
+    }
+
+    @Override
+    public int getNumEdges() {
+        return sources.length;
+    }
+
+    @Override
+    public boolean isDirected() {
+        return forward.isDirected();
+    }
+
+    @Override
+    public int getOutDegree(int vertex) {
+        return inOffsets[vertex + 1] - inOffsets[vertex];
+    }
+
+    @Override
+    public int getTarget(int vertex, int index) {
+        return sources[inOffsets[vertex] + index];
+    }
+
+    @Override
+    public int getWeight(int vertex, int index) {
+        return weights[inOffsets[vertex] + index];
+    }
+
+    @Override
+    public int getNodeWeight(int vertex) {
+        return forward.getNodeWeight(vertex);
+    }
+
+    @Override
+    public boolean hasNodeWeights() {
+        return forward.hasNodeWeights();
+    }
+
+    // reversing again gives back the forward graph
+    @Override
+    public CSRGraph transpose() {
+        return forward;
+    }
+
+    // first in-edge slot of vertex (inclusive)
+    public int getEdgeStart(int vertex) {
+        return inOffsets[vertex];
+    }
+
+    // last in-edge slot of vertex (exclusive)
+    public int getEdgeEnd(int vertex) {
+        return inOffsets[vertex + 1];
+    }
+
+    // source of the in-edge in slot, i.e. the target in the reversed graph
+    public int getTargetAt(int slot) {
+        return sources[slot];
+    }
+
+    public int getWeightAt(int slot) {
+        return weights[slot];
+    }
+}
@@ -0,0 +1,144 @@
+package graph.scc;
+
+import graph.model.CSRGraph;
+import graph.model.Graph;
+import graph.model.GraphView;
+import util.Metrics;
+import java.io.PrintStream;
+import java.util.*;
+
+// shared result storage for the SCC algorithms: component ids plus
+// vertices grouped per component in flat int arrays
+abstract class AbstractSCCFinder implements SCCFinder {
+    protected final GraphView graph;
+    protected final Metrics metrics;
+    protected int[] componentId;
+    // vertices grouped by component, component c is members[componentStart[c] .. componentStart[c+1])
+    protected int[] members;
+    protected int[] componentStart;
+    protected int numComponents;
+    private List<List<Integer>> sccs;
+    // set by restore(), cleared by the next run
+    private boolean restored;
+
+    protected AbstractSCCFinder(GraphView graph, String name) {
+        this.graph = graph;
+        this.metrics = new Metrics(name);
+    }
+
+    // drop results of a previous run
+    protected void reset() {
+        sccs = null;
+        restored = false;
+    }
+
+    // build condensation graph, keeping the first edge weight of each component pair
+    @Override
+    public Graph buildCondensationGraph() {
+        return buildCondensation(CondensationBuilder.WeightMode.FIRST).toGraph();
+    }
+
+    @Override
+    public CSRGraph buildCondensation(CondensationBuilder.WeightMode mode) {
+        if (componentId == null) {
+            throw new IllegalStateException("Must call findSCCs() first");
+        }
+        return CondensationBuilder.build(graph, componentId, numComponents, mode);
+    }
+
+    // boxed view of the components, built on first request
+    @Override
+    public List<List<Integer>> getSCCs() {
+        if (sccs == null && componentId != null) {
+            sccs = new ArrayList<>(numComponents);
+            for (int c = 0; c < numComponents; c++) {
+                List<Integer> component = new ArrayList<>(componentStart[c + 1] - componentStart[c]);
+                for (int k = componentStart[c]; k < componentStart[c + 1]; k++) {
+                    component.add(members[k]);
+                }
+                sccs.add(component);
+            }
+        }
+        return sccs;
+    }
+
+    @Override
+    public int[] getComponentIds() {
+        return componentId;
+    }
+
+    @Override
+    public int getNumComponents() {
+        return numComponents;
+    }
+
+    // vertices grouped by component id, each group in the order it was found
+    public int[] getMembers() {
+        return members;
+    }
+
+    // adopt a result found earlier (e.g. read from a ResultCache) instead of
+    // running findSCCs(); members must be grouped as getMembers() returns them
+    public void restore(int[] componentId, int[] members) {
+        int n = graph.getNumVertices();
+        if (componentId.length != n || members.length != n) {
+            throw new IllegalArgumentException("Expected results for " + n + " vertices");
+        }
+        int count = 0;
+        for (int id : componentId) {
+            if (id < 0 || id >= n) {
+                throw new IllegalArgumentException("Invalid component id " + id);
+            }
+            count = Math.max(count, id + 1);
+        }
+        int[] start = new int[count + 1];
+        for (int id : componentId) {
+            start[id + 1]++;
+        }
+        // ids must be exactly 0..count-1, with no empty component in between
+        for (int c = 0; c < count; c++) {
+            if (start[c + 1] == 0) {
+                throw new IllegalArgumentException("Component ids are not contiguous: " + c + " is unused");
+            }
+            start[c + 1] += start[c];
+        }
+        // members must list every vertex once, grouped by id
+        boolean[] listed = new boolean[n];
+        for (int c = 0; c < count; c++) {
+            for (int k = start[c]; k < start[c + 1]; k++) {
+                int v = members[k];
+                if (v < 0 || v >= n || listed[v] || componentId[v] != c) {
+                    throw new IllegalArgumentException("Members are not grouped by component");
+                }
+                listed[v] = true;
+            }
+        }
+        reset();
+        this.componentId = componentId;
+        this.members = members;
+        this.componentStart = start;
+        this.numComponents = count;
+        this.restored = true;
+    }
+
+    public Metrics getMetrics() {
+        return metrics;
+    }
+
+    @Override
+    public void printSCCs() {
+        printSCCs(System.out);
+    }
+
+    @Override
+    public void printSCCs(PrintStream out) {
+        out.println("=== Strongly Connected Components ===");
+        out.println("Total components: " + numComponents);
+        List<List<Integer>> components = getSCCs();
+        for (int i = 0; i < components.size(); i++) {
+            List<Integer> scc = components.get(i);
+            out.printf("SCC %d (size %d): %s\n", i, scc.size(), scc);
+        }
+        out.println(restored ? metrics.getName() + ": restored from cache" : metrics);
+    }
+}
@@ -0,0 +1,736 @@
+package graph.scc;
+
+import graph.model.CSRGraph;
+import graph.model.GraphView;
+import util.IntList;
+import util.IntStack;
+import util.Metrics;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+// strongly connected components of a graph that changes one edge at a time.
+// The condensation is kept live, with edge multiplicities, together with a
+// topological order of its components (Pearce-Kelly style, in slots that may
+// contain holes):
+// - insert u->v between components: if v's component sits after u's, nothing
+//   moves; otherwise a search bounded by the two slots either reorders the
+//   affected components or, if it closes a cycle, merges every component on
+//   a path from v back to u into one
+// - delete u->v inside a component: SCCs are recomputed for that component's
+//   vertices only, and the pieces take its place in the order
+// - delete u->v between components: only the edge multiplicity changes
+public class IncrementalSCC {
+    private static final int EMPTY = -1;
+
+    private final int numVertices;
+    private final Metrics metrics;
+    // vertex-level adjacency, parallel edges kept
+    private final IntList[] out;
+    private final IntList[] in;
+    private final int[] comp;
+    // task durations, null on edge-weighted graphs
+    private final int[] nodeWeights;
+
+    // per component id; ids of merged components are recycled
+    private IntList[] members;
+    private IntIntMap[] succ;
+    private IntIntMap[] pred;
+    private int[] slotOf;
+    private final IntStack freeIds = new IntStack();
+    private int nextId;
+    private int numComponents;
+
+    // topological order: compAt[slot] is a component or EMPTY
+    private int[] compAt;
+    private int slotCount;
+
+    // search scratch, stamped per operation
+    private int[] forwardMark;
+    private int[] backwardMark;
+    private int stamp;
+    private final IntList forwardList = new IntList();
+    private final IntList backwardList = new IntList();
+    private final IntStack searchStack = new IntStack();
+    // vertex -> local index during a split
+    private final int[] localIndex;
+
+    public IncrementalSCC(GraphView graph) {
+        numVertices = graph.getNumVertices();
+        metrics = new Metrics("Incremental SCC");
+        out = new IntList[numVertices];
+        in = new IntList[numVertices];
+        comp = new int[numVertices];
+        localIndex = new int[numVertices];
+        nodeWeights = CSRGraph.nodeWeightsOf(graph);
+
+        int[] inDegree = new int[numVertices];
+        for (int u = 0; u < numVertices; u++) {
+            out[u] = new IntList(graph.getOutDegree(u));
+            for (int i = 0; i < graph.getOutDegree(u); i++) {
+                inDegree[graph.getTarget(u, i)]++;
+            }
+        }
+        for (int v = 0; v < numVertices; v++) {
+            in[v] = new IntList(inDegree[v]);
+        }
+        for (int u = 0; u < numVertices; u++) {
+            for (int i = 0; i < graph.getOutDegree(u); i++) {
+                link(u, graph.getTarget(u, i));
+            }
+        }
+
+        // Tarjan ids are already topological
+        TarjanSCC tarjan = new TarjanSCC(graph);
+        tarjan.findSCCs();
+        int k = tarjan.getNumComponents();
+        allocateIds(Math.max(4, k));
+        compAt = new int[Math.max(4, 2 * k)];
+        Arrays.fill(compAt, EMPTY);
+        for (int c = 0; c < k; c++) {
+            members[c] = new IntList(tarjan.componentStart[c + 1] - tarjan.componentStart[c]);
+            for (int i = tarjan.componentStart[c]; i < tarjan.componentStart[c + 1]; i++) {
+                members[c].add(tarjan.members[i]);
+            }
+            succ[c] = new IntIntMap();
+            pred[c] = new IntIntMap();
+            slotOf[c] = 2 * c;
+            compAt[2 * c] = c;
+        }
+        System.arraycopy(tarjan.componentId, 0, comp, 0, numVertices);
+        nextId = k;
+        numComponents = k;
+        slotCount = 2 * k;
+
+        for (int u = 0; u < numVertices; u++) {
+            for (int i = 0; i < out[u].size(); i++) {
+                int cu = comp[u];
+                int cv = comp[out[u].get(i)];
+                if (cu != cv) {
+                    succ[cu].add(cv, 1);
+                    pred[cv].add(cu, 1);
+                }
+            }
+        }
+    }
+
+    // insert u->v, merging components if it closes a cycle
+    public void addEdge(int u, int v) {
+        checkVertex(u);
+        checkVertex(v);
+        link(u, v);
+        metrics.incrementOperations();
+
+        int cu = comp[u];
+        int cv = comp[v];
+        if (cu == cv) {
+            return;
+        }
+        pred[cv].add(cu, 1);
+        if (succ[cu].add(cv, 1) > 1 || slotOf[cu] < slotOf[cv]) {
+            return;
+        }
+
+        // the new condensation edge points backwards in the order
+        stamp++;
+        searchForward(cv, slotOf[cu]);
+        searchBackward(cu, slotOf[cv]);
+
+        if (forwardMark[cu] != stamp) {
+            reorder(EMPTY);
+        } else {
+            reorder(mergeCycle());
+        }
+    }
+
+    // remove one u->v edge; returns false if there is none
+    public boolean removeEdge(int u, int v) {
+        checkVertex(u);
+        checkVertex(v);
+        if (!out[u].removeSwap(v)) {
+            return false;
+        }
+        in[v].removeSwap(u);
+        metrics.incrementOperations();
+
+        int cu = comp[u];
+        int cv = comp[v];
+        if (cu != cv) {
+            if (succ[cu].add(cv, -1) == 0) {
+                succ[cu].remove(cv);
+            }
+            if (pred[cv].add(cu, -1) == 0) {
+                pred[cv].remove(cu);
+            }
+        } else {
+            split(cu);
+        }
+        return true;
+    }
+
+    public int getNumComponents() {
+        return numComponents;
+    }
+
+    public int getNumVertices() {
+        return numVertices;
+    }
+
+    public boolean sameComponent(int u, int v) {
+        checkVertex(u);
+        checkVertex(v);
+        return comp[u] == comp[v];
+    }
+
+    // snapshot of component ids, numbered 0..k-1 in the current topological order
+    public int[] getComponentIds() {
+        int[] rank = compactRanks();
+        int[] ids = new int[numVertices];
+        for (int v = 0; v < numVertices; v++) {
+            ids[v] = rank[comp[v]];
+        }
+        return ids;
+    }
+
+    // components in topological order
+    public List<List<Integer>> getSCCs() {
+        List<List<Integer>> sccs = new ArrayList<>(numComponents);
+        for (int s = 0; s < slotCount; s++) {
+            int c = compAt[s];
+            if (c != EMPTY) {
+                List<Integer> component = new ArrayList<>(members[c].size());
+                for (int i = 0; i < members[c].size(); i++) {
+                    component.add(members[c].get(i));
+                }
+                sccs.add(component);
+            }
+        }
+        return sccs;
+    }
+
+    // snapshot of the live condensation, ids as in getComponentIds();
+    // edge weights are the number of original edges between the two components,
+    // node weights (if the graph has them) the sums over each component
+    public CSRGraph buildCondensation() {
+        int[] rank = compactRanks();
+        CSRGraph.Builder builder = new CSRGraph.Builder(numComponents, true);
+        for (int s = 0; s < slotCount; s++) {
+            int c = compAt[s];
+            if (c == EMPTY) {
+                continue;
+            }
+            IntIntMap map = succ[c];
+            for (int i = 0; i < map.capacity(); i++) {
+                if (map.keyAt(i) != EMPTY) {
+                    builder.addEdge(rank[c], rank[map.keyAt(i)], map.valueAt(i));
+                }
+            }
+        }
+        if (nodeWeights != null) {
+            int[] sums = new int[numComponents];
+            for (int v = 0; v < numVertices; v++) {
+                sums[rank[comp[v]]] = Math.addExact(sums[rank[comp[v]]], nodeWeights[v]);
+            }
+            builder.setNodeWeights(sums);
+        }
+        return builder.build();
+    }
+
+    public Metrics getMetrics() {
+        return metrics;
+    }
+
+    // components reachable from start whose slot is at most bound
+    private void searchForward(int start, int bound) {
+        forwardList.clear();
+        forwardMark[start] = stamp;
+        searchStack.push(start);
+        while (!searchStack.isEmpty()) {
+            int c = searchStack.pop();
+            forwardList.add(c);
+            IntIntMap map = succ[c];
+            for (int i = 0; i < map.capacity(); i++) {
+                int d = map.keyAt(i);
+                if (d != EMPTY && slotOf[d] <= bound && forwardMark[d] != stamp) {
+                    forwardMark[d] = stamp;
+                    searchStack.push(d);
+                }
+            }
+            metrics.incrementOperations();
+        }
+    }
+
+    // components reaching start whose slot is at least bound
+    private void searchBackward(int start, int bound) {
+        backwardList.clear();
+        backwardMark[start] = stamp;
+        searchStack.push(start);
+        while (!searchStack.isEmpty()) {
+            int c = searchStack.pop();
+            backwardList.add(c);
+            IntIntMap map = pred[c];
+            for (int i = 0; i < map.capacity(); i++) {
+                int d = map.keyAt(i);
+                if (d != EMPTY && slotOf[d] >= bound && backwardMark[d] != stamp) {
+                    backwardMark[d] = stamp;
+                    searchStack.push(d);
+                }
+            }
+            metrics.incrementOperations();
+        }
+    }
+
+    // merge the components found by both searches; returns the surviving id
+    private int mergeCycle() {
+        int keep = EMPTY;
+        for (int i = 0; i < forwardList.size(); i++) {
+            int c = forwardList.get(i);
+            if (backwardMark[c] == stamp && (keep == EMPTY || members[c].size() > members[keep].size())) {
+                keep = c;
+            }
+        }
+
+        for (int i = 0; i < forwardList.size(); i++) {
+            int x = forwardList.get(i);
+            if (x == keep || backwardMark[x] != stamp) {
+                continue;
+            }
+
+            for (int k = 0; k < members[x].size(); k++) {
+                comp[members[x].get(k)] = keep;
+            }
+            members[keep].addAll(members[x]);
+
+            // move edges to components outside the cycle over to keep
+            IntIntMap map = succ[x];
+            for (int k = 0; k < map.capacity(); k++) {
+                int y = map.keyAt(k);
+                if (y != EMPTY && !inCycle(y)) {
+                    int count = map.valueAt(k);
+                    pred[y].remove(x);
+                    pred[y].add(keep, count);
+                    succ[keep].add(y, count);
+                }
+            }
+            map = pred[x];
+            for (int k = 0; k < map.capacity(); k++) {
+                int y = map.keyAt(k);
+                if (y != EMPTY && !inCycle(y)) {
+                    int count = map.valueAt(k);
+                    succ[y].remove(x);
+                    succ[y].add(keep, count);
+                    pred[keep].add(y, count);
+                }
+            }
+
+            releaseId(x);
+        }
+
+        // edges between cycle members are now internal
+        for (int i = 0; i < forwardList.size(); i++) {
+            int x = forwardList.get(i);
+            if (inCycle(x)) {
+                succ[keep].remove(x);
+                pred[keep].remove(x);
+            }
+        }
+        return keep;
+    }
+
+    private boolean inCycle(int c) {
+        return forwardMark[c] == stamp && backwardMark[c] == stamp;
+    }
+
+    // give the searched components their slots again: backward-only ones
+    // first, then the merged component (if any), forward-only ones last;
+    // slots of merged-away components become holes
+    private void reorder(int merged) {
+        int forwardCount = forwardList.size();
+        int backwardCount = backwardList.size();
+        int[] slots = new int[forwardCount + backwardCount];
+        int slotTotal = 0;
+        int[] before = new int[backwardCount];
+        int beforeCount = 0;
+        int[] after = new int[forwardCount];
+        int afterCount = 0;
+
+        for (int i = 0; i < backwardCount; i++) {
+            int c = backwardList.get(i);
+            slots[slotTotal++] = slotOf[c];
+            if (!(merged != EMPTY && inCycle(c))) {
+                before[beforeCount++] = c;
+            }
+        }
+        for (int i = 0; i < forwardCount; i++) {
+            int c = forwardList.get(i);
+            if (backwardMark[c] != stamp) {
+                slots[slotTotal++] = slotOf[c];
+                after[afterCount++] = c;
+            }
+        }
+        Arrays.sort(slots, 0, slotTotal);
+        for (int i = 0; i < slotTotal; i++) {
+            compAt[slots[i]] = EMPTY;
+        }
+        sortBySlot(before, beforeCount);
+        sortBySlot(after, afterCount);
+
+        int next = 0;
+        for (int i = 0; i < beforeCount; i++) {
+            place(before[i], slots[next++]);
+        }
+        if (merged != EMPTY) {
+            place(merged, slots[next]);
+        }
+        // forward-only components take the last slots so none moves earlier
+        next = slotTotal - afterCount;
+        for (int i = 0; i < afterCount; i++) {
+            place(after[i], slots[next++]);
+        }
+    }
+
+    // recompute SCCs among the vertices of component c after an internal deletion
+    private void split(int c) {
+        int[] vertices = members[c].toArray();
+        int size = vertices.length;
+        for (int i = 0; i < size; i++) {
+            localIndex[vertices[i]] = i;
+        }
+
+        int[] piece = new int[size];
+        int pieces = localTarjan(c, vertices, piece);
+        metrics.addOperations(size);
+        if (pieces == 1) {
+            return;
+        }
+
+        // detach c from its neighbours, its edges are rebuilt below
+        IntIntMap map = succ[c];
+        for (int k = 0; k < map.capacity(); k++) {
+            if (map.keyAt(k) != EMPTY) {
+                pred[map.keyAt(k)].remove(c);
+            }
+        }
+        map = pred[c];
+        for (int k = 0; k < map.capacity(); k++) {
+            if (map.keyAt(k) != EMPTY) {
+                succ[map.keyAt(k)].remove(c);
+            }
+        }
+        succ[c] = new IntIntMap();
+        pred[c] = new IntIntMap();
+
+        // Tarjan finds sinks first, so piece p goes to topological position pieces-1-p
+        int[] ids = new int[pieces];
+        int[] counts = new int[pieces];
+        for (int i = 0; i < size; i++) {
+            counts[pieces - 1 - piece[i]]++;
+        }
+        stamp++;
+        for (int p = 0; p < pieces; p++) {
+            ids[p] = p == 0 ? c : acquireId();
+            members[ids[p]] = new IntList(counts[p]);
+            if (p > 0) {
+                succ[ids[p]] = new IntIntMap();
+                pred[ids[p]] = new IntIntMap();
+            }
+            forwardMark[ids[p]] = stamp;
+        }
+        for (int i = 0; i < size; i++) {
+            int id = ids[pieces - 1 - piece[i]];
+            comp[vertices[i]] = id;
+            members[id].add(vertices[i]);
+        }
+        numComponents += pieces - 1;
+
+        for (int w : vertices) {
+            int cw = comp[w];
+            for (int i = 0; i < out[w].size(); i++) {
+                int cx = comp[out[w].get(i)];
+                if (cx != cw) {
+                    succ[cw].add(cx, 1);
+                    pred[cx].add(cw, 1);
+                }
+            }
+            for (int i = 0; i < in[w].size(); i++) {
+                int cx = comp[in[w].get(i)];
+                if (forwardMark[cx] != stamp) {
+                    succ[cx].add(cw, 1);
+                    pred[cw].add(cx, 1);
+                }
+            }
+        }
+
+        placePieces(c, ids);
+    }
+
+    // iterative Tarjan on the subgraph induced by component c; returns piece count
+    private int localTarjan(int c, int[] vertices, int[] piece) {
+        int size = vertices.length;
+        int[] index = new int[size];
+        int[] low = new int[size];
+        boolean[] onStack = new boolean[size];
+        int[] callVertex = new int[size];
+        int[] callEdge = new int[size];
+        int[] stack = new int[size];
+        Arrays.fill(index, -1);
+        int stackTop = 0;
+        int counter = 0;
+        int found = 0;
+
+        for (int root = 0; root < size; root++) {
+            if (index[root] != -1) {
+                continue;
+            }
+            int top = 0;
+            callVertex[0] = root;
+            callEdge[0] = 0;
+            index[root] = low[root] = counter++;
+            stack[stackTop++] = root;
+            onStack[root] = true;
+
+            while (top >= 0) {
+                int v = callVertex[top];
+                int vertex = vertices[v];
+                int i = callEdge[top];
+                if (i < out[vertex].size()) {
+                    callEdge[top] = i + 1;
+                    int target = out[vertex].get(i);
+                    if (comp[target] != c) {
+                        continue;
+                    }
+                    int w = localIndex[target];
+                    if (index[w] == -1) {
+                        index[w] = low[w] = counter++;
+                        stack[stackTop++] = w;
+                        onStack[w] = true;
+                        top++;
+                        callVertex[top] = w;
+                        callEdge[top] = 0;
+                    } else if (onStack[w] && index[w] < low[v]) {
+                        low[v] = index[w];
+                    }
+                    continue;
+                }
+
+                if (low[v] == index[v]) {
+                    int w;
+                    do {
+                        w = stack[--stackTop];
+                        onStack[w] = false;
+                        piece[w] = found;
+                    } while (w != v);
+                    found++;
+                }
+                top--;
+                if (top >= 0 && low[v] < low[callVertex[top]]) {
+                    low[callVertex[top]] = low[v];
+                }
+            }
+        }
+        return found;
+    }
+
+    // put the pieces of a split component on consecutive slots where it stood,
+    // relaying out the whole order with fresh gaps if there is no room
+    private void placePieces(int c, int[] ids) {
+        int start = slotOf[c];
+        boolean room = start + ids.length <= compAt.length;
+        for (int i = 1; room && i < ids.length; i++) {
+            room = compAt[start + i] == EMPTY;
+        }
+
+        if (room) {
+            for (int i = 0; i < ids.length; i++) {
+                place(ids[i], start + i);
+            }
+            slotCount = Math.max(slotCount, start + ids.length);
+            return;
+        }
+
+        int[] layout = new int[2 * (numComponents + 1)];
+        Arrays.fill(layout, EMPTY);
+        int next = 0;
+        for (int s = 0; s < slotCount; s++) {
+            int x = compAt[s];
+            if (x == EMPTY) {
+                continue;
+            }
+            if (x == c) {
+                for (int id : ids) {
+                    layout[next] = id;
+                    slotOf[id] = next++;
+                }
+            } else {
+                layout[next] = x;
+                slotOf[x] = next++;
+            }
+            next++;
+        }
+        compAt = layout;
+        slotCount = next;
+        metrics.addOperations(next);
+    }
+
+    private void place(int c, int slot) {
+        compAt[slot] = c;
+        slotOf[c] = slot;
+    }
+
+    private void sortBySlot(int[] comps, int count) {
+        long[] keys = new long[count];
+        for (int i = 0; i < count; i++) {
+            keys[i] = ((long) slotOf[comps[i]] << 32) | comps[i];
+        }
+        Arrays.sort(keys);
+        for (int i = 0; i < count; i++) {
+            comps[i] = (int) keys[i];
+        }
+    }
+
+    private int[] compactRanks() {
+        int[] rank = new int[nextId];
+        int next = 0;
+        for (int s = 0; s < slotCount; s++) {
+            if (compAt[s] != EMPTY) {
+                rank[compAt[s]] = next++;
+            }
+        }
+        return rank;
+    }
+
+    private void allocateIds(int capacity) {
+        members = new IntList[capacity];
+        succ = new IntIntMap[capacity];
+        pred = new IntIntMap[capacity];
+        slotOf = new int[capacity];
+        forwardMark = new int[capacity];
+        backwardMark = new int[capacity];
+    }
+
+    private int acquireId() {
+        if (!freeIds.isEmpty()) {
+            return freeIds.pop();
+        }
+        if (nextId == members.length) {
+            int capacity = nextId * 2;
+            members = Arrays.copyOf(members, capacity);
+            succ = Arrays.copyOf(succ, capacity);
+            pred = Arrays.copyOf(pred, capacity);
+            slotOf = Arrays.copyOf(slotOf, capacity);
+            forwardMark = Arrays.copyOf(forwardMark, capacity);
+            backwardMark = Arrays.copyOf(backwardMark, capacity);
+        }
+        return nextId++;
+    }
+
+    private void releaseId(int c) {
+        members[c] = null;
+        succ[c] = null;
+        pred[c] = null;
+        freeIds.push(c);
+        numComponents--;
+    }
+
+    private void link(int u, int v) {
+        out[u].add(v);
+        in[v].add(u);
+    }
+
+    private void checkVertex(int vertex) {
+        if (vertex < 0 || vertex >= numVertices) {
+            throw new IllegalArgumentException("Invalid vertex index");
+        }
+    }
+
+    // open-addressing map from component id to edge count, linear probing
+    // with backward-shift deletion so no tombstones build up
+    private static class IntIntMap {
+        private int[] keys;
+        private int[] values;
+        private int size;
+
+        IntIntMap() {
+            keys = new int[4];
+            values = new int[4];
+            Arrays.fill(keys, EMPTY);
+        }
+
+        int capacity() {
+            return keys.length;
+        }
+
+        int keyAt(int i) {
+            return keys[i];
+        }
+
+        int valueAt(int i) {
+            return values[i];
+        }
+
+        // add delta to key's value, inserting it with 0 first; returns the new value
+        int add(int key, int delta) {
+            if ((size + 1) * 4 > keys.length * 3) {
+                rehash(keys.length * 2);
+            }
+            int mask = keys.length - 1;
+            int i = mix(key) & mask;
+            while (keys[i] != EMPTY) {
+                if (keys[i] == key) {
+                    values[i] += delta;
+                    return values[i];
+                }
+                i = (i + 1) & mask;
+            }
+            keys[i] = key;
+            values[i] = delta;
+            size++;
+            return delta;
+        }
+
+        void remove(int key) {
+            int mask = keys.length - 1;
+            int i = mix(key) & mask;
+            while (keys[i] != key) {
+                if (keys[i] == EMPTY) {
+                    return;
+                }
+                i = (i + 1) & mask;
+            }
+            // shift following entries back into the gap
+            int gap = i;
+            int j = (i + 1) & mask;
+            while (keys[j] != EMPTY) {
+                int home = mix(keys[j]) & mask;
+                boolean movable = gap <= j ? (home <= gap || home > j) : (home <= gap && home > j);
+                if (movable) {
+                    keys[gap] = keys[j];
+                    values[gap] = values[j];
+                    gap = j;
+                }
+                j = (j + 1) & mask;
+            }
+            keys[gap] = EMPTY;
+            size--;
+        }
+
+        private void rehash(int capacity) {
+            int[] oldKeys = keys;
+            int[] oldValues = values;
+            keys = new int[capacity];
+            values = new int[capacity];
+            Arrays.fill(keys, EMPTY);
+            size = 0;
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldKeys[i] != EMPTY) {
+                    add(oldKeys[i], oldValues[i]);
+                }
+            }
+        }
+
+        private static int mix(int key) {
+            int h = key * 0x9E3779B9;
+            return h ^ (h >>> 16);
+        }
+    }
+}
@@ -1,134 +1,123 @@
 package graph.scc;
 
-import graph.model.Edge;
-import graph.model.Graph;
-import util.Metrics;
-import java.util.*;
+import graph.model.GraphView;
+import java.util.Arrays;
 
-public class KosarajuSCC {
-    private final Graph graph;
-    private final Metrics metrics;
-    private List<List<Integer>> sccs;
-    private int[] componentId;
-    private int numComponents;
+public class KosarajuSCC extends AbstractSCCFinder {
 
-    public KosarajuSCC(Graph graph) {
-        this.graph = graph;
-        this.metrics = new Metrics("Kosaraju SCC");
+    public KosarajuSCC(GraphView graph) {
+        super(graph, "Kosaraju SCC");
     }
 
     // find all strongly connected components
+    @Override
     public void findSCCs() {
         metrics.startTimer();
 
         int n = graph.getNumVertices();
-        sccs = new ArrayList<>();
+        reset();
         componentId = new int[n];
         Arrays.fill(componentId, -1);
 
+        // explicit DFS stack shared by both passes: vertex + next edge index
+        int[] stackVertex = new int[n];
+        int[] stackEdge = new int[n];
+
         boolean[] visited = new boolean[n];
-        Stack<Integer> finishStack = new Stack<>();
+        int[] finishOrder = new int[n];
+        int finished = 0;
 
         // first DFS to record finish order
         for (int i = 0; i < n; i++) {
             if (!visited[i]) {
-                dfs1(i, visited, finishStack);
+                finished = dfs1(i, visited, finishOrder, finished, stackVertex, stackEdge);
             }
         }
 
-        Graph reverseGraph = graph.getReverse();
+        // in-edge index of the graph, built on the first run and reused afterwards
+        GraphView reverseGraph = graph.transpose();
         visited = new boolean[n];
+        members = new int[n];
+        componentStart = new int[n + 1];
         numComponents = 0;
+        int assigned = 0;
 
-        // second DFS on reversed graph
-        while (!finishStack.isEmpty()) {
-            int v = finishStack.pop();
+        // second DFS on reversed graph, in decreasing finish time
+        for (int k = finished - 1; k >= 0; k--) {
+            int v = finishOrder[k];
             if (!visited[v]) {
-                List<Integer> component = new ArrayList<>();
-                dfs2(v, visited, component, reverseGraph);
-
-                for (int vertex : component) {
-                    componentId[vertex] = numComponents;
-                }
-
-                sccs.add(component);
+                componentStart[numComponents] = assigned;
+                assigned = dfs2(v, visited, assigned, reverseGraph, stackVertex, stackEdge);
                 numComponents++;
             }
         }
+        componentStart[numComponents] = assigned;
 
         metrics.stopTimer();
     }
 
-    private void dfs1(int v, boolean[] visited, Stack<Integer> finishStack) {
-        visited[v] = true;
+    // iterative post-order DFS; returns the new number of finished vertices
+    private int dfs1(int root, boolean[] visited, int[] finishOrder, int finished,
+                     int[] stackVertex, int[] stackEdge) {
+        int top = 0;
+        stackVertex[0] = root;
+        stackEdge[0] = 0;
+        visited[root] = true;
         metrics.incrementOperations();
-        for (Edge e : graph.getEdges(v)) {
-            metrics.incrementOperations();
-            if (!visited[e.getTo()]) {
-                dfs1(e.getTo(), visited, finishStack);
-            }
-        }
-        finishStack.push(v);
-    }
 
-    private void dfs2(int v, boolean[] visited, List<Integer> component, Graph g) {
-        visited[v] = true;
-        component.add(v);
-        metrics.incrementOperations();
-        for (Edge e : g.getEdges(v)) {
-            metrics.incrementOperations();
-            if (!visited[e.getTo()]) {
-                dfs2(e.getTo(), visited, component, g);
+        while (top >= 0) {
+            int v = stackVertex[top];
+            int i = stackEdge[top];
+            if (i < graph.getOutDegree(v)) {
+                stackEdge[top] = i + 1;
+                metrics.incrementOperations();
+                int to = graph.getTarget(v, i);
+                if (!visited[to]) {
+                    visited[to] = true;
+                    metrics.incrementOperations();
+                    top++;
+                    stackVertex[top] = to;
+                    stackEdge[top] = 0;
+                }
+            } else {
+                finishOrder[finished++] = v;
+                top--;
             }
         }
+        return finished;
     }
 
-    // build condensation graph
-    public Graph buildCondensationGraph() {
-        if (sccs == null) {
-            throw new IllegalStateException("Must call findSCCs() first");
-        }
-
-        Graph condensation = new Graph(numComponents, true);
-        Set<String> addedEdges = new HashSet<>();
+    // iterative pre-order DFS collecting one component into members
+    private int dfs2(int root, boolean[] visited, int assigned, GraphView g,
+                     int[] stackVertex, int[] stackEdge) {
+        int top = 0;
+        stackVertex[0] = root;
+        stackEdge[0] = 0;
+        visited[root] = true;
+        componentId[root] = numComponents;
+        members[assigned++] = root;
+        metrics.incrementOperations();
 
-        for (int u = 0; u < graph.getNumVertices(); u++) {
-            int compU = componentId[u];
-            for (Edge e : graph.getEdges(u)) {
-                int v = e.getTo();
-                int compV = componentId[v];
-                if (compU != compV) {
-                    String edgeKey = compU + "-" + compV;
-                    if (!addedEdges.contains(edgeKey)) {
-                        condensation.addEdge(compU, compV, e.getWeight());
-                        addedEdges.add(edgeKey);
-                    }
+        while (top >= 0) {
+            int v = stackVertex[top];
+            int i = stackEdge[top];
+            if (i < g.getOutDegree(v)) {
+                stackEdge[top] = i + 1;
+                metrics.incrementOperations();
+                int to = g.getTarget(v, i);
+                if (!visited[to]) {
+                    visited[to] = true;
+                    componentId[to] = numComponents;
+                    members[assigned++] = to;
+                    metrics.incrementOperations();
+                    top++;
+                    stackVertex[top] = to;
+                    stackEdge[top] = 0;
                 }
+            } else {
+                top--;
             }
         }
-
-        return condensation;
-    }
-
-    public List<List<Integer>> getSCCs() {
-        return sccs;
-    }
-
-    public int[] getComponentIds() {
-        return componentId;
-    }
-
-    public int getNumComponents() {
-        return numComponents;
-    }
-
-    public void printSCCs() {
-        System.out.println("=== Strongly Connected Components ===");
-        System.out.println("Total components: " + numComponents);
-        for (int i = 0; i < sccs.size(); i++) {
-            List<Integer> scc = sccs.get(i);
-            System.out.printf("SCC %d (size %d): %s\n", i, scc.size(), scc);
-        }
-        System.out.println(metrics);
+        return assigned;
     }
 }
@@ -0,0 +1,320 @@
+package graph.scc;
+
+import graph.model.GraphView;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.stream.IntStream;
+
+// parallel forward-backward SCC decomposition with trimming:
+// 1. vertices without remaining in- or out-edges are peeled off as
+//    singleton components, level by level in parallel
+// 2. the rest is split recursively: the SCC of a pivot is the intersection of
+//    its forward and backward reachable sets, the three leftover parts are
+//    independent subproblems solved as ForkJoin tasks
+// the partition equals the sequential engines'; ids are renumbered in a
+// deterministic topological order of the condensation, so edges between
+// components always go from a lower to a higher id
+public class ParallelSCC extends AbstractSCCFinder {
+    private static final int DONE = -1;
+    // subproblems smaller than this are solved inside the current task
+    private static final int FORK_THRESHOLD = 2048;
+
+    private final ForkJoinPool pool;
+    private GraphView forward;
+    private GraphView backward;
+    private int[] color;
+    private AtomicInteger nextColor;
+    private AtomicInteger nextComponent;
+
+    public ParallelSCC(GraphView graph) {
+        this(graph, ForkJoinPool.commonPool());
+    }
+
+    public ParallelSCC(GraphView graph, ForkJoinPool pool) {
+        super(graph, "Parallel SCC");
+        this.pool = pool;
+    }
+
+    @Override
+    public void findSCCs() {
+        metrics.startTimer();
+
+        int n = graph.getNumVertices();
+        reset();
+        // read the input as it is; its transpose() is cached by CSRGraph,
+        // Graph and OffHeapCSRGraph, so repeated runs build the reverse once
+        forward = graph;
+        backward = graph.transpose();
+        componentId = new int[n];
+        color = new int[n];
+        nextColor = new AtomicInteger(1);
+        nextComponent = new AtomicInteger();
+
+        int[] remaining = pool.submit(() -> trim(n)).join();
+        if (remaining.length > 0) {
+            ForwardBackwardTask root = new ForwardBackwardTask(remaining, 0);
+            pool.invoke(root);
+            metrics.addOperations(root.operations);
+        }
+
+        numComponents = nextComponent.get();
+        renumberTopologically(n);
+
+        forward = null;
+        backward = null;
+        color = null;
+
+        metrics.stopTimer();
+    }
+
+    // peel vertices with no active in- or out-edges; returns vertices left over
+    private int[] trim(int n) {
+        AtomicIntegerArray inDegree = new AtomicIntegerArray(n);
+        AtomicIntegerArray outDegree = new AtomicIntegerArray(n);
+        AtomicIntegerArray trimmed = new AtomicIntegerArray(n);
+
+        IntStream.range(0, n).parallel().forEach(v -> {
+            inDegree.set(v, backward.getOutDegree(v));
+            outDegree.set(v, forward.getOutDegree(v));
+        });
+
+        int[] frontier = IntStream.range(0, n).parallel()
+                .filter(v -> (inDegree.get(v) == 0 || outDegree.get(v) == 0)
+                        && trimmed.compareAndSet(v, 0, 1))
+                .toArray();
+
+        // operations are summed per level here, not counted by the workers
+        long ops = 0;
+        while (frontier.length > 0) {
+            ops += Arrays.stream(frontier).parallel()
+                    .mapToLong(v -> 1L + forward.getOutDegree(v) + backward.getOutDegree(v)).sum();
+            frontier = Arrays.stream(frontier).parallel().flatMap(v -> {
+                color[v] = DONE;
+                componentId[v] = nextComponent.getAndIncrement();
+
+                IntStream.Builder next = IntStream.builder();
+                for (int i = 0, degree = forward.getOutDegree(v); i < degree; i++) {
+                    int w = forward.getTarget(v, i);
+                    if (inDegree.decrementAndGet(w) == 0 && trimmed.compareAndSet(w, 0, 1)) {
+                        next.add(w);
+                    }
+                }
+                for (int i = 0, degree = backward.getOutDegree(v); i < degree; i++) {
+                    int w = backward.getTarget(v, i);
+                    if (outDegree.decrementAndGet(w) == 0 && trimmed.compareAndSet(w, 0, 1)) {
+                        next.add(w);
+                    }
+                }
+                return next.build();
+            }).toArray();
+        }
+        metrics.addOperations(ops);
+
+        return IntStream.range(0, n).parallel().filter(v -> trimmed.get(v) == 0).toArray();
+    }
+
+    // one forward-backward subproblem: all vertices currently painted `color`
+    private class ForwardBackwardTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final int[] vertices;
+        private final int subColor;
+        // operations of this task and the tasks it forked, valid after join
+        long operations;
+
+        ForwardBackwardTask(int[] vertices, int subColor) {
+            this.vertices = vertices;
+            this.subColor = subColor;
+        }
+
+        @Override
+        protected void compute() {
+            List<ForwardBackwardTask> forked = new ArrayList<>();
+            ArrayDeque<ForwardBackwardTask> local = new ArrayDeque<>();
+            local.push(this);
+            long ops = 0;
+
+            while (!local.isEmpty()) {
+                ForwardBackwardTask task = local.pop();
+                List<ForwardBackwardTask> parts = new ArrayList<>(3);
+                ops += split(task.vertices, task.subColor, parts);
+                for (ForwardBackwardTask sub : parts) {
+                    if (sub.vertices.length >= FORK_THRESHOLD) {
+                        sub.fork();
+                        forked.add(sub);
+                    } else {
+                        local.push(sub);
+                    }
+                }
+            }
+
+            for (ForwardBackwardTask sub : forked) {
+                sub.join();
+                ops += sub.operations;
+            }
+            operations = ops;
+        }
+    }
+
+    // extract the pivot's SCC, add the non-empty leftover parts to parts and
+    // return the number of operations
+    private long split(int[] vertices, int c, List<ForwardBackwardTask> parts) {
+        int pivot = vertices[0];
+        if (vertices.length == 1) {
+            color[pivot] = DONE;
+            componentId[pivot] = nextComponent.getAndIncrement();
+            return 1;
+        }
+
+        int forwardColor = nextColor.getAndIncrement();
+        int backwardColor = nextColor.getAndIncrement();
+        int[] queue = new int[vertices.length];
+        long ops = 0;
+
+        // forward reachability inside the subproblem
+        int head = 0;
+        int tail = 0;
+        color[pivot] = forwardColor;
+        queue[tail++] = pivot;
+        while (head < tail) {
+            int v = queue[head++];
+            for (int i = 0, degree = forward.getOutDegree(v); i < degree; i++) {
+                int w = forward.getTarget(v, i);
+                if (color[w] == c) {
+                    color[w] = forwardColor;
+                    queue[tail++] = w;
+                }
+            }
+            ops += 1 + forward.getOutDegree(v);
+        }
+
+        // backward reachability; vertices reached both ways form the SCC
+        int component = nextComponent.getAndIncrement();
+        head = 0;
+        tail = 0;
+        color[pivot] = DONE;
+        componentId[pivot] = component;
+        queue[tail++] = pivot;
+        while (head < tail) {
+            int v = queue[head++];
+            for (int i = 0, degree = backward.getOutDegree(v); i < degree; i++) {
+                int w = backward.getTarget(v, i);
+                if (color[w] == forwardColor) {
+                    color[w] = DONE;
+                    componentId[w] = component;
+                    queue[tail++] = w;
+                } else if (color[w] == c) {
+                    color[w] = backwardColor;
+                    queue[tail++] = w;
+                }
+            }
+            ops += 1 + backward.getOutDegree(v);
+        }
+
+        int forwardCount = 0;
+        int backwardCount = 0;
+        int restCount = 0;
+        for (int v : vertices) {
+            int vc = color[v];
+            if (vc == forwardColor) forwardCount++;
+            else if (vc == backwardColor) backwardCount++;
+            else if (vc == c) restCount++;
+        }
+
+        int[] forwardOnly = new int[forwardCount];
+        int[] backwardOnly = new int[backwardCount];
+        int[] rest = new int[restCount];
+        forwardCount = backwardCount = restCount = 0;
+        for (int v : vertices) {
+            int vc = color[v];
+            if (vc == forwardColor) forwardOnly[forwardCount++] = v;
+            else if (vc == backwardColor) backwardOnly[backwardCount++] = v;
+            else if (vc == c) rest[restCount++] = v;
+        }
+
+        if (forwardOnly.length > 0) parts.add(new ForwardBackwardTask(forwardOnly, forwardColor));
+        if (backwardOnly.length > 0) parts.add(new ForwardBackwardTask(backwardOnly, backwardColor));
+        if (rest.length > 0) parts.add(new ForwardBackwardTask(rest, c));
+        return ops;
+    }
+
+    // replace the race-dependent ids with a deterministic topological numbering:
+    // canonical ids by smallest member, then Kahn's order over the condensation
+    private void renumberTopologically(int n) {
+        int[] canonical = new int[numComponents];
+        Arrays.fill(canonical, -1);
+        int next = 0;
+        for (int v = 0; v < n; v++) {
+            int raw = componentId[v];
+            if (canonical[raw] == -1) {
+                canonical[raw] = next++;
+            }
+            componentId[v] = canonical[raw];
+        }
+
+        int[] start = groupMembers(n);
+
+        int[] inDegree = new int[numComponents];
+        for (int u = 0; u < n; u++) {
+            for (int i = 0, degree = forward.getOutDegree(u); i < degree; i++) {
+                int cv = componentId[forward.getTarget(u, i)];
+                if (cv != componentId[u]) {
+                    inDegree[cv]++;
+                }
+            }
+        }
+
+        int[] order = new int[numComponents];
+        int head = 0;
+        int tail = 0;
+        for (int c = 0; c < numComponents; c++) {
+            if (inDegree[c] == 0) {
+                order[tail++] = c;
+            }
+        }
+        while (head < tail) {
+            int c = order[head++];
+            for (int k = start[c]; k < start[c + 1]; k++) {
+                int u = members[k];
+                for (int i = 0, degree = forward.getOutDegree(u); i < degree; i++) {
+                    int cv = componentId[forward.getTarget(u, i)];
+                    if (cv != c && --inDegree[cv] == 0) {
+                        order[tail++] = cv;
+                    }
+                }
+            }
+        }
+
+        int[] rank = new int[numComponents];
+        for (int i = 0; i < numComponents; i++) {
+            rank[order[i]] = i;
+        }
+        for (int v = 0; v < n; v++) {
+            componentId[v] = rank[componentId[v]];
+        }
+        componentStart = groupMembers(n);
+    }
+
+    // counting sort of vertices by component id into members; returns block starts
+    private int[] groupMembers(int n) {
+        int[] start = new int[numComponents + 1];
+        for (int v = 0; v < n; v++) {
+            start[componentId[v] + 1]++;
+        }
+        for (int c = 0; c < numComponents; c++) {
+            start[c + 1] += start[c];
+        }
+        int[] cursor = Arrays.copyOf(start, numComponents);
+        members = new int[n];
+        for (int v = 0; v < n; v++) {
+            members[cursor[componentId[v]]++] = v;
+        }
+        return start;
+    }
+}
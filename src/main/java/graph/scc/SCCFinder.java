@@ -0,0 +1,30 @@
+package graph.scc;
+
+import graph.model.CSRGraph;
+import graph.model.Graph;
+import java.io.PrintStream;
+import java.util.List;
+
+// common surface of the strongly connected component algorithms
+public interface SCCFinder {
+
+    // find all strongly connected components
+    void findSCCs();
+
+    List<List<Integer>> getSCCs();
+
+    // component id of every vertex, ids are 0..getNumComponents()-1
+    int[] getComponentIds();
+
+    int getNumComponents();
+
+    // DAG with one vertex per component
+    Graph buildCondensationGraph();
+
+    // condensation in CSR form, parallel edges merged according to mode
+    CSRGraph buildCondensation(CondensationBuilder.WeightMode mode);
+
+    void printSCCs();
+
+    void printSCCs(PrintStream out);
+}
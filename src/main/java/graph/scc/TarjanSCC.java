@@ -0,0 +1,118 @@
+package graph.scc;
+
+import graph.model.GraphView;
+import java.util.Arrays;
+
+// single-pass Tarjan SCC with an explicit call stack; needs no reversed graph.
+// components are numbered in topological order of the condensation,
+// the same convention KosarajuSCC follows
+public class TarjanSCC extends AbstractSCCFinder {
+
+    public TarjanSCC(GraphView graph) {
+        super(graph, "Tarjan SCC");
+    }
+
+    @Override
+    public void findSCCs() {
+        metrics.startTimer();
+
+        int n = graph.getNumVertices();
+        reset();
+        componentId = new int[n];
+        members = new int[n];
+
+        int[] index = new int[n];
+        int[] low = new int[n];
+        boolean[] onStack = new boolean[n];
+        Arrays.fill(index, -1);
+
+        // call stack (vertex + next edge index) and Tarjan's component stack
+        int[] callVertex = new int[n];
+        int[] callEdge = new int[n];
+        int[] stack = new int[n];
+        int stackTop = 0;
+
+        // components are found sink-first, so blocks are filled from the back
+        int[] blockStart = new int[n];
+        int tail = n;
+        int found = 0;
+        int counter = 0;
+
+        for (int root = 0; root < n; root++) {
+            if (index[root] != -1) {
+                continue;
+            }
+
+            int top = 0;
+            callVertex[0] = root;
+            callEdge[0] = 0;
+            index[root] = low[root] = counter++;
+            stack[stackTop++] = root;
+            onStack[root] = true;
+            metrics.incrementOperations();
+
+            while (top >= 0) {
+                int v = callVertex[top];
+                int i = callEdge[top];
+                if (i < graph.getOutDegree(v)) {
+                    callEdge[top] = i + 1;
+                    metrics.incrementOperations();
+                    int w = graph.getTarget(v, i);
+                    if (index[w] == -1) {
+                        index[w] = low[w] = counter++;
+                        stack[stackTop++] = w;
+                        onStack[w] = true;
+                        metrics.incrementOperations();
+                        top++;
+                        callVertex[top] = w;
+                        callEdge[top] = 0;
+                    } else if (onStack[w] && index[w] < low[v]) {
+                        low[v] = index[w];
+                    }
+                    continue;
+                }
+
+                if (low[v] == index[v]) {
+                    // v is a root: its component is stack[pos .. stackTop)
+                    int pos = stackTop;
+                    do {
+                        pos--;
+                    } while (stack[pos] != v);
+
+                    int size = stackTop - pos;
+                    tail -= size;
+                    blockStart[found] = tail;
+                    for (int k = 0; k < size; k++) {
+                        int w = stack[pos + k];
+                        onStack[w] = false;
+                        componentId[w] = found;
+                        members[tail + k] = w;
+                    }
+                    stackTop = pos;
+                    found++;
+                }
+
+                top--;
+                if (top >= 0) {
+                    int parent = callVertex[top];
+                    if (low[v] < low[parent]) {
+                        low[parent] = low[v];
+                    }
+                }
+            }
+        }
+
+        // renumber so the first component found (a sink) gets the last id
+        numComponents = found;
+        for (int v = 0; v < n; v++) {
+            componentId[v] = found - 1 - componentId[v];
+        }
+        componentStart = new int[found + 1];
+        for (int c = 0; c < found; c++) {
+            componentStart[c] = blockStart[found - 1 - c];
+        }
+        componentStart[found] = n;
+
+        metrics.stopTimer();
+    }
+}
@@ -0,0 +1,49 @@
+package graph.schedule;
+
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.IntConsumer;
+
+// how DAGExecutor runs the members of a strongly connected component with
+// more than one task (or a self-loop), where no dependency order exists.
+// runMember must be called once per member and time it; it rethrows the
+// task's exception
+@FunctionalInterface
+public interface CyclePolicy {
+
+    void run(int[] members, IntConsumer runMember);
+
+    // members one after another, by vertex id
+    CyclePolicy SEQUENTIAL = (members, runMember) -> {
+        for (int v : members) {
+            runMember.accept(v);
+        }
+    };
+
+    // all members at once on the executor's pool
+    CyclePolicy PARALLEL = (members, runMember) -> {
+        ForkJoinTask<?>[] tasks = new ForkJoinTask<?>[members.length];
+        for (int i = 0; i < members.length; i++) {
+            int v = members[i];
+            tasks[i] = ForkJoinTask.adapt(() -> runMember.accept(v));
+        }
+        ForkJoinTask.invokeAll(tasks);
+    };
+
+    // treat a cycle as an error: the component fails without running
+    CyclePolicy REJECT = (members, runMember) -> {
+        throw new IllegalStateException("Cyclic dependency between " + members.length + " tasks");
+    };
+
+    // members in sequence, the whole cycle repeated a fixed number of
+    // rounds (e.g. to let a feedback loop settle)
+    static CyclePolicy repeat(int rounds) {
+        if (rounds < 1) {
+            throw new IllegalArgumentException("Need at least one round");
+        }
+        return (members, runMember) -> {
+            for (int r = 0; r < rounds; r++) {
+                SEQUENTIAL.run(members, runMember);
+            }
+        };
+    }
+}
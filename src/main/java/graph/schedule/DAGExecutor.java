@@ -0,0 +1,276 @@
+package graph.schedule;
+
+import graph.model.CSRGraph;
+import graph.model.GraphView;
+import graph.scc.CondensationBuilder;
+import graph.scc.TarjanSCC;
+import util.Metrics;
+import java.io.PrintStream;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.IntConsumer;
+
+// runs one callback per vertex in dependency order on a ForkJoinPool. The
+// graph is condensed once in the constructor; each execute() copies the
+// component in-degrees into an AtomicIntegerArray, and a finished component
+// decrements its successors and forks those that reach zero onto the
+// worker's own deque, so there is no shared queue or lock. Members of a
+// cyclic component run as the CyclePolicy says. After the first failure
+// remaining tasks are skipped and execute() throws
+public class DAGExecutor {
+    private final ForkJoinPool pool;
+    private final CyclePolicy policy;
+    private final Metrics metrics;
+    private final int numVertices;
+    private final int numComponents;
+    private final int[] componentId;
+    // vertices grouped by component, sorted by id within a component
+    private final int[] members;
+    private final int[] componentStart;
+    private final boolean[] cyclic;
+    private final CSRGraph condensation;
+    private final int[] inDegree;
+
+    public DAGExecutor(GraphView graph) {
+        this(graph, ForkJoinPool.commonPool(), CyclePolicy.SEQUENTIAL);
+    }
+
+    public DAGExecutor(GraphView graph, CyclePolicy policy) {
+        this(graph, ForkJoinPool.commonPool(), policy);
+    }
+
+    public DAGExecutor(GraphView graph, ForkJoinPool pool, CyclePolicy policy) {
+        this.pool = pool;
+        this.policy = policy;
+        this.metrics = new Metrics("DAG Executor");
+
+        TarjanSCC scc = new TarjanSCC(graph);
+        scc.findSCCs();
+        numVertices = graph.getNumVertices();
+        numComponents = scc.getNumComponents();
+        componentId = scc.getComponentIds();
+        condensation = scc.buildCondensation(CondensationBuilder.WeightMode.FIRST);
+
+        // counting sort of the vertices by component
+        componentStart = new int[numComponents + 1];
+        for (int v = 0; v < numVertices; v++) {
+            componentStart[componentId[v] + 1]++;
+        }
+        for (int c = 0; c < numComponents; c++) {
+            componentStart[c + 1] += componentStart[c];
+        }
+        members = new int[numVertices];
+        int[] cursor = Arrays.copyOf(componentStart, numComponents);
+        for (int v = 0; v < numVertices; v++) {
+            members[cursor[componentId[v]]++] = v;
+        }
+
+        // a single vertex is cyclic only with a self-loop
+        cyclic = new boolean[numComponents];
+        for (int u = 0; u < numVertices; u++) {
+            int c = componentId[u];
+            if (componentStart[c + 1] - componentStart[c] > 1) {
+                cyclic[c] = true;
+                continue;
+            }
+            int degree = graph.getOutDegree(u);
+            for (int i = 0; i < degree && !cyclic[c]; i++) {
+                cyclic[c] = graph.getTarget(u, i) == u;
+            }
+        }
+
+        inDegree = new int[numComponents];
+        for (int c = 0; c < numComponents; c++) {
+            for (int e = condensation.getEdgeStart(c); e < condensation.getEdgeEnd(c); e++) {
+                inDegree[condensation.getTargetAt(e)]++;
+            }
+        }
+    }
+
+    public int getNumComponents() {
+        return numComponents;
+    }
+
+    public int getNumCyclicComponents() {
+        int count = 0;
+        for (boolean c : cyclic) {
+            if (c) count++;
+        }
+        return count;
+    }
+
+    // run task(v) for every vertex v, each after all its predecessors
+    public Report execute(IntConsumer task) {
+        Run run = new Run(task);
+        metrics.startTimer();
+        long begin = System.nanoTime();
+        for (int c = 0; c < numComponents; c++) {
+            if (inDegree[c] == 0) {
+                run.readyNanos[c] = System.nanoTime();
+                pool.execute(run.component(c));
+            }
+        }
+        try {
+            // managed, so a caller on one of the pool's own threads gets a spare worker
+            ForkJoinPool.managedBlock(new ForkJoinPool.ManagedBlocker() {
+                @Override
+                public boolean block() throws InterruptedException {
+                    run.done.await();
+                    return true;
+                }
+
+                @Override
+                public boolean isReleasable() {
+                    return run.done.getCount() == 0;
+                }
+            });
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            run.failure.compareAndSet(null, new CancellationException("Interrupted"));
+            throw new CancellationException("Execution interrupted");
+        }
+        long wallNanos = System.nanoTime() - begin;
+        metrics.stopTimer();
+
+        Throwable failure = run.failure.get();
+        if (failure != null) {
+            throw new CompletionException("Task " + run.failedTask + " failed", failure);
+        }
+        long[] latency = new long[numVertices];
+        for (int v = 0; v < numVertices; v++) {
+            latency[v] = run.finishNanos[v] - run.readyNanos[componentId[v]];
+        }
+        return new Report(latency, run.runNanos, wallNanos);
+    }
+
+    // tasks.get(v) is the work of vertex v
+    public Report execute(List<? extends Runnable> tasks) {
+        if (tasks.size() != numVertices) {
+            throw new IllegalArgumentException("Expected " + numVertices
+                    + " tasks, got " + tasks.size());
+        }
+        return execute(v -> tasks.get(v).run());
+    }
+
+    public Metrics getMetrics() {
+        return metrics;
+    }
+
+    // state of one execute() call
+    private final class Run {
+        final IntConsumer task;
+        final AtomicIntegerArray pending = new AtomicIntegerArray(inDegree);
+        final CountDownLatch done = new CountDownLatch(numComponents);
+        final AtomicReference<Throwable> failure = new AtomicReference<>();
+        final long[] readyNanos = new long[numComponents];
+        final long[] finishNanos = new long[numVertices];
+        final long[] runNanos = new long[numVertices];
+        volatile int failedTask = -1;
+
+        Run(IntConsumer task) {
+            this.task = task;
+        }
+
+        ForkJoinTask<?> component(int c) {
+            return ForkJoinTask.adapt(() -> runComponent(c));
+        }
+
+        void runComponent(int c) {
+            try {
+                if (failure.get() == null) {
+                    if (cyclic[c]) {
+                        policy.run(Arrays.copyOfRange(members, componentStart[c], componentStart[c + 1]),
+                                this::runMember);
+                    } else {
+                        runMember(members[componentStart[c]]);
+                    }
+                }
+            } catch (Throwable t) {
+                if (failure.compareAndSet(null, t)) {
+                    failedTask = members[componentStart[c]];
+                }
+            } finally {
+                for (int e = condensation.getEdgeStart(c); e < condensation.getEdgeEnd(c); e++) {
+                    int next = condensation.getTargetAt(e);
+                    if (pending.decrementAndGet(next) == 0) {
+                        readyNanos[next] = System.nanoTime();
+                        component(next).fork();
+                    }
+                }
+                done.countDown();
+            }
+        }
+
+        // a policy may call this several times per member; the run time adds up
+        void runMember(int v) {
+            long start = System.nanoTime();
+            try {
+                task.accept(v);
+            } catch (RuntimeException | Error e) {
+                if (failure.compareAndSet(null, e)) {
+                    failedTask = v;
+                }
+                throw e;
+            } finally {
+                long end = System.nanoTime();
+                runNanos[v] += end - start;
+                finishNanos[v] = end;
+                metrics.incrementOperations();
+            }
+        }
+    }
+
+    // per-task times in nanoseconds indexed by vertex: latency from the
+    // moment the task's component became ready until the task finished,
+    // run time spent inside the callback
+    public static class Report {
+        public final long[] latencyNanos;
+        public final long[] runNanos;
+        public final long wallNanos;
+
+        public Report(long[] latencyNanos, long[] runNanos, long wallNanos) {
+            this.latencyNanos = latencyNanos;
+            this.runNanos = runNanos;
+            this.wallNanos = wallNanos;
+        }
+
+        public int getNumTasks() {
+            return latencyNanos.length;
+        }
+
+        // completed tasks per second of wall time
+        public double getThroughput() {
+            return wallNanos == 0 ? 0 : latencyNanos.length * 1e9 / wallNanos;
+        }
+
+        // latency at quantile q in [0, 1], nearest rank
+        public long getLatencyPercentile(double q) {
+            if (q < 0 || q > 1) {
+                throw new IllegalArgumentException("Quantile must be in [0, 1]");
+            }
+            if (latencyNanos.length == 0) {
+                return 0;
+            }
+            long[] sorted = latencyNanos.clone();
+            Arrays.sort(sorted);
+            int rank = (int) Math.ceil(q * sorted.length) - 1;
+            return sorted[Math.max(0, rank)];
+        }
+
+        public void print(PrintStream out) {
+            out.println("=== DAG Execution ===");
+            out.printf("Tasks: %d, wall time: %.3f ms, throughput: %.0f tasks/s\n",
+                    getNumTasks(), wallNanos / 1_000_000.0, getThroughput());
+            out.printf("Latency p50: %.3f ms, p99: %.3f ms, max: %.3f ms\n",
+                    getLatencyPercentile(0.5) / 1_000_000.0, getLatencyPercentile(0.99) / 1_000_000.0,
+                    getLatencyPercentile(1.0) / 1_000_000.0);
+        }
+    }
+}
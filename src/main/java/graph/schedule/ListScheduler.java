@@ -0,0 +1,241 @@
+package graph.schedule;
+
+import graph.dagsp.CriticalPathMethod;
+import graph.model.GraphView;
+import graph.topo.KahnTopologicalSort;
+import util.IntHeap;
+import util.IntList;
+import util.Metrics;
+import java.io.PrintStream;
+
+// HLFET list scheduling of a task DAG on a fixed number of identical workers.
+// Task v takes duration[v]; an edge u->v with weight w lets v start w time
+// units after u finishes, as in CriticalPathMethod. The priority of a task is
+// its bottom level, the longest path from its start to the end of the DAG.
+// An event loop keeps three heaps:
+// - ready:   released tasks, highest bottom level first
+// - pending: tasks whose predecessors are done but whose lag has not passed
+// - running: dispatched tasks by finish time
+// and hands ready tasks to the lowest idle worker, O((n + m) log n) overall
+public class ListScheduler {
+    private final GraphView graph;
+    private final long[] duration;
+    private final int workers;
+    private final Metrics metrics;
+    private Plan plan;
+
+    // durations from the graph's node weights (0 on edge-weighted graphs)
+    public ListScheduler(GraphView dag, int workers) {
+        this(dag, CriticalPathMethod.nodeDurations(dag), workers);
+    }
+
+    public ListScheduler(GraphView dag, long[] duration, int workers) {
+        if (duration.length != dag.getNumVertices()) {
+            throw new IllegalArgumentException("Expected " + dag.getNumVertices()
+                    + " durations, got " + duration.length);
+        }
+        for (long d : duration) {
+            if (d < 0) {
+                throw new IllegalArgumentException("Negative task duration: " + d);
+            }
+        }
+        if (workers < 1) {
+            throw new IllegalArgumentException("Need at least one worker");
+        }
+        this.graph = dag;
+        this.duration = duration.clone();
+        this.workers = workers;
+        this.metrics = new Metrics("List Scheduler");
+    }
+
+    // return null if graph has cycle
+    public Plan compute() {
+        int[] topoOrder = new KahnTopologicalSort(graph).computeOrder();
+        if (topoOrder == null) {
+            return null;
+        }
+        return compute(topoOrder);
+    }
+
+    // same, over a topological order the caller already has
+    public Plan compute(int[] topoOrder) {
+        metrics.startTimer();
+        int n = graph.getNumVertices();
+
+        // bottom levels by a backward sweep; the largest is the critical path
+        long[] bottomLevel = new long[n];
+        long criticalPath = 0;
+        long totalWork = 0;
+        int[] remaining = new int[n];
+        for (int k = n - 1; k >= 0; k--) {
+            int u = topoOrder[k];
+            long tail = 0;
+            int degree = graph.getOutDegree(u);
+            for (int i = 0; i < degree; i++) {
+                int v = graph.getTarget(u, i);
+                tail = Math.max(tail, graph.getWeight(u, i) + bottomLevel[v]);
+                remaining[v]++;
+                metrics.incrementOperations();
+            }
+            bottomLevel[u] = duration[u] + tail;
+            criticalPath = Math.max(criticalPath, bottomLevel[u]);
+            totalWork += duration[u];
+        }
+
+        long[] start = new long[n];
+        long[] finish = new long[n];
+        long[] releaseTime = new long[n];
+        int[] worker = new int[n];
+        IntList dispatched = new IntList(n);
+
+        IntHeap ready = new IntHeap();
+        IntHeap pending = new IntHeap();
+        IntHeap running = new IntHeap(Math.min(n, workers));
+        IntHeap idle = new IntHeap(Math.min(n, workers));
+        for (int w = 0; w < Math.min(n, workers); w++) {
+            idle.push(w, w);
+        }
+        for (int v = 0; v < n; v++) {
+            if (remaining[v] == 0) {
+                ready.push(v, -bottomLevel[v]);
+            }
+        }
+
+        long time = 0;
+        int done = 0;
+        while (done < n) {
+            while (!pending.isEmpty() && pending.peekKey() <= time) {
+                int v = pending.pop();
+                ready.push(v, -bottomLevel[v]);
+            }
+
+            // dispatch
+            while (!ready.isEmpty() && !idle.isEmpty()) {
+                int task = ready.pop();
+                int w = idle.pop();
+                start[task] = time;
+                finish[task] = time + duration[task];
+                worker[task] = w;
+                running.push(task, finish[task]);
+                dispatched.add(task);
+                metrics.incrementOperations();
+            }
+
+            // advance to the next completion or release
+            long next = running.isEmpty() ? Long.MAX_VALUE : running.peekKey();
+            if (!pending.isEmpty()) {
+                next = Math.min(next, pending.peekKey());
+            }
+            time = next;
+
+            while (!running.isEmpty() && running.peekKey() <= time) {
+                int u = running.pop();
+                idle.push(worker[u], worker[u]);
+                done++;
+                int degree = graph.getOutDegree(u);
+                for (int i = 0; i < degree; i++) {
+                    int v = graph.getTarget(u, i);
+                    releaseTime[v] = Math.max(releaseTime[v], finish[u] + graph.getWeight(u, i));
+                    if (--remaining[v] == 0) {
+                        if (releaseTime[v] <= time) {
+                            ready.push(v, -bottomLevel[v]);
+                        } else {
+                            pending.push(v, releaseTime[v]);
+                        }
+                    }
+                    metrics.incrementOperations();
+                }
+            }
+        }
+
+        long makespan = 0;
+        for (int v = 0; v < n; v++) {
+            makespan = Math.max(makespan, finish[v]);
+        }
+
+        metrics.stopTimer();
+        plan = new Plan(workers, start, finish, worker, bottomLevel, dispatched.toArray(),
+                makespan, criticalPath, totalWork);
+        return plan;
+    }
+
+    public Plan getPlan() {
+        if (plan == null) {
+            throw new IllegalStateException("Must call compute() first");
+        }
+        return plan;
+    }
+
+    public Metrics getMetrics() {
+        return metrics;
+    }
+
+    public void printPlan() {
+        printPlan(System.out);
+    }
+
+    public void printPlan(PrintStream out) {
+        Plan p = getPlan();
+        out.println("=== List Schedule (" + p.workers + " workers) ===");
+        out.println("Makespan: " + p.makespan);
+        out.printf("Lower bound: %d (critical path %d, work %d over %d workers)\n",
+                p.getLowerBound(), p.criticalPath, p.totalWork, p.workers);
+        out.printf("Utilization: %.1f%%\n", 100.0 * p.getUtilization());
+        for (int w = 0; w < p.workers; w++) {
+            out.print("Worker " + w + ":");
+            for (int task : p.getTasks(w)) {
+                out.print(" " + task + "[" + p.start[task] + "-" + p.finish[task] + "]");
+            }
+            out.println();
+        }
+        out.println(metrics);
+    }
+
+    // per-task times and workers indexed by vertex; dispatchOrder lists the
+    // tasks by start time
+    public static class Plan {
+        public final int workers;
+        public final long[] start;
+        public final long[] finish;
+        public final int[] worker;
+        public final long[] bottomLevel;
+        public final int[] dispatchOrder;
+        public final long makespan;
+        public final long criticalPath;
+        public final long totalWork;
+
+        public Plan(int workers, long[] start, long[] finish, int[] worker, long[] bottomLevel,
+                    int[] dispatchOrder, long makespan, long criticalPath, long totalWork) {
+            this.workers = workers;
+            this.start = start;
+            this.finish = finish;
+            this.worker = worker;
+            this.bottomLevel = bottomLevel;
+            this.dispatchOrder = dispatchOrder;
+            this.makespan = makespan;
+            this.criticalPath = criticalPath;
+            this.totalWork = totalWork;
+        }
+
+        // no schedule can beat the critical path or the evenly spread work
+        public long getLowerBound() {
+            return Math.max(criticalPath, (totalWork + workers - 1) / workers);
+        }
+
+        // share of worker time spent on tasks
+        public double getUtilization() {
+            return makespan == 0 ? 1.0 : (double) totalWork / ((double) workers * makespan);
+        }
+
+        // tasks run by one worker, in start order
+        public int[] getTasks(int w) {
+            IntList tasks = new IntList();
+            for (int task : dispatchOrder) {
+                if (worker[task] == w) {
+                    tasks.add(task);
+                }
+            }
+            return tasks.toArray();
+        }
+    }
+}
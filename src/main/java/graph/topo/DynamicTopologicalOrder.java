@@ -0,0 +1,216 @@
+package graph.topo;
+
+import graph.model.GraphView;
+import util.IntList;
+import util.IntStack;
+import util.Metrics;
+import java.util.Arrays;
+import java.util.List;
+
+// topological order of a changing DAG (Pearce-Kelly). An insertion u->v that
+// contradicts the order only reorders the vertices whose positions lie between
+// v and u and that are reachable from v or reach u; everything else keeps its place
+public class DynamicTopologicalOrder {
+    private final int numVertices;
+    private final Metrics metrics;
+    // position of every vertex and vertex at every position
+    private final int[] ord;
+    private final int[] vertexAt;
+    // mutable adjacency in both directions, parallel edges kept
+    private final IntList[] out;
+    private final IntList[] in;
+    // DFS scratch: visited stamp and explicit stack
+    private final int[] visitedMark;
+    private int mark;
+    private final IntStack stack;
+    private final IntList forward;
+    private final IntList backward;
+
+    // seed from Kahn's order of an existing DAG
+    public DynamicTopologicalOrder(GraphView dag) {
+        int[] order = new KahnTopologicalSort(dag).computeOrder();
+        if (order == null) {
+            throw new IllegalArgumentException("Graph contains a cycle");
+        }
+
+        numVertices = dag.getNumVertices();
+        metrics = new Metrics("Dynamic Topological Order");
+        ord = new int[numVertices];
+        vertexAt = new int[numVertices];
+        for (int i = 0; i < numVertices; i++) {
+            vertexAt[i] = order[i];
+            ord[vertexAt[i]] = i;
+        }
+
+        out = new IntList[numVertices];
+        in = new IntList[numVertices];
+        for (int u = 0; u < numVertices; u++) {
+            out[u] = new IntList(dag.getOutDegree(u));
+        }
+        int[] inDegree = new int[numVertices];
+        for (int u = 0; u < numVertices; u++) {
+            for (int i = 0; i < dag.getOutDegree(u); i++) {
+                inDegree[dag.getTarget(u, i)]++;
+            }
+        }
+        for (int v = 0; v < numVertices; v++) {
+            in[v] = new IntList(inDegree[v]);
+        }
+        for (int u = 0; u < numVertices; u++) {
+            for (int i = 0; i < dag.getOutDegree(u); i++) {
+                link(u, dag.getTarget(u, i));
+            }
+        }
+
+        visitedMark = new int[numVertices];
+        stack = new IntStack();
+        forward = new IntList();
+        backward = new IntList();
+    }
+
+    // insert u->v; returns false (and leaves the graph unchanged) if it would close a cycle
+    public boolean addEdge(int u, int v) {
+        checkVertex(u);
+        checkVertex(v);
+        if (u == v) {
+            return false;
+        }
+
+        int lower = ord[v];
+        int upper = ord[u];
+        if (lower < upper) {
+            mark++;
+            // vertices reachable from v that currently sit before u
+            if (!collect(v, upper, true)) {
+                return false;
+            }
+            // vertices reaching u that currently sit after v
+            collect(u, lower, false);
+            reorder();
+        }
+
+        link(u, v);
+        metrics.incrementOperations();
+        return true;
+    }
+
+    // remove one u->v edge; the current order stays valid, so nothing moves
+    public boolean removeEdge(int u, int v) {
+        checkVertex(u);
+        checkVertex(v);
+        if (!out[u].removeSwap(v)) {
+            return false;
+        }
+        in[v].removeSwap(u);
+        metrics.incrementOperations();
+        return true;
+    }
+
+    public boolean hasEdge(int u, int v) {
+        checkVertex(u);
+        checkVertex(v);
+        return out[u].contains(v);
+    }
+
+    // live read-only view of the current order
+    public List<Integer> getOrder() {
+        return IntList.asList(vertexAt);
+    }
+
+    public int getPosition(int vertex) {
+        checkVertex(vertex);
+        return ord[vertex];
+    }
+
+    public int getNumVertices() {
+        return numVertices;
+    }
+
+    public Metrics getMetrics() {
+        return metrics;
+    }
+
+    // DFS inside the affected window: forward from v over positions < bound,
+    // or backward from u over positions > bound. Found vertices land in
+    // forward/backward; returns false if the forward search reaches the bound
+    private boolean collect(int start, int bound, boolean isForward) {
+        IntList found = isForward ? forward : backward;
+        found.clear();
+        stack.clear();
+        stack.push(start);
+        visitedMark[start] = mark;
+
+        while (!stack.isEmpty()) {
+            int w = stack.pop();
+            metrics.incrementOperations();
+            found.add(w);
+
+            IntList adj = isForward ? out[w] : in[w];
+            for (int i = 0; i < adj.size(); i++) {
+                int x = adj.get(i);
+                if (isForward && ord[x] == bound) {
+                    return false;
+                }
+                boolean inWindow = isForward ? ord[x] < bound : ord[x] > bound;
+                if (inWindow && visitedMark[x] != mark) {
+                    visitedMark[x] = mark;
+                    stack.push(x);
+                }
+            }
+        }
+        return true;
+    }
+
+    // give the affected vertices their old positions again, backward set first
+    private void reorder() {
+        int forwardCount = forward.size();
+        int backwardCount = backward.size();
+        sortByPosition(forward);
+        sortByPosition(backward);
+
+        int total = forwardCount + backwardCount;
+        int[] positions = new int[total];
+        for (int i = 0; i < backwardCount; i++) {
+            positions[i] = ord[backward.get(i)];
+        }
+        for (int i = 0; i < forwardCount; i++) {
+            positions[backwardCount + i] = ord[forward.get(i)];
+        }
+        Arrays.sort(positions);
+
+        for (int i = 0; i < backwardCount; i++) {
+            place(backward.get(i), positions[i]);
+        }
+        for (int i = 0; i < forwardCount; i++) {
+            place(forward.get(i), positions[backwardCount + i]);
+        }
+    }
+
+    private void place(int vertex, int position) {
+        ord[vertex] = position;
+        vertexAt[position] = vertex;
+        metrics.incrementOperations();
+    }
+
+    private void sortByPosition(IntList vertices) {
+        long[] keys = new long[vertices.size()];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = ((long) ord[vertices.get(i)] << 32) | vertices.get(i);
+        }
+        Arrays.sort(keys);
+        for (int i = 0; i < keys.length; i++) {
+            vertices.set(i, (int) keys[i]);
+        }
+    }
+
+    private void link(int u, int v) {
+        out[u].add(v);
+        in[v].add(u);
+    }
+
+    private void checkVertex(int vertex) {
+        if (vertex < 0 || vertex >= numVertices) {
+            throw new IllegalArgumentException("Invalid vertex index");
+        }
+    }
+}
@@ -1,37 +1,52 @@
 package graph.topo;
 
-import graph.model.Edge;
-import graph.model.Graph;
+import graph.model.GraphView;
+import util.IntList;
+import util.IntQueue;
 import util.Metrics;
-import java.util.*;
+import java.io.PrintStream;
+import java.util.Arrays;
+import java.util.List;
 
 public class KahnTopologicalSort {
-    private final Graph graph;
+    private final GraphView graph;
     private final Metrics metrics;
-    private List<Integer> topologicalOrder;
+    private int[] topologicalOrder;
+    // set by restore(), cleared by the next computeOrder()
+    private boolean restored;
 
-    public KahnTopologicalSort(Graph graph) {
+    public KahnTopologicalSort(GraphView graph) {
         this.graph = graph;
         this.metrics = new Metrics("Kahn Topological Sort");
     }
 
-    // compute topological order; return null if graph has cycle
+    // compute topological order; return null if graph has cycle.
+    // Boxed view over computeOrder() for existing callers
     public List<Integer> sort() {
+        int[] order = computeOrder();
+        return order == null ? null : IntList.asList(order);
+    }
+
+    // compute topological order as a plain array; return null if graph has cycle.
+    // The array is the caller's own copy
+    public int[] computeOrder() {
         metrics.startTimer();
+        restored = false;
 
         int n = graph.getNumVertices();
         int[] inDegree = new int[n];
 
         // calculate in-degrees
         for (int u = 0; u < n; u++) {
-            for (Edge e : graph.getEdges(u)) {
-                inDegree[e.getTo()]++;
+            int degree = graph.getOutDegree(u);
+            for (int i = 0; i < degree; i++) {
+                inDegree[graph.getTarget(u, i)]++;
                 metrics.incrementOperations();
             }
         }
 
         // collect all with in-degree 0
-        Queue<Integer> queue = new LinkedList<>();
+        IntQueue queue = new IntQueue(n);
         for (int i = 0; i < n; i++) {
             if (inDegree[i] == 0) {
                 queue.offer(i);
@@ -39,16 +54,18 @@ public class KahnTopologicalSort {
             }
         }
 
-        topologicalOrder = new ArrayList<>();
+        int[] order = new int[n];
+        int count = 0;
 
         // process queue
         while (!queue.isEmpty()) {
             int u = queue.poll();
             metrics.incrementOperations();
-            topologicalOrder.add(u);
+            order[count++] = u;
 
-            for (Edge e : graph.getEdges(u)) {
-                int v = e.getTo();
+            int degree = graph.getOutDegree(u);
+            for (int i = 0; i < degree; i++) {
+                int v = graph.getTarget(u, i);
                 inDegree[v]--;
                 metrics.incrementOperations();
                 if (inDegree[v] == 0) {
@@ -60,26 +77,44 @@ public class KahnTopologicalSort {
 
         metrics.stopTimer();
 
-        if (topologicalOrder.size() != n) {
-            System.err.println("Warning: Graph contains a cycle!");
+        if (count != n) {
+            // keep the acyclic prefix for printOrder()
+            topologicalOrder = Arrays.copyOf(order, count);
             return null;
         }
 
-        return topologicalOrder;
+        topologicalOrder = order;
+        return order.clone();
+    }
+
+    // adopt an order computed earlier instead of running computeOrder()
+    public void restore(int[] order) {
+        if (order.length != graph.getNumVertices()) {
+            throw new IllegalArgumentException("Expected an order of " + graph.getNumVertices() + " vertices");
+        }
+        topologicalOrder = order.clone();
+        restored = true;
     }
 
     public boolean isDAG() {
         return topologicalOrder != null &&
-                topologicalOrder.size() == graph.getNumVertices();
+                topologicalOrder.length == graph.getNumVertices();
     }
 
     public void printOrder() {
-        System.out.println("=== Topological Order ===");
+        printOrder(System.out);
+    }
+
+    public void printOrder(PrintStream out) {
+        out.println("=== Topological Order ===");
         if (topologicalOrder == null) {
-            System.out.println("Graph contains a cycle - no topological order exists");
+            out.println("No topological order computed");
+        } else if (!isDAG()) {
+            out.println("Graph contains a cycle - no topological order exists");
+            out.println("Acyclic prefix: " + IntList.asList(topologicalOrder));
         } else {
-            System.out.println("Order: " + topologicalOrder);
+            out.println("Order: " + IntList.asList(topologicalOrder));
         }
-        System.out.println(metrics);
+        out.println(restored ? metrics.getName() + ": restored from cache" : metrics);
     }
 }
@@ -0,0 +1,162 @@
+package graph.topo;
+
+import graph.model.GraphView;
+import util.IntList;
+import util.Metrics;
+import java.io.PrintStream;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.stream.IntStream;
+
+// level-synchronous Kahn: the DAG is peeled one frontier at a time. Every
+// vertex of a frontier has all its predecessors in earlier frontiers, so the
+// out-edges of a whole frontier are processed in parallel with atomic
+// in-degree decrements. Level k holds the vertices whose longest incoming
+// path has k edges, i.e. tasks that can run concurrently once levels < k are done.
+// Within a level vertices are sorted by id, so the order is deterministic
+public class LevelTopologicalSort {
+    // frontiers smaller than this are processed on the calling thread
+    private static final int PARALLEL_THRESHOLD = 1024;
+
+    private final GraphView graph;
+    private final ForkJoinPool pool;
+    private final Metrics metrics;
+    private int[] order;
+    private int[] level;
+    // level k is order[levelStart[k] .. levelStart[k+1])
+    private int[] levelStart;
+    private int numLevels;
+
+    public LevelTopologicalSort(GraphView graph) {
+        this(graph, ForkJoinPool.commonPool());
+    }
+
+    public LevelTopologicalSort(GraphView graph, ForkJoinPool pool) {
+        this.graph = graph;
+        this.pool = pool;
+        this.metrics = new Metrics("Level Topological Sort");
+    }
+
+    // compute topological order; return null if graph has cycle
+    public List<Integer> sort() {
+        metrics.startTimer();
+        boolean acyclic = pool.submit(this::peel).join();
+        metrics.stopTimer();
+
+        if (!acyclic) {
+            order = null;
+            level = null;
+            levelStart = null;
+            numLevels = 0;
+            return null;
+        }
+        return getOrder();
+    }
+
+    private boolean peel() {
+        int n = graph.getNumVertices();
+        AtomicIntegerArray inDegree = new AtomicIntegerArray(n);
+
+        // workers return their counts; only this thread touches metrics
+        long ops = IntStream.range(0, n).parallel().mapToLong(u -> {
+            int degree = graph.getOutDegree(u);
+            for (int i = 0; i < degree; i++) {
+                inDegree.incrementAndGet(graph.getTarget(u, i));
+            }
+            return degree;
+        }).sum();
+
+        order = new int[n];
+        level = new int[n];
+        levelStart = new int[n + 1];
+        numLevels = 0;
+        int placed = 0;
+
+        int[] frontier = IntStream.range(0, n).parallel().filter(v -> inDegree.get(v) == 0).toArray();
+        while (frontier.length > 0) {
+            int depth = numLevels;
+            levelStart[numLevels++] = placed;
+            for (int v : frontier) {
+                order[placed++] = v;
+                level[v] = depth;
+                ops += 1 + graph.getOutDegree(v);
+            }
+
+            IntStream stream = Arrays.stream(frontier);
+            if (frontier.length >= PARALLEL_THRESHOLD) {
+                stream = stream.parallel();
+            }
+            frontier = stream.flatMap(u -> {
+                int degree = graph.getOutDegree(u);
+                IntStream.Builder next = IntStream.builder();
+                for (int i = 0; i < degree; i++) {
+                    int v = graph.getTarget(u, i);
+                    if (inDegree.decrementAndGet(v) == 0) {
+                        next.add(v);
+                    }
+                }
+                return next.build();
+            }).toArray();
+
+            if (frontier.length >= PARALLEL_THRESHOLD) {
+                Arrays.parallelSort(frontier);
+            } else {
+                Arrays.sort(frontier);
+            }
+        }
+        levelStart[numLevels] = placed;
+        metrics.addOperations(ops);
+
+        return placed == n;
+    }
+
+    public boolean isDAG() {
+        return order != null;
+    }
+
+    public List<Integer> getOrder() {
+        if (order == null) {
+            return null;
+        }
+        return IntList.asList(order);
+    }
+
+    // level of every vertex, null before a successful sort
+    public int[] getLevels() {
+        return level == null ? null : level.clone();
+    }
+
+    public int getNumLevels() {
+        return numLevels;
+    }
+
+    // vertices of one level in increasing id order
+    public int[] getLevel(int depth) {
+        if (depth < 0 || depth >= numLevels) {
+            throw new IllegalArgumentException("Invalid level: " + depth);
+        }
+        return Arrays.copyOfRange(order, levelStart[depth], levelStart[depth + 1]);
+    }
+
+    public Metrics getMetrics() {
+        return metrics;
+    }
+
+    public void printOrder() {
+        printOrder(System.out);
+    }
+
+    public void printOrder(PrintStream out) {
+        out.println("=== Topological Levels ===");
+        if (order == null) {
+            out.println("Graph contains a cycle - no topological order exists");
+        } else {
+            for (int k = 0; k < numLevels; k++) {
+                out.println("Level " + k + ": " + Arrays.toString(getLevel(k)));
+            }
+        }
+        out.println(metrics);
+    }
+}
@@ -1,5 +1,6 @@
 package tools;
 
+import graph.model.CSRGraph;
 import org.json.JSONArray;
 import org.json.JSONObject;
 import java.io.FileWriter;
@@ -11,7 +12,13 @@ import java.util.*;
 public class DatasetGenerator {
     private static final Random random = new Random(42); // fixed seed for reproducibility
 
+    // without arguments the nine fixed datasets are written; with arguments
+    // the call is handed to the scalable GraphGenerator CLI
     public static void main(String[] args) {
+        if (args.length > 0) {
+            GraphGenerator.main(args);
+            return;
+        }
         try {
             Files.createDirectories(Paths.get("data/small"));
             Files.createDirectories(Paths.get("data/medium"));
@@ -49,7 +56,7 @@ public class DatasetGenerator {
         json.put("source", 0);
 
         JSONArray edges;
-        Set<String> addedEdges = new HashSet<>();
+        Set<Long> addedEdges = new HashSet<>();
 
         if (allowCycles) {
             edges = generateGraphWithSCCs(numNodes, numEdges, addedEdges);
@@ -65,7 +72,7 @@ public class DatasetGenerator {
         }
     }
 
-    private static JSONArray generateDAG(int numNodes, int numEdges, Set<String> addedEdges) {
+    private static JSONArray generateDAG(int numNodes, int numEdges, Set<Long> addedEdges) {
         JSONArray edges = new JSONArray();
         int edgeCount = 0;
 
@@ -74,7 +81,7 @@ public class DatasetGenerator {
             int v = random.nextInt(numNodes);
 
             if (u < v) { // ensure DAG
-                String edgeKey = u + "-" + v;
+                long edgeKey = ((long) u << 32) | v;
                 if (!addedEdges.contains(edgeKey)) {
                     JSONObject edge = new JSONObject();
                     edge.put("u", u);
@@ -90,7 +97,7 @@ public class DatasetGenerator {
     }
 
     private static JSONArray generateGraphWithSCCs(int numNodes, int numEdges,
-                                                   Set<String> addedEdges) {
+                                                   Set<Long> addedEdges) {
         JSONArray edges = new JSONArray();
 
         int numSCCs = Math.min(numNodes / 3, 4);
@@ -115,7 +122,7 @@ public class DatasetGenerator {
                 for (int i = 0; i < scc.size(); i++) {
                     int u = scc.get(i);
                     int v = scc.get((i + 1) % scc.size());
-                    String edgeKey = u + "-" + v;
+                    long edgeKey = ((long) u << 32) | v;
                     if (!addedEdges.contains(edgeKey)) {
                         JSONObject edge = new JSONObject();
                         edge.put("u", u);
@@ -134,7 +141,7 @@ public class DatasetGenerator {
             int u = random.nextInt(numNodes);
             int v = random.nextInt(numNodes);
             if (u != v) {
-                String edgeKey = u + "-" + v;
+                long edgeKey = ((long) u << 32) | v;
                 if (!addedEdges.contains(edgeKey)) {
                     JSONObject edge = new JSONObject();
                     edge.put("u", u);
@@ -149,6 +156,42 @@ public class DatasetGenerator {
         return edges;
     }
 
+    // in-memory graph with the same shape as the JSON datasets, for benchmarks and tests:
+    // a DAG (edges only from lower to higher ids) or up to four ring-based SCC blocks
+    // plus random edges; duplicate edges are filtered with primitive long keys
+    public static CSRGraph generateGraph(int numNodes, int numEdges, boolean allowCycles, long seed) {
+        Random rnd = new Random(seed);
+        CSRGraph.Builder builder = new CSRGraph.Builder(numNodes, true);
+        long maxEdges = allowCycles ? (long) numNodes * (numNodes - 1) : (long) numNodes * (numNodes - 1) / 2;
+        int target = (int) Math.min(numEdges, maxEdges);
+        Set<Long> added = new HashSet<>(target * 2);
+
+        if (allowCycles) {
+            int numSCCs = Math.max(Math.min(numNodes / 3, 4), 2);
+            int nodesPerSCC = Math.max(numNodes / numSCCs, 1);
+            for (int i = 0; i < numSCCs; i++) {
+                int start = i * nodesPerSCC;
+                int end = (i == numSCCs - 1) ? numNodes : Math.min(numNodes, (i + 1) * nodesPerSCC);
+                for (int u = start; end - start > 1 && u < end && added.size() < target; u++) {
+                    int v = u + 1 < end ? u + 1 : start;
+                    if (added.add(((long) u << 32) | v)) {
+                        builder.addEdge(u, v, rnd.nextInt(10) + 1);
+                    }
+                }
+            }
+        }
+
+        while (added.size() < target) {
+            int u = rnd.nextInt(numNodes);
+            int v = rnd.nextInt(numNodes);
+            boolean allowed = allowCycles ? u != v : u < v;
+            if (allowed && added.add(((long) u << 32) | v)) {
+                builder.addEdge(u, v, rnd.nextInt(10) + 1);
+            }
+        }
+        return builder.build();
+    }
+
     private static void printDatasetSummary() {
         System.out.println("\n=== Dataset Summary ===");
         System.out.println("Category | File                        | Nodes | Type");
@@ -0,0 +1,53 @@
+package tools;
+
+import graph.model.BinaryGraphFormat;
+import graph.model.GraphLoader;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+// converts JSON graph files to the binary format, writing x.json as x.bin
+// usage: GraphConverter [file-or-directory...]  (default: data)
+public class GraphConverter {
+
+    public static void main(String[] args) {
+        String[] inputs = args.length > 0 ? args : new String[]{"data"};
+        try {
+            List<Path> files = new ArrayList<>();
+            for (String input : inputs) {
+                Path path = Paths.get(input);
+                if (Files.isDirectory(path)) {
+                    try (Stream<Path> walk = Files.walk(path)) {
+                        files.addAll(walk.filter(p -> p.toString().endsWith(".json"))
+                                .sorted().collect(Collectors.toList()));
+                    }
+                } else {
+                    files.add(path);
+                }
+            }
+
+            for (Path file : files) {
+                convert(file);
+            }
+        } catch (IOException e) {
+            System.err.println("Error converting graphs: " + e.getMessage());
+        }
+    }
+
+    public static Path convert(Path jsonFile) throws IOException {
+        String name = jsonFile.getFileName().toString();
+        String base = name.endsWith(".json") ? name.substring(0, name.length() - 5) : name;
+        Path target = jsonFile.resolveSibling(base + ".bin");
+
+        GraphLoader.GraphData data = GraphLoader.loadFromFile(jsonFile.toString());
+        BinaryGraphFormat.write(data.graph, data.source, data.weightModel, target);
+        System.out.printf("Converted: %s -> %s (%d vertices, %d edges)\n",
+                jsonFile, target, data.graph.getNumVertices(), data.graph.getNumEdgesLong());
+        return target;
+    }
+}
@@ -0,0 +1,500 @@
+package tools;
+
+import graph.model.BinaryGraphFormat;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+// streaming synthetic graph generator for stress datasets.
+// Every vertex draws its out-edges from its own random stream derived from
+// (seed, vertex), so output is deterministic and can be regenerated vertex by
+// vertex in several passes without keeping any edges in memory.
+//
+// usage: GraphGenerator --n N --out FILE [--m M] [--shape random|layered|powerlaw|grid]
+//        [--sccs K] [--scc-skew S] [--layers L] [--weights uniform|normal|exponential]
+//        [--min-weight A] [--max-weight B] [--node-weights uniform|normal|exponential]
+//        [--min-node-weight A] [--max-node-weight B] [--format json|binary] [--seed S]
+// with --node-weights the graph uses weight model "node": every vertex gets a
+// duration and edges are plain dependencies of weight 0
+public class GraphGenerator {
+
+    public enum Shape {
+        RANDOM, LAYERED, POWERLAW, GRID
+    }
+
+    public enum WeightDistribution {
+        UNIFORM, NORMAL, EXPONENTIAL
+    }
+
+    // receives edges in ascending source order
+    public interface EdgeSink {
+        void edge(int u, int v, int w) throws IOException;
+    }
+
+    private static final double PARETO_ALPHA = 2.1;
+    // keeps node weight streams apart from the edge streams of the same vertex
+    private static final long NODE_SALT = 0x6E6F6465L;
+
+    private final int n;
+    private final long m;
+    private Shape shape = Shape.RANDOM;
+    private int sccs;
+    private double sccSkew = 1.0;
+    private int layers;
+    private WeightDistribution weights = WeightDistribution.UNIFORM;
+    private int minWeight = 1;
+    private int maxWeight = 10;
+    // null for an edge-weighted graph
+    private WeightDistribution nodeWeights;
+    private int minNodeWeight = 1;
+    private int maxNodeWeight = 10;
+    private long seed = 42;
+
+    public GraphGenerator(int n, long m) {
+        if (n <= 0 || m < 0) {
+            throw new IllegalArgumentException("Need n > 0 and m >= 0");
+        }
+        this.n = n;
+        this.m = m;
+    }
+
+    public GraphGenerator shape(Shape shape) {
+        this.shape = shape;
+        return this;
+    }
+
+    // number of strongly connected blocks (random and powerlaw shapes), 0 for a DAG
+    public GraphGenerator sccs(int sccs) {
+        if (sccs < 0 || sccs > n) {
+            throw new IllegalArgumentException("SCC count must be between 0 and n");
+        }
+        this.sccs = sccs;
+        return this;
+    }
+
+    // 1 gives equal block sizes, larger values make early blocks small and late ones large
+    public GraphGenerator sccSkew(double sccSkew) {
+        if (sccSkew <= 0) {
+            throw new IllegalArgumentException("SCC skew must be positive");
+        }
+        this.sccSkew = sccSkew;
+        return this;
+    }
+
+    public GraphGenerator layers(int layers) {
+        this.layers = layers;
+        return this;
+    }
+
+    public GraphGenerator weights(WeightDistribution weights, int minWeight, int maxWeight) {
+        if (minWeight > maxWeight) {
+            throw new IllegalArgumentException("min weight exceeds max weight");
+        }
+        this.weights = weights;
+        this.minWeight = minWeight;
+        this.maxWeight = maxWeight;
+        return this;
+    }
+
+    // weigh vertices instead of edges
+    public GraphGenerator nodeWeights(WeightDistribution nodeWeights, int minNodeWeight, int maxNodeWeight) {
+        if (minNodeWeight > maxNodeWeight) {
+            throw new IllegalArgumentException("min node weight exceeds max node weight");
+        }
+        this.nodeWeights = nodeWeights;
+        this.minNodeWeight = minNodeWeight;
+        this.maxNodeWeight = maxNodeWeight;
+        return this;
+    }
+
+    public GraphGenerator seed(long seed) {
+        this.seed = seed;
+        return this;
+    }
+
+    public int getNumVertices() {
+        return n;
+    }
+
+    public boolean isNodeWeighted() {
+        return nodeWeights != null;
+    }
+
+    // weight of vertex u, drawn from its own stream; 0 for edge-weighted graphs
+    public int nodeWeight(int u) {
+        if (nodeWeights == null) {
+            return 0;
+        }
+        SplittableRandom rnd = new SplittableRandom(seed ^ (u * 0x9E3779B97F4A7C15L) ^ NODE_SALT);
+        return draw(rnd, nodeWeights, minNodeWeight, maxNodeWeight);
+    }
+
+    // emit every edge; returns the number of edges produced
+    public long generate(EdgeSink sink) throws IOException {
+        VertexContext ctx = new VertexContext();
+        long count = 0;
+        for (int u = 0; u < n; u++) {
+            ctx.advanceTo(u);
+            count += generateVertex(u, ctx, sink);
+        }
+        return count;
+    }
+
+    public long writeJson(Path path) throws IOException {
+        try (Writer out = new BufferedWriter(Files.newBufferedWriter(path, StandardCharsets.UTF_8), 1 << 16)) {
+            out.write("{\n  \"n\": " + n + ",\n  \"directed\": true,\n  \"weight_model\": \""
+                    + (isNodeWeighted() ? "node" : "edge") + "\",\n  \"source\": 0,\n");
+            if (isNodeWeighted()) {
+                out.write("  \"node_weights\": [");
+                for (int u = 0; u < n; u++) {
+                    if (u > 0) {
+                        out.write(u % 32 == 0 ? ",\n    " : ", ");
+                    }
+                    out.write(Integer.toString(nodeWeight(u)));
+                }
+                out.write("],\n");
+            }
+            out.write("  \"edges\": [");
+            long[] written = {0};
+            generate((u, v, w) -> {
+                out.write(written[0]++ == 0 ? "\n" : ",\n");
+                out.write("    {\"u\": ");
+                out.write(Integer.toString(u));
+                out.write(", \"v\": ");
+                out.write(Integer.toString(v));
+                if (!isNodeWeighted()) {
+                    out.write(", \"w\": ");
+                    out.write(Integer.toString(w));
+                }
+                out.write('}');
+            });
+            out.write("\n  ]\n}\n");
+            return written[0];
+        }
+    }
+
+    // two passes: degrees for the offsets section, then the edges themselves
+    public long writeBinary(Path path) throws IOException {
+        long total = generate((u, v, w) -> { });
+        int[] current = {0};
+
+        try (BinaryGraphFormat.Writer writer = new BinaryGraphFormat.Writer(path, n, total, true,
+                isNodeWeighted(), 0, isNodeWeighted() ? "node" : "edge")) {
+            int[] degree = {0};
+            generate((u, v, w) -> {
+                while (current[0] < u) {
+                    writer.addVertex(degree[0], nodeWeight(current[0]));
+                    degree[0] = 0;
+                    current[0]++;
+                }
+                degree[0]++;
+            });
+            while (current[0] < n) {
+                writer.addVertex(degree[0], nodeWeight(current[0]));
+                degree[0] = 0;
+                current[0]++;
+            }
+            generate((u, v, w) -> writer.addEdge(v, w));
+        }
+        return total;
+    }
+
+    private int generateVertex(int u, VertexContext ctx, EdgeSink sink) throws IOException {
+        SplittableRandom rnd = new SplittableRandom(seed ^ (u * 0x9E3779B97F4A7C15L));
+
+        if (shape == Shape.GRID) {
+            int cols = (int) Math.ceil(Math.sqrt(n));
+            int count = 0;
+            if ((u + 1) % cols != 0 && u + 1 < n) {
+                sink.edge(u, u + 1, weight(rnd));
+                count++;
+            }
+            if ((long) u + cols < n) {
+                sink.edge(u, u + cols, weight(rnd));
+                count++;
+            }
+            return count;
+        }
+
+        // allowed targets are [lo, hi) without u
+        int lo;
+        int hi;
+        if (shape == Shape.LAYERED) {
+            int layerCount = layers > 0 ? Math.min(layers, n) : Math.max(1, (int) Math.sqrt(n));
+            int width = (int) Math.ceil((double) n / layerCount);
+            int layer = u / width;
+            lo = (int) Math.min(n, (long) (layer + 1) * width);
+            hi = (int) Math.min(n, (long) (layer + 2) * width);
+        } else if (sccs == 0) {
+            lo = u + 1;
+            hi = n;
+        } else {
+            lo = ctx.blockStart;
+            hi = n;
+        }
+        int available = hi - lo - (u >= lo && u < hi ? 1 : 0);
+
+        int degree = drawDegree(u, rnd);
+        ctx.chosen.clear();
+        int count = 0;
+
+        // ring edge keeps every multi-vertex block strongly connected
+        if (shape != Shape.LAYERED && sccs > 0 && ctx.blockEnd - ctx.blockStart > 1) {
+            int next = u + 1 < ctx.blockEnd ? u + 1 : ctx.blockStart;
+            ctx.chosen.add(next);
+            sink.edge(u, next, weight(rnd));
+            count++;
+        }
+
+        degree = Math.min(degree, available);
+        if (count >= degree) {
+            return count;
+        }
+
+        if ((long) degree * 2 > available) {
+            // dense case: selection sampling over the whole range
+            int needed = degree - count;
+            int remaining = available - count;
+            for (int v = lo; v < hi && needed > 0; v++) {
+                if (v == u || ctx.chosen.contains(v)) {
+                    continue;
+                }
+                if (rnd.nextInt(remaining) < needed) {
+                    sink.edge(u, v, weight(rnd));
+                    needed--;
+                    count++;
+                }
+                remaining--;
+            }
+            return count;
+        }
+
+        while (count < degree) {
+            int v = pickTarget(lo, hi, rnd);
+            if (v != u && ctx.chosen.add(v)) {
+                sink.edge(u, v, weight(rnd));
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private int drawDegree(int u, SplittableRandom rnd) {
+        double mean = (double) m / n;
+        if (shape == Shape.POWERLAW) {
+            // Pareto with the requested mean
+            double xm = mean * (PARETO_ALPHA - 1) / PARETO_ALPHA;
+            double value = xm / Math.pow(1.0 - rnd.nextDouble(), 1.0 / PARETO_ALPHA);
+            return (int) Math.min(Integer.MAX_VALUE, Math.round(value));
+        }
+        // spread m exactly: the first m % n vertices get one extra edge
+        long base = m / n;
+        return (int) Math.min(Integer.MAX_VALUE, base + (u < m % n ? 1 : 0));
+    }
+
+    private int pickTarget(int lo, int hi, SplittableRandom rnd) {
+        if (shape == Shape.POWERLAW) {
+            // popular targets cluster at the start of the range
+            double r = rnd.nextDouble();
+            return lo + (int) ((hi - lo) * r * r * r);
+        }
+        return lo + rnd.nextInt(hi - lo);
+    }
+
+    // edge weight; node-weighted graphs have plain dependency edges
+    private int weight(SplittableRandom rnd) {
+        if (nodeWeights != null) {
+            return 0;
+        }
+        return draw(rnd, weights, minWeight, maxWeight);
+    }
+
+    private static int draw(SplittableRandom rnd, WeightDistribution distribution, int minWeight, int maxWeight) {
+        int range = maxWeight - minWeight;
+        double value;
+        switch (distribution) {
+            case NORMAL:
+                // Box-Muller, +-3 sigma spans the range
+                double gaussian = Math.sqrt(-2 * Math.log(1.0 - rnd.nextDouble()))
+                        * Math.cos(2 * Math.PI * rnd.nextDouble());
+                value = minWeight + range / 2.0 + gaussian * range / 6.0;
+                break;
+            case EXPONENTIAL:
+                value = minWeight - Math.log(1.0 - rnd.nextDouble()) * range / 4.0;
+                break;
+            default:
+                return minWeight + rnd.nextInt(range + 1);
+        }
+        return (int) Math.max(minWeight, Math.min(maxWeight, Math.round(value)));
+    }
+
+    // block boundaries are a closed-form function of the block index,
+    // so they are tracked incrementally instead of stored
+    private long blockBoundary(int b) {
+        if (b >= sccs) {
+            return n;
+        }
+        return b + (long) Math.floor((n - sccs) * Math.pow((double) b / sccs, sccSkew));
+    }
+
+    // per-vertex scratch state reused across vertices
+    private class VertexContext {
+        final IntHashSet chosen = new IntHashSet();
+        int block = -1;
+        int blockStart;
+        int blockEnd;
+
+        void advanceTo(int u) {
+            if (sccs == 0) {
+                return;
+            }
+            while (u >= blockEnd || block < 0) {
+                block++;
+                blockStart = (int) blockBoundary(block);
+                blockEnd = (int) blockBoundary(block + 1);
+            }
+        }
+    }
+
+    // open-addressing set of non-negative ints, cleared in O(size)
+    private static class IntHashSet {
+        private int[] table = new int[16];
+        private int[] keys = new int[8];
+        private int size;
+
+        IntHashSet() {
+            Arrays.fill(table, -1);
+        }
+
+        boolean contains(int key) {
+            int mask = table.length - 1;
+            for (int i = mix(key) & mask; table[i] != -1; i = (i + 1) & mask) {
+                if (table[i] == key) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        boolean add(int key) {
+            if ((size + 1) * 2 > table.length) {
+                grow();
+            }
+            int mask = table.length - 1;
+            int i = mix(key) & mask;
+            while (table[i] != -1) {
+                if (table[i] == key) {
+                    return false;
+                }
+                i = (i + 1) & mask;
+            }
+            table[i] = key;
+            if (size == keys.length) {
+                keys = Arrays.copyOf(keys, size * 2);
+            }
+            keys[size++] = key;
+            return true;
+        }
+
+        void clear() {
+            int mask = table.length - 1;
+            for (int k = 0; k < size; k++) {
+                int i = mix(keys[k]) & mask;
+                while (table[i] != -1) {
+                    table[i] = -1;
+                    i = (i + 1) & mask;
+                }
+            }
+            size = 0;
+        }
+
+        private void grow() {
+            table = new int[table.length * 2];
+            Arrays.fill(table, -1);
+            int count = size;
+            size = 0;
+            for (int k = 0; k < count; k++) {
+                int key = keys[k];
+                int mask = table.length - 1;
+                int i = mix(key) & mask;
+                while (table[i] != -1) {
+                    i = (i + 1) & mask;
+                }
+                table[i] = key;
+                size++;
+            }
+        }
+
+        private static int mix(int key) {
+            int h = key * 0x9E3779B9;
+            return h ^ (h >>> 16);
+        }
+    }
+
+    private static void printUsage() {
+        System.err.println("usage: GraphGenerator --n N --out FILE [--m M]"
+                + " [--shape random|layered|powerlaw|grid] [--sccs K] [--scc-skew S] [--layers L]"
+                + " [--weights uniform|normal|exponential] [--min-weight A] [--max-weight B]"
+                + " [--node-weights uniform|normal|exponential] [--min-node-weight A] [--max-node-weight B]"
+                + " [--format json|binary] [--seed S]");
+    }
+
+    public static void main(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (int i = 0; i < args.length; i += 2) {
+            if (!args[i].startsWith("--")) {
+                System.err.println("Unexpected argument: " + args[i]);
+                printUsage();
+                return;
+            }
+            if (i + 1 == args.length) {
+                System.err.println("Missing value for " + args[i]);
+                printUsage();
+                return;
+            }
+            options.put(args[i].substring(2), args[i + 1]);
+        }
+        if (!options.containsKey("n") || !options.containsKey("out")) {
+            printUsage();
+            return;
+        }
+
+        try {
+            int n = Integer.parseInt(options.get("n"));
+            long m = Long.parseLong(options.getOrDefault("m", Long.toString(4L * n)));
+            GraphGenerator generator = new GraphGenerator(n, m)
+                    .shape(Shape.valueOf(options.getOrDefault("shape", "random").toUpperCase()))
+                    .sccs(Integer.parseInt(options.getOrDefault("sccs", "0")))
+                    .sccSkew(Double.parseDouble(options.getOrDefault("scc-skew", "1")))
+                    .layers(Integer.parseInt(options.getOrDefault("layers", "0")))
+                    .weights(WeightDistribution.valueOf(options.getOrDefault("weights", "uniform").toUpperCase()),
+                            Integer.parseInt(options.getOrDefault("min-weight", "1")),
+                            Integer.parseInt(options.getOrDefault("max-weight", "10")))
+                    .seed(Long.parseLong(options.getOrDefault("seed", "42")));
+            if (options.containsKey("node-weights")) {
+                generator.nodeWeights(WeightDistribution.valueOf(options.get("node-weights").toUpperCase()),
+                        Integer.parseInt(options.getOrDefault("min-node-weight", "1")),
+                        Integer.parseInt(options.getOrDefault("max-node-weight", "10")));
+            }
+
+            Path out = Paths.get(options.get("out"));
+            String format = options.getOrDefault("format",
+                    out.toString().endsWith(".bin") ? "binary" : "json");
+
+            long start = System.nanoTime();
+            long edges = format.equals("binary") ? generator.writeBinary(out) : generator.writeJson(out);
+            System.out.printf("Generated: %s (%d vertices, %d edges, %.1f s)\n",
+                    out, n, edges, (System.nanoTime() - start) / 1e9);
+        } catch (IOException | IllegalArgumentException e) {
+            System.err.println("Error generating graph: " + e.getMessage());
+        }
+    }
+}
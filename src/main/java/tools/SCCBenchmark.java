@@ -0,0 +1,95 @@
+package tools;
+
+import graph.model.CSRGraph;
+import graph.model.GraphLoader;
+import graph.model.GraphView;
+import graph.scc.KosarajuSCC;
+import graph.scc.ParallelSCC;
+import graph.scc.SCCFinder;
+import graph.scc.TarjanSCC;
+import java.io.File;
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.function.Function;
+
+// compares wall-clock time and allocated bytes of the SCC engines
+// usage: SCCBenchmark [vertices...]  (default: data/large plus 100k and 1M vertex graphs)
+public class SCCBenchmark {
+    private static final int RUNS = 5;
+
+    public static void main(String[] args) throws Exception {
+        System.out.println("Dataset                        | Engine   |   Best ms | Allocated MB | SCCs");
+        System.out.println("-------------------------------|----------|-----------|--------------|------");
+
+        File[] files = new File("data/large").listFiles((dir, name) -> name.endsWith(".json"));
+        if (files != null) {
+            Arrays.sort(files);
+            for (File file : files) {
+                GraphView graph = GraphLoader.loadFromFile(file.getPath()).graph;
+                compare(file.getName(), graph);
+            }
+        }
+
+        int[] sizes = {100_000, 1_000_000};
+        if (args.length > 0) {
+            sizes = Arrays.stream(args).mapToInt(Integer::parseInt).toArray();
+        }
+        for (int n : sizes) {
+            compare("random n=" + n + " m=" + (4L * n), randomGraph(n, 4 * n, 42));
+        }
+    }
+
+    private static void compare(String name, GraphView graph) {
+        CSRGraph base = CSRGraph.from(graph);
+        report(name, "Kosaraju", base, KosarajuSCC::new);
+        report(name, "Tarjan", base, TarjanSCC::new);
+        report(name, "Parallel", base, ParallelSCC::new);
+    }
+
+    // best time and largest allocation over RUNS runs
+    private static void report(String name, String engine, CSRGraph base,
+                               Function<GraphView, SCCFinder> factory) {
+        long bestNanos = Long.MAX_VALUE;
+        long allocated = 0;
+        int components = 0;
+
+        for (int run = 0; run < RUNS; run++) {
+            // a new graph object sharing the edge arrays has no cached
+            // transpose, so every run pays for its own reverse graph
+            SCCFinder finder = factory.apply(base.withNodeWeights(null));
+            long bytesBefore = allocatedBytes();
+            long start = System.nanoTime();
+            finder.findSCCs();
+            long elapsed = System.nanoTime() - start;
+            allocated = Math.max(allocated, allocatedBytes() - bytesBefore);
+            bestNanos = Math.min(bestNanos, elapsed);
+            components = finder.getNumComponents();
+        }
+
+        System.out.printf("%-30s | %-8s | %9.3f | %12.2f | %d\n",
+                name, engine, bestNanos / 1_000_000.0, allocated / (1024.0 * 1024.0), components);
+    }
+
+    // bytes allocated so far by all live threads, so pool workers are included
+    private static long allocatedBytes() {
+        com.sun.management.ThreadMXBean bean =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long total = 0;
+        for (long bytes : bean.getThreadAllocatedBytes(bean.getAllThreadIds())) {
+            if (bytes > 0) {
+                total += bytes;
+            }
+        }
+        return total;
+    }
+
+    private static GraphView randomGraph(int n, int m, long seed) {
+        Random random = new Random(seed);
+        CSRGraph.Builder builder = new CSRGraph.Builder(n, true);
+        for (int i = 0; i < m; i++) {
+            builder.addEdge(random.nextInt(n), random.nextInt(n), random.nextInt(10) + 1);
+        }
+        return builder.build();
+    }
+}
@@ -0,0 +1,106 @@
+package util;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+// binary min-heap of int values ordered by a long key given on push;
+// equal keys come out smallest value first, so pop order is deterministic
+public class IntHeap {
+    private int[] values;
+    private long[] keys;
+    private int size;
+
+    public IntHeap() {
+        this(16);
+    }
+
+    public IntHeap(int initialCapacity) {
+        values = new int[Math.max(2, initialCapacity)];
+        keys = new long[values.length];
+    }
+
+    public void push(int value, long key) {
+        if (size == values.length) {
+            values = Arrays.copyOf(values, size * 2);
+            keys = Arrays.copyOf(keys, size * 2);
+        }
+        int i = size++;
+        // sift up
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (!less(key, value, keys[parent], values[parent])) {
+                break;
+            }
+            values[i] = values[parent];
+            keys[i] = keys[parent];
+            i = parent;
+        }
+        values[i] = value;
+        keys[i] = key;
+    }
+
+    // remove and return the value with the smallest key
+    public int pop() {
+        if (size == 0) {
+            throw new NoSuchElementException("Heap is empty");
+        }
+        int top = values[0];
+        size--;
+        if (size > 0) {
+            siftDown(values[size], keys[size]);
+        }
+        return top;
+    }
+
+    public int peek() {
+        if (size == 0) {
+            throw new NoSuchElementException("Heap is empty");
+        }
+        return values[0];
+    }
+
+    // key of the value peek() would return
+    public long peekKey() {
+        if (size == 0) {
+            throw new NoSuchElementException("Heap is empty");
+        }
+        return keys[0];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void clear() {
+        size = 0;
+    }
+
+    // place the former last element starting from the root
+    private void siftDown(int value, long key) {
+        int i = 0;
+        int half = size >>> 1;
+        while (i < half) {
+            int child = 2 * i + 1;
+            int right = child + 1;
+            if (right < size && less(keys[right], values[right], keys[child], values[child])) {
+                child = right;
+            }
+            if (!less(keys[child], values[child], key, value)) {
+                break;
+            }
+            values[i] = values[child];
+            keys[i] = keys[child];
+            i = child;
+        }
+        values[i] = value;
+        keys[i] = key;
+    }
+
+    private static boolean less(long keyA, int valueA, long keyB, int valueB) {
+        return keyA < keyB || (keyA == keyB && valueA < valueB);
+    }
+}
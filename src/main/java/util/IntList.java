@@ -0,0 +1,111 @@
+package util;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+
+// growable list of ints, no boxing
+public class IntList {
+    private int[] elements;
+    private int size;
+
+    public IntList() {
+        this(16);
+    }
+
+    public IntList(int initialCapacity) {
+        elements = new int[Math.max(2, initialCapacity)];
+    }
+
+    public void add(int value) {
+        if (size == elements.length) {
+            elements = Arrays.copyOf(elements, elements.length * 2);
+        }
+        elements[size++] = value;
+    }
+
+    public void addAll(IntList other) {
+        ensureCapacity(size + other.size);
+        System.arraycopy(other.elements, 0, elements, size, other.size);
+        size += other.size;
+    }
+
+    public int get(int index) {
+        checkIndex(index);
+        return elements[index];
+    }
+
+    public void set(int index, int value) {
+        checkIndex(index);
+        elements[index] = value;
+    }
+
+    // remove the first occurrence of value by moving the last element into
+    // its place; order is not preserved. Returns false if value is absent
+    public boolean removeSwap(int value) {
+        for (int i = 0; i < size; i++) {
+            if (elements[i] == value) {
+                elements[i] = elements[--size];
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public boolean contains(int value) {
+        for (int i = 0; i < size; i++) {
+            if (elements[i] == value) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public void sort() {
+        Arrays.sort(elements, 0, size);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void clear() {
+        size = 0;
+    }
+
+    public void ensureCapacity(int capacity) {
+        if (capacity > elements.length) {
+            elements = Arrays.copyOf(elements, Math.max(capacity, elements.length * 2));
+        }
+    }
+
+    public int[] toArray() {
+        return Arrays.copyOf(elements, size);
+    }
+
+    // read-only boxed view of an int array, for callers that want a List<Integer>;
+    // reflects later writes to the array
+    public static List<Integer> asList(int[] array) {
+        return new AbstractList<Integer>() {
+            @Override
+            public Integer get(int index) {
+                return array[index];
+            }
+
+            @Override
+            public int size() {
+                return array.length;
+            }
+        };
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for size " + size);
+        }
+    }
+}
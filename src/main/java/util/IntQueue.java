@@ -0,0 +1,66 @@
+package util;
+
+import java.util.NoSuchElementException;
+
+// FIFO queue of ints in a growable ring buffer, no boxing
+public class IntQueue {
+    private int[] elements;
+    private int head;
+    private int size;
+
+    public IntQueue() {
+        this(16);
+    }
+
+    public IntQueue(int initialCapacity) {
+        elements = new int[Math.max(2, initialCapacity)];
+    }
+
+    public void offer(int value) {
+        if (size == elements.length) {
+            grow();
+        }
+        elements[(head + size) % elements.length] = value;
+        size++;
+    }
+
+    public int poll() {
+        if (size == 0) {
+            throw new NoSuchElementException("Queue is empty");
+        }
+        int value = elements[head];
+        head = (head + 1) % elements.length;
+        size--;
+        return value;
+    }
+
+    public int peek() {
+        if (size == 0) {
+            throw new NoSuchElementException("Queue is empty");
+        }
+        return elements[head];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void clear() {
+        head = 0;
+        size = 0;
+    }
+
+    // unwrap into a twice as large array, head moves to 0
+    private void grow() {
+        int[] larger = new int[elements.length * 2];
+        int firstPart = elements.length - head;
+        System.arraycopy(elements, head, larger, 0, firstPart);
+        System.arraycopy(elements, 0, larger, firstPart, head);
+        elements = larger;
+        head = 0;
+    }
+}
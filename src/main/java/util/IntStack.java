@@ -0,0 +1,51 @@
+package util;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+// LIFO stack of ints on a growable array, no boxing
+public class IntStack {
+    private int[] elements;
+    private int size;
+
+    public IntStack() {
+        this(16);
+    }
+
+    public IntStack(int initialCapacity) {
+        elements = new int[Math.max(2, initialCapacity)];
+    }
+
+    public void push(int value) {
+        if (size == elements.length) {
+            elements = Arrays.copyOf(elements, elements.length * 2);
+        }
+        elements[size++] = value;
+    }
+
+    public int pop() {
+        if (size == 0) {
+            throw new NoSuchElementException("Stack is empty");
+        }
+        return elements[--size];
+    }
+
+    public int peek() {
+        if (size == 0) {
+            throw new NoSuchElementException("Stack is empty");
+        }
+        return elements[size - 1];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void clear() {
+        size = 0;
+    }
+}
@@ -1,36 +1,191 @@
 package util;
 
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+// operation counter and phase timers of one algorithm object. Counters are
+// LongAdders, so parallel algorithms may count from any thread. Timed phases
+// go to Histograms held only by the MetricsRegistry aggregate of the same
+// name, which collects p50/p99 over repeated runs; a per-run object keeps no
+// histogram of its own, so short-lived algorithm objects stay cheap.
+// Running with -Dmetrics.disabled=true turns counting and histograms into
+// no-ops the JIT removes; the last elapsed time is still measured
 public class Metrics {
-    private long startTime;
-    private long endTime;
-    private int operationCount;
-    private String operationName;
+    public static final boolean ENABLED = !Boolean.getBoolean("metrics.disabled");
+    // phase recorded by startTimer()/stopTimer()
+    public static final String TOTAL = "total";
+    public static final String CSV_HEADER = "name,phase,count,operations,mean_ms,p50_ms,p99_ms,max_ms";
+
+    private final String operationName;
+    private final LongAdder operationCount = new LongAdder();
+    // phase histograms; null unless this is an aggregate
+    private final Map<String, Histogram> phases;
+    // registry aggregate of the same name, null for the aggregate itself
+    private final Metrics shared;
+    // operations already forwarded to shared
+    private final AtomicLong forwarded = new AtomicLong();
+    private volatile long startTime;
+    private volatile long endTime;
 
     public Metrics(String operationName) {
+        this(operationName, ENABLED ? MetricsRegistry.global().get(operationName) : null);
+    }
+
+    Metrics(String operationName, Metrics shared) {
         this.operationName = operationName;
-        this.operationCount = 0;
+        this.shared = shared;
+        this.phases = shared == null ? new ConcurrentSkipListMap<>() : null;
     }
 
     public void startTimer() {
         startTime = System.nanoTime();
     }
 
+    // records the run in the TOTAL phase and forwards the operations
+    // counted since the last stop to the registry
     public void stopTimer() {
         endTime = System.nanoTime();
+        record(TOTAL, endTime - startTime);
+        if (ENABLED && shared != null) {
+            long total = operationCount.sum();
+            shared.addOperations(total - forwarded.getAndSet(total));
+        }
+    }
+
+    // add one sample to the aggregate's phase histogram
+    public void record(String phase, long nanos) {
+        if (!ENABLED) {
+            return;
+        }
+        if (shared != null) {
+            shared.record(phase, nanos);
+        } else {
+            phases.computeIfAbsent(phase, p -> new Histogram()).record(Math.max(0, nanos));
+        }
     }
 
     // count single operation
     public void incrementOperations() {
-        operationCount++;
+        if (ENABLED) {
+            operationCount.increment();
+        }
+    }
+
+    // count a batch of operations tallied elsewhere
+    public void addOperations(long count) {
+        if (ENABLED) {
+            operationCount.add(count);
+        }
     }
 
+    public String getName() {
+        return operationName;
+    }
+
+    public long getOperations() {
+        return operationCount.sum();
+    }
+
+    // duration of the last startTimer()/stopTimer() pair
     public double getElapsedTimeMs() {
         return (endTime - startTime) / 1_000_000.0;
     }
 
+    // histogram over all runs of this name; null if the phase was never recorded
+    public Histogram getPhase(String phase) {
+        return histograms().get(phase);
+    }
+
+    public Iterable<String> getPhaseNames() {
+        return histograms().keySet();
+    }
+
+    // clears the counter, and the histograms if this is an aggregate
+    public void reset() {
+        operationCount.reset();
+        forwarded.set(0);
+        if (phases != null) {
+            phases.clear();
+        }
+    }
+
+    // {"name": ..., "operations": ..., "elapsed_ms": ..., "phases": {phase: {...}}};
+    // elapsed_ms (the last run) is left out if the timer never stopped
+    public String toJson() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("{\"name\": ").append(jsonString(operationName))
+                .append(", \"operations\": ").append(getOperations());
+        if (endTime != 0) {
+            sb.append(", \"elapsed_ms\": ").append(ms(endTime - startTime));
+        }
+        sb.append(", \"phases\": {");
+        String separator = "";
+        for (Map.Entry<String, Histogram> phase : histograms().entrySet()) {
+            Histogram h = phase.getValue();
+            sb.append(separator).append(jsonString(phase.getKey()))
+                    .append(": {\"count\": ").append(h.getCount())
+                    .append(", \"mean_ms\": ").append(ms(h.getMean()))
+                    .append(", \"p50_ms\": ").append(ms(h.getPercentile(0.5)))
+                    .append(", \"p99_ms\": ").append(ms(h.getPercentile(0.99)))
+                    .append(", \"max_ms\": ").append(ms(h.getMax()))
+                    .append('}');
+            separator = ", ";
+        }
+        return sb.append("}}").toString();
+    }
+
+    // one CSV_HEADER row per phase, no header
+    public String toCsv() {
+        StringBuilder sb = new StringBuilder();
+        for (Map.Entry<String, Histogram> phase : histograms().entrySet()) {
+            Histogram h = phase.getValue();
+            sb.append(csvField(operationName)).append(',')
+                    .append(csvField(phase.getKey())).append(',')
+                    .append(h.getCount()).append(',')
+                    .append(getOperations()).append(',')
+                    .append(ms(h.getMean())).append(',')
+                    .append(ms(h.getPercentile(0.5))).append(',')
+                    .append(ms(h.getPercentile(0.99))).append(',')
+                    .append(ms(h.getMax())).append('\n');
+        }
+        return sb.toString();
+    }
+
     @Override
     public String toString() {
         return String.format("%s: %d operations, %.3f ms",
-                operationName, operationCount, getElapsedTimeMs());
+                operationName, getOperations(), getElapsedTimeMs());
+    }
+
+    private Map<String, Histogram> histograms() {
+        return shared != null ? shared.phases : phases;
+    }
+
+    private static String ms(double nanos) {
+        return String.format(Locale.ROOT, "%.3f", nanos / 1_000_000.0);
+    }
+
+    private static String jsonString(String s) {
+        StringBuilder sb = new StringBuilder("\"");
+        for (char c : s.toCharArray()) {
+            if (c == '"' || c == '\\') {
+                sb.append('\\').append(c);
+            } else if (c < 0x20) {
+                sb.append(String.format("\\u%04x", (int) c));
+            } else {
+                sb.append(c);
+            }
+        }
+        return sb.append('"').toString();
+    }
+
+    private static String csvField(String s) {
+        if (s.indexOf(',') < 0 && s.indexOf('"') < 0 && s.indexOf('\n') < 0) {
+            return s;
+        }
+        return "\"" + s.replace("\"", "\"\"") + "\"";
     }
 }
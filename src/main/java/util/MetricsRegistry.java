@@ -0,0 +1,59 @@
+package util;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+// one aggregate Metrics per name; every Metrics object created with that
+// name forwards its phase samples and operation counts here, so repeated
+// runs of an algorithm end up in one set of histograms
+public final class MetricsRegistry {
+    private static final MetricsRegistry GLOBAL = new MetricsRegistry();
+
+    private final ConcurrentSkipListMap<String, Metrics> aggregates = new ConcurrentSkipListMap<>();
+
+    public static MetricsRegistry global() {
+        return GLOBAL;
+    }
+
+    public Metrics get(String name) {
+        return aggregates.computeIfAbsent(name, n -> new Metrics(n, null));
+    }
+
+    // aggregates sorted by name
+    public List<Metrics> getAll() {
+        return new ArrayList<>(aggregates.values());
+    }
+
+    public void clear() {
+        aggregates.clear();
+    }
+
+    public String toJson() {
+        StringBuilder sb = new StringBuilder("[");
+        String separator = "\n  ";
+        for (Metrics metrics : aggregates.values()) {
+            sb.append(separator).append(metrics.toJson());
+            separator = ",\n  ";
+        }
+        return sb.append(aggregates.isEmpty() ? "]\n" : "\n]\n").toString();
+    }
+
+    public String toCsv() {
+        StringBuilder sb = new StringBuilder(Metrics.CSV_HEADER).append('\n');
+        for (Metrics metrics : aggregates.values()) {
+            sb.append(metrics.toCsv());
+        }
+        return sb.toString();
+    }
+
+    // CSV if the file name ends in .csv, JSON otherwise
+    public void export(Path file) throws IOException {
+        boolean csv = file.getFileName().toString().endsWith(".csv");
+        Files.write(file, (csv ? toCsv() : toJson()).getBytes(StandardCharsets.UTF_8));
+    }
+}
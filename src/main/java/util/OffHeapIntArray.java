@@ -0,0 +1,83 @@
+package util;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+
+// int array with a long length stored outside the Java heap. A single
+// ByteBuffer is int-indexed and capped at 2 GB, so the array is split into
+// segments of 2^segmentShift ints, either direct buffers or mapped regions
+// of a file; element i lives in segment i >>> shift at i & mask
+public final class OffHeapIntArray {
+    // 2^27 ints = 512 MB per segment
+    public static final int DEFAULT_SEGMENT_SHIFT = 27;
+
+    private final IntBuffer[] segments;
+    private final int shift;
+    private final long mask;
+    private final long length;
+
+    private OffHeapIntArray(IntBuffer[] segments, int shift, long length) {
+        this.segments = segments;
+        this.shift = shift;
+        this.mask = (1L << shift) - 1;
+        this.length = length;
+    }
+
+    // zero-filled array in direct memory
+    public static OffHeapIntArray allocate(long length) {
+        return allocate(length, DEFAULT_SEGMENT_SHIFT);
+    }
+
+    public static OffHeapIntArray allocate(long length, int segmentShift) {
+        IntBuffer[] segments = new IntBuffer[segmentCount(length, segmentShift)];
+        for (int s = 0; s < segments.length; s++) {
+            int size = segmentSize(length, segmentShift, s);
+            segments[s] = ByteBuffer.allocateDirect(size * Integer.BYTES)
+                    .order(ByteOrder.nativeOrder()).asIntBuffer();
+        }
+        return new OffHeapIntArray(segments, segmentShift, length);
+    }
+
+    // view of length little-endian ints starting at byte position of the file
+    public static OffHeapIntArray map(FileChannel channel, FileChannel.MapMode mode,
+                                      long position, long length) throws IOException {
+        return map(channel, mode, position, length, DEFAULT_SEGMENT_SHIFT);
+    }
+
+    public static OffHeapIntArray map(FileChannel channel, FileChannel.MapMode mode,
+                                      long position, long length, int segmentShift) throws IOException {
+        IntBuffer[] segments = new IntBuffer[segmentCount(length, segmentShift)];
+        for (int s = 0; s < segments.length; s++) {
+            long start = position + ((long) s << segmentShift) * Integer.BYTES;
+            long bytes = (long) segmentSize(length, segmentShift, s) * Integer.BYTES;
+            segments[s] = channel.map(mode, start, bytes).order(ByteOrder.LITTLE_ENDIAN).asIntBuffer();
+        }
+        return new OffHeapIntArray(segments, segmentShift, length);
+    }
+
+    public long length() {
+        return length;
+    }
+
+    public int get(long index) {
+        return segments[(int) (index >>> shift)].get((int) (index & mask));
+    }
+
+    public void set(long index, int value) {
+        segments[(int) (index >>> shift)].put((int) (index & mask), value);
+    }
+
+    static int segmentCount(long length, int segmentShift) {
+        if (length < 0 || segmentShift < 1 || segmentShift > 28) {
+            throw new IllegalArgumentException("Invalid length or segment size");
+        }
+        return Math.toIntExact((length + (1L << segmentShift) - 1) >>> segmentShift);
+    }
+
+    static int segmentSize(long length, int segmentShift, int segment) {
+        return (int) Math.min(1L << segmentShift, length - ((long) segment << segmentShift));
+    }
+}
@@ -0,0 +1,76 @@
+package util;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.LongBuffer;
+import java.nio.channels.FileChannel;
+
+// long counterpart of OffHeapIntArray, segments of 2^segmentShift longs
+public final class OffHeapLongArray {
+    // 2^26 longs = 512 MB per segment
+    public static final int DEFAULT_SEGMENT_SHIFT = 26;
+
+    private final LongBuffer[] segments;
+    private final int shift;
+    private final long mask;
+    private final long length;
+
+    private OffHeapLongArray(LongBuffer[] segments, int shift, long length) {
+        this.segments = segments;
+        this.shift = shift;
+        this.mask = (1L << shift) - 1;
+        this.length = length;
+    }
+
+    // zero-filled array in direct memory
+    public static OffHeapLongArray allocate(long length) {
+        return allocate(length, DEFAULT_SEGMENT_SHIFT);
+    }
+
+    public static OffHeapLongArray allocate(long length, int segmentShift) {
+        LongBuffer[] segments = new LongBuffer[segmentCount(length, segmentShift)];
+        for (int s = 0; s < segments.length; s++) {
+            int size = OffHeapIntArray.segmentSize(length, segmentShift, s);
+            segments[s] = ByteBuffer.allocateDirect(size * Long.BYTES)
+                    .order(ByteOrder.nativeOrder()).asLongBuffer();
+        }
+        return new OffHeapLongArray(segments, segmentShift, length);
+    }
+
+    // view of length little-endian longs starting at byte position of the file
+    public static OffHeapLongArray map(FileChannel channel, FileChannel.MapMode mode,
+                                       long position, long length) throws IOException {
+        return map(channel, mode, position, length, DEFAULT_SEGMENT_SHIFT);
+    }
+
+    public static OffHeapLongArray map(FileChannel channel, FileChannel.MapMode mode,
+                                       long position, long length, int segmentShift) throws IOException {
+        LongBuffer[] segments = new LongBuffer[segmentCount(length, segmentShift)];
+        for (int s = 0; s < segments.length; s++) {
+            long start = position + ((long) s << segmentShift) * Long.BYTES;
+            long bytes = (long) OffHeapIntArray.segmentSize(length, segmentShift, s) * Long.BYTES;
+            segments[s] = channel.map(mode, start, bytes).order(ByteOrder.LITTLE_ENDIAN).asLongBuffer();
+        }
+        return new OffHeapLongArray(segments, segmentShift, length);
+    }
+
+    public long length() {
+        return length;
+    }
+
+    public long get(long index) {
+        return segments[(int) (index >>> shift)].get((int) (index & mask));
+    }
+
+    public void set(long index, long value) {
+        segments[(int) (index >>> shift)].put((int) (index & mask), value);
+    }
+
+    private static int segmentCount(long length, int segmentShift) {
+        if (segmentShift > 27) {
+            throw new IllegalArgumentException("Invalid length or segment size");
+        }
+        return OffHeapIntArray.segmentCount(length, segmentShift);
+    }
+}
@@ -0,0 +1,137 @@
+package graph.cache;
+
+import graph.dagsp.DAGLongestPath;
+import graph.dagsp.DAGShortestPath;
+import graph.dagsp.MultiSourceDAGPaths.Objective;
+import graph.model.CSRGraph;
+import graph.model.Graph;
+import org.junit.jupiter.api.Test;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PathQueryServiceTest {
+
+    // edges only go from lower to higher ids, so the graph is acyclic
+    private CSRGraph randomDag(Random random, int n, int m) {
+        CSRGraph.Builder builder = new CSRGraph.Builder(n, true);
+        for (int e = 0; e < m; e++) {
+            int u = random.nextInt(n - 1);
+            int v = u + 1 + random.nextInt(n - u - 1);
+            builder.addEdge(u, v, 1 + random.nextInt(20));
+        }
+        return builder.build();
+    }
+
+    @Test
+    public void testMatchesDirectComputation() {
+        Random random = new Random(25);
+        CSRGraph dag = randomDag(random, 60, 200);
+        PathQueryService service = new PathQueryService(dag);
+
+        for (int s = 0; s < 60; s += 7) {
+            DAGShortestPath shortest = new DAGShortestPath(dag);
+            shortest.computeShortestPaths(s);
+            DAGLongestPath longest = new DAGLongestPath(dag);
+            longest.computeLongestPaths(s);
+            for (int t = 0; t < 60; t++) {
+                assertEquals(shortest.getDistance(t), service.getShortestDistance(s, t));
+                assertEquals(shortest.getPath(t), service.getShortestPath(s, t));
+                assertEquals(longest.getDistance(t), service.getLongestDistance(s, t));
+                assertEquals(longest.getPath(t), service.getLongestPath(s, t));
+            }
+        }
+        // one computation per source and objective, everything else from the cache
+        assertEquals(2 * 9, service.getMisses());
+        assertEquals(9 * 60 * 4 - 2 * 9, service.getHits());
+    }
+
+    @Test
+    public void testEvictsLeastRecentlyUsed() {
+        CSRGraph dag = randomDag(new Random(3), 100, 300);
+        // room for two sources: 64 + 2 * 100 * 4 bytes each
+        PathQueryService service = new PathQueryService(dag, 2 * 864);
+
+        service.getShortestDistance(0, 99);
+        service.getShortestDistance(1, 99);
+        service.getShortestDistance(0, 99);
+        service.getShortestDistance(2, 99);
+
+        assertEquals(2, service.getCachedSources());
+        assertEquals(1, service.getEvictions());
+        assertTrue(service.getCachedBytes() <= 2 * 864);
+        service.getShortestDistance(0, 50);
+        assertEquals(3, service.getMisses());
+        service.getShortestDistance(1, 50);
+        assertEquals(4, service.getMisses());
+    }
+
+    @Test
+    public void testGraphChangeInvalidates() {
+        Graph graph = new Graph(3, true);
+        graph.addEdge(0, 1, 5);
+        PathQueryService service = new PathQueryService(graph);
+        assertEquals(Integer.MAX_VALUE, service.getShortestDistance(0, 2));
+
+        graph.addEdge(1, 2, 4);
+
+        assertEquals(9, service.getShortestDistance(0, 2));
+        assertEquals(List.of(0, 1, 2), service.getShortestPath(0, 2));
+        assertEquals(2, service.getMisses());
+
+        service.setGraph(new CSRGraph.Builder(3, true).addEdge(0, 2, 1).build());
+        assertEquals(1, service.getShortestDistance(0, 2));
+        assertEquals(3, service.getMisses());
+    }
+
+    @Test
+    public void testConcurrentReaders() throws Exception {
+        CSRGraph dag = randomDag(new Random(9), 400, 2000);
+        PathQueryService service = new PathQueryService(dag);
+        DAGLongestPath expected = new DAGLongestPath(dag);
+        expected.computeLongestPaths(0);
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Boolean>> futures = new ArrayList<>();
+            for (int task = 0; task < 32; task++) {
+                int seed = task;
+                futures.add(executor.submit(() -> {
+                    Random random = new Random(seed);
+                    for (int q = 0; q < 500; q++) {
+                        int source = random.nextInt(20);
+                        int target = random.nextInt(400);
+                        service.getShortestDistance(source, target);
+                        if (service.getLongestDistance(0, target) != expected.getDistance(target)) {
+                            return false;
+                        }
+                    }
+                    return true;
+                }));
+            }
+            for (Future<Boolean> future : futures) {
+                assertTrue(future.get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+        // every source is computed once, concurrent misses wait for it
+        assertEquals(21, service.getMisses());
+        assertEquals(21, service.getCachedSources());
+    }
+
+    @Test
+    public void testRejectsCyclesAndBadSources() {
+        Graph cyclic = new Graph(2, true);
+        cyclic.addEdge(0, 1);
+        cyclic.addEdge(1, 0);
+        PathQueryService service = new PathQueryService(cyclic);
+
+        assertThrows(IllegalStateException.class, () -> service.getShortestDistance(0, 1));
+        assertThrows(IllegalArgumentException.class, () -> service.get(Objective.LONGEST, 5));
+    }
+}
@@ -0,0 +1,158 @@
+package graph.cache;
+
+import graph.model.CSRGraph;
+import graph.model.Graph;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ResultCacheTest {
+
+    @TempDir
+    Path tempDir;
+
+    private AnalysisResult result(int n) {
+        int[] ids = new int[n];
+        int[] order = new int[n];
+        int[] distances = new int[n];
+        int[] predecessors = new int[n];
+        for (int v = 0; v < n; v++) {
+            ids[v] = v;
+            order[v] = v;
+            distances[v] = v == n - 1 ? Integer.MAX_VALUE : v * 1000;
+            predecessors[v] = v - 1;
+        }
+        return new AnalysisResult(ids, order.clone(), order, 0, distances, predecessors, null, null);
+    }
+
+    @Test
+    public void testEncodingRoundTrip() throws IOException {
+        AnalysisResult original = result(50);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        original.writeTo(out);
+
+        AnalysisResult copy = AnalysisResult.readFrom(new ByteArrayInputStream(out.toByteArray()));
+
+        assertArrayEquals(original.componentIds, copy.componentIds);
+        assertArrayEquals(original.members, copy.members);
+        assertArrayEquals(original.topoOrder, copy.topoOrder);
+        assertArrayEquals(original.shortestDistances, copy.shortestDistances);
+        assertArrayEquals(original.shortestPredecessors, copy.shortestPredecessors);
+        assertNull(copy.longestDistances);
+        assertFalse(copy.hasPaths());
+    }
+
+    @Test
+    public void testCorruptionDetected() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        result(20).writeTo(out);
+        byte[] bytes = out.toByteArray();
+        bytes[bytes.length / 2] ^= 1;
+
+        assertThrows(IOException.class, () -> AnalysisResult.readFrom(new ByteArrayInputStream(bytes)));
+        assertThrows(IOException.class, () -> AnalysisResult.readFrom(new ByteArrayInputStream(new byte[3])));
+    }
+
+    @Test
+    public void testHashFollowsContent() {
+        Graph graph = new Graph(3, true);
+        graph.addEdge(0, 1, 2);
+        graph.addEdge(1, 2, 3);
+        CSRGraph same = new CSRGraph.Builder(3, true).addEdge(0, 1, 2).addEdge(1, 2, 3).build();
+        CSRGraph reweighted = new CSRGraph.Builder(3, true).addEdge(0, 1, 2).addEdge(1, 2, 4).build();
+        CSRGraph undirected = new CSRGraph.Builder(3, false).addEdge(0, 1, 2).addEdge(1, 2, 3).build();
+
+        assertEquals(GraphHash.of(graph), GraphHash.of(same));
+        assertNotEquals(GraphHash.of(graph), GraphHash.of(reweighted));
+        assertNotEquals(GraphHash.of(graph), GraphHash.of(undirected));
+        assertNotEquals(ResultCache.key(graph, "source=0"), ResultCache.key(graph, "source=1"));
+    }
+
+    @Test
+    public void testPersistsAcrossInstances() throws IOException {
+        ResultCache cache = new ResultCache(tempDir);
+        assertNull(cache.get("a"));
+        cache.put("a", result(10));
+
+        ResultCache reopened = new ResultCache(tempDir);
+
+        assertTrue(reopened.contains("a"));
+        assertArrayEquals(result(10).shortestDistances, reopened.get("a").shortestDistances);
+        assertEquals(1, reopened.getHits());
+        assertEquals(1, cache.getMisses());
+    }
+
+    @Test
+    public void testEvictsLeastRecentlyUsed() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        result(100).writeTo(out);
+        // room for two entries
+        ResultCache cache = new ResultCache(tempDir, 2L * out.size() + 1);
+        cache.put("a", result(100));
+        cache.put("b", result(100));
+        assertNotNull(cache.get("a"));
+
+        cache.put("c", result(100));
+
+        assertTrue(cache.contains("a"));
+        assertFalse(cache.contains("b"));
+        assertTrue(cache.contains("c"));
+        assertFalse(Files.exists(tempDir.resolve("b.res")));
+        assertTrue(cache.getTotalBytes() <= 2L * out.size() + 1);
+    }
+
+    @Test
+    public void testConcurrentPuts() throws Exception {
+        ResultCache cache = new ResultCache(tempDir);
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> writes = new ArrayList<>();
+            for (int i = 0; i < 32; i++) {
+                String key = "k" + (i % 8);
+                int n = 10 + i;
+                writes.add(pool.submit(() -> {
+                    cache.put(key, result(n));
+                    return null;
+                }));
+            }
+            for (Future<?> write : writes) {
+                write.get();
+            }
+        } finally {
+            pool.shutdown();
+        }
+
+        assertEquals(8, cache.size());
+        long bytes = 0;
+        for (int k = 0; k < 8; k++) {
+            assertNotNull(cache.get("k" + k));
+            bytes += Files.size(tempDir.resolve("k" + k + ".res"));
+        }
+        assertEquals(bytes, cache.getTotalBytes());
+        try (Stream<Path> files = Files.list(tempDir)) {
+            assertEquals(8, files.count());
+        }
+    }
+
+    @Test
+    public void testCorruptEntryIsDropped() throws IOException {
+        ResultCache cache = new ResultCache(tempDir);
+        cache.put("a", result(10));
+        Files.write(tempDir.resolve("a.res"), new byte[]{1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13});
+
+        assertNull(cache.get("a"));
+        assertFalse(cache.contains("a"));
+        assertEquals(0, cache.getTotalBytes());
+    }
+}
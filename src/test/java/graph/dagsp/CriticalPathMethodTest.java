@@ -0,0 +1,75 @@
+package graph.dagsp;
+
+import graph.model.Graph;
+import graph.model.TestGraphs;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CriticalPathMethodTest {
+
+    @Test
+    public void testTaskDurations() {
+        CriticalPathMethod cpm = new CriticalPathMethod(TestGraphs.diamond(), new long[]{3, 2, 4, 1});
+        CriticalPathMethod.Schedule schedule = cpm.compute();
+
+        assertNotNull(schedule);
+        assertEquals(8, schedule.projectDuration);
+        assertArrayEquals(new long[]{0, 3, 3, 7}, schedule.earliestStart);
+        assertArrayEquals(new long[]{0, 5, 3, 7}, schedule.latestStart);
+        assertArrayEquals(new long[]{0, 2, 0, 0}, schedule.totalFloat);
+        assertArrayEquals(new long[]{0, 2, 0, 0}, schedule.freeFloat);
+        assertArrayEquals(new int[]{0, 2, 3}, schedule.criticalTasks);
+        assertEquals(5, schedule.getEarliestFinish(1));
+        assertEquals(7, schedule.getLatestFinish(1));
+    }
+
+    @Test
+    public void testFreeFloatBelowTotalFloat() {
+        // 0(1) -> 1(1) -> 2(1) -> 4(1) and 0 -> 3(5) -> 4: 1 and 2 share the slack
+        Graph graph = new Graph(5, true);
+        graph.addEdge(0, 1, 0);
+        graph.addEdge(1, 2, 0);
+        graph.addEdge(2, 4, 0);
+        graph.addEdge(0, 3, 0);
+        graph.addEdge(3, 4, 0);
+
+        CriticalPathMethod.Schedule schedule =
+                new CriticalPathMethod(graph, new long[]{1, 1, 1, 5, 1}).compute();
+
+        assertEquals(3, schedule.totalFloat[1]);
+        assertEquals(0, schedule.freeFloat[1]);
+        assertEquals(3, schedule.totalFloat[2]);
+        assertEquals(3, schedule.freeFloat[2]);
+        assertFalse(schedule.isCritical(1));
+        assertTrue(schedule.isCritical(3));
+    }
+
+    @Test
+    public void testEdgeLagsOnly() {
+        Graph graph = new Graph(3, true);
+        graph.addEdge(0, 1, 4);
+        graph.addEdge(0, 2, 1);
+        graph.addEdge(2, 1, 2);
+
+        CriticalPathMethod.Schedule schedule = new CriticalPathMethod(graph).compute();
+
+        // same as the longest path from 0
+        assertEquals(4, schedule.projectDuration);
+        assertEquals(4, schedule.earliestStart[1]);
+        assertEquals(1, schedule.totalFloat[2]);
+        assertArrayEquals(new int[]{0, 1}, schedule.criticalTasks);
+    }
+
+    @Test
+    public void testCycleAndInvalidDurations() {
+        Graph graph = new Graph(2, true);
+        graph.addEdge(0, 1);
+        graph.addEdge(1, 0);
+
+        CriticalPathMethod cpm = new CriticalPathMethod(graph);
+        assertNull(cpm.compute());
+        assertThrows(IllegalStateException.class, cpm::getSchedule);
+        assertThrows(IllegalArgumentException.class, () -> new CriticalPathMethod(graph, new long[]{1}));
+        assertThrows(IllegalArgumentException.class, () -> new CriticalPathMethod(graph, new long[]{1, -1}));
+    }
+}
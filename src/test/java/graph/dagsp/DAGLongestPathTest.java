@@ -79,4 +79,42 @@ public class DAGLongestPathTest {
         // should fail because graph has a cycle
         assertFalse(lp.computeLongestPaths(0));
     }
+
+    @Test
+    public void testNodeWeightsCountOnEveryVertex() {
+        Graph graph = new Graph(4, true);
+        graph.addEdge(0, 1, 0);
+        graph.addEdge(0, 2, 0);
+        graph.addEdge(1, 3, 1);
+        graph.addEdge(2, 3, 0);
+        graph.setNodeWeight(0, 2);
+        graph.setNodeWeight(1, 1);
+        graph.setNodeWeight(2, 5);
+        graph.setNodeWeight(3, 3);
+
+        DAGLongestPath lp = new DAGLongestPath(graph);
+        assertTrue(lp.computeLongestPaths(0));
+
+        assertEquals(2, lp.getDistance(0));
+        assertEquals(10, lp.getDistance(3));
+    }
+
+    @Test
+    public void testRecomputesOrderAfterGraphChange() {
+        Graph graph = new Graph(4, true);
+        graph.addEdge(0, 2, 1);
+        graph.addEdge(1, 3, 1);
+        DAGLongestPath lp = new DAGLongestPath(graph);
+        assertTrue(lp.computeLongestPaths(0));
+
+        // 1 now comes after 2, which the first order did not have to respect
+        graph.addEdge(0, 1, 1);
+        graph.addEdge(2, 1, 10);
+        assertTrue(lp.computeLongestPaths(0));
+
+        DAGLongestPath fresh = new DAGLongestPath(graph);
+        fresh.computeLongestPaths(0);
+        assertEquals(fresh.getDistance(3), lp.getDistance(3));
+        assertEquals(12, lp.getDistance(3));
+    }
 }
@@ -67,4 +67,44 @@ public class DAGShortestPathTest {
         // should return false for a cyclic graph
         assertFalse(sp.computeShortestPaths(0));
     }
+
+    @Test
+    public void testNodeWeightsCountOnEveryVertex() {
+        Graph graph = new Graph(4, true);
+        graph.addEdge(0, 1, 0);
+        graph.addEdge(0, 2, 0);
+        graph.addEdge(1, 3, 1);
+        graph.addEdge(2, 3, 0);
+        graph.setNodeWeight(0, 2);
+        graph.setNodeWeight(1, 1);
+        graph.setNodeWeight(2, 5);
+        graph.setNodeWeight(3, 3);
+
+        DAGShortestPath sp = new DAGShortestPath(graph);
+        assertTrue(sp.computeShortestPaths(0));
+
+        assertEquals(2, sp.getDistance(0));
+        assertEquals(3, sp.getDistance(1));
+        assertEquals(7, sp.getDistance(3));
+        assertEquals(List.of(0, 1, 3), sp.getPath(3));
+    }
+
+    @Test
+    public void testRecomputesOrderAfterGraphChange() {
+        Graph graph = new Graph(4, true);
+        graph.addEdge(0, 2, 1);
+        graph.addEdge(1, 3, 1);
+        DAGShortestPath sp = new DAGShortestPath(graph);
+        assertTrue(sp.computeShortestPaths(0));
+
+        // 1 now comes after 2, which the first order did not have to respect
+        graph.addEdge(0, 1, 10);
+        graph.addEdge(2, 1, 1);
+        assertTrue(sp.computeShortestPaths(0));
+
+        DAGShortestPath fresh = new DAGShortestPath(graph);
+        fresh.computeShortestPaths(0);
+        assertEquals(fresh.getDistance(3), sp.getDistance(3));
+        assertEquals(3, sp.getDistance(3));
+    }
 }
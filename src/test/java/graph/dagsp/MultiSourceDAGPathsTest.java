@@ -0,0 +1,86 @@
+package graph.dagsp;
+
+import graph.dagsp.MultiSourceDAGPaths.Objective;
+import graph.model.CSRGraph;
+import graph.model.Graph;
+import org.junit.jupiter.api.Test;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MultiSourceDAGPathsTest {
+
+    @Test
+    public void testDiamondFromSeveralSources() {
+        Graph graph = new Graph(4, true);
+        graph.addEdge(0, 1, 5);
+        graph.addEdge(0, 2, 3);
+        graph.addEdge(1, 3, 1);
+        graph.addEdge(2, 3, 4);
+
+        MultiSourceDAGPaths paths = new MultiSourceDAGPaths(graph);
+        int[][] shortest = paths.distancesFrom(new int[]{0, 2}, Objective.SHORTEST);
+        int[][] longest = paths.distancesFrom(new int[]{0, 2}, Objective.LONGEST);
+
+        assertArrayEquals(new int[]{0, 5, 3, 6}, shortest[0]);
+        assertArrayEquals(new int[]{Integer.MAX_VALUE, Integer.MAX_VALUE, 0, 4}, shortest[1]);
+        assertArrayEquals(new int[]{0, 5, 3, 7}, longest[0]);
+        assertEquals(Integer.MIN_VALUE, longest[1][0]);
+    }
+
+    @Test
+    public void testCycleRejected() {
+        Graph graph = new Graph(2, true);
+        graph.addEdge(0, 1);
+        graph.addEdge(1, 0);
+
+        assertThrows(IllegalArgumentException.class, () -> new MultiSourceDAGPaths(graph));
+    }
+
+    @Test
+    public void testMatchesSingleSourceEngines() {
+        Random random = new Random(15);
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            for (int round = 0; round < 5; round++) {
+                int n = 1 + random.nextInt(150);
+                CSRGraph.Builder builder = new CSRGraph.Builder(n, true);
+                for (int i = random.nextInt(3 * n); i > 0; i--) {
+                    int a = random.nextInt(n);
+                    int b = random.nextInt(n);
+                    if (a != b) {
+                        builder.addEdge(Math.min(a, b), Math.max(a, b), 1 + random.nextInt(20));
+                    }
+                }
+                CSRGraph graph = builder.build();
+
+                MultiSourceDAGPaths paths = new MultiSourceDAGPaths(graph, pool);
+                int[] sources = new int[n];
+                for (int i = 0; i < n; i++) {
+                    sources[i] = i;
+                }
+                int[][] shortest = paths.distancesFrom(sources, Objective.SHORTEST);
+                int[][] longest = paths.distancesFrom(sources, Objective.LONGEST);
+                MultiSourceDAGPaths.AllPairs allShortest = paths.allPairs(Objective.SHORTEST);
+                MultiSourceDAGPaths.AllPairs allLongest = paths.allPairs(Objective.LONGEST);
+                assertEquals((long) n * (n + 1) / 2, allShortest.size());
+
+                int[] order = paths.getTopologicalOrder();
+                DAGShortestPath sp = new DAGShortestPath(graph);
+                DAGLongestPath lp = new DAGLongestPath(graph);
+                for (int s = 0; s < n; s++) {
+                    assertTrue(sp.computeShortestPaths(s, order));
+                    assertTrue(lp.computeLongestPaths(s));
+                    for (int v = 0; v < n; v++) {
+                        assertEquals(sp.getDistance(v), shortest[s][v]);
+                        assertEquals(sp.getDistance(v), allShortest.getDistance(s, v));
+                        assertEquals(lp.getDistance(v), longest[s][v]);
+                        assertEquals(lp.getDistance(v), allLongest.getDistance(s, v));
+                    }
+                }
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package graph.model;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BinaryGraphFormatTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void testRoundTrip() throws IOException {
+        CSRGraph graph = new CSRGraph.Builder(4, true)
+                .addEdge(0, 1, 3)
+                .addEdge(0, 2, 5)
+                .addEdge(2, 3, 7)
+                .addEdge(3, 0, -2)
+                .build();
+        Path file = tempDir.resolve("graph.bin");
+
+        BinaryGraphFormat.write(graph, 2, "edge", file);
+        GraphLoader.GraphData data = BinaryGraphFormat.map(file);
+
+        assertEquals(2, data.source);
+        assertEquals("edge", data.weightModel);
+        assertTrue(data.graph.isDirected());
+        assertEquals(4, data.graph.getNumVertices());
+        assertEquals(4, data.graph.getNumEdges());
+        for (int u = 0; u < 4; u++) {
+            assertEquals(graph.getOutDegree(u), data.graph.getOutDegree(u));
+            for (int i = 0; i < graph.getOutDegree(u); i++) {
+                assertEquals(graph.getTarget(u, i), data.graph.getTarget(u, i));
+                assertEquals(graph.getWeight(u, i), data.graph.getWeight(u, i));
+            }
+        }
+    }
+
+    @Test
+    public void testLoaderDetectsBinaryFiles() throws IOException {
+        Path file = tempDir.resolve("small.bin");
+        GraphLoader.GraphData json = GraphLoader.loadFromFile("data/small/small_multi_scc.json");
+        BinaryGraphFormat.write(json.graph, json.source, json.weightModel, file);
+
+        GraphLoader.GraphData binary = GraphLoader.loadFromFile(file.toString());
+
+        assertTrue(binary.graph instanceof OffHeapCSRGraph);
+        assertEquals(json.graph.getNumEdges(), binary.graph.getNumEdges());
+    }
+
+    @Test
+    public void testRejectsCorruptModelLength() throws IOException {
+        Path file = tempDir.resolve("corrupt.bin");
+        GraphLoader.GraphData json = GraphLoader.loadFromFile("data/small/small_multi_scc.json");
+        BinaryGraphFormat.write(json.graph, json.source, json.weightModel, file);
+        byte[] bytes = Files.readAllBytes(file);
+
+        // the model length is the little-endian int at byte 28 of the header
+        for (int length : new int[]{-1, 1000}) {
+            ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN).putInt(28, length);
+            Files.write(file, bytes);
+            assertThrows(IOException.class, () -> BinaryGraphFormat.map(file));
+        }
+    }
+
+    @Test
+    public void testRejectsCorruptCounts() throws IOException {
+        Path file = tempDir.resolve("counts.bin");
+        GraphLoader.GraphData json = GraphLoader.loadFromFile("data/small/small_multi_scc.json");
+        BinaryGraphFormat.write(json.graph, json.source, json.weightModel, file);
+        byte[] original = Files.readAllBytes(file);
+        int n = json.graph.getNumVertices();
+
+        // n at byte 12, m at byte 16, source at byte 24, offsets[n] after the header
+        int[][] intPatches = {{12, -1}, {24, -1}, {24, n}};
+        for (int[] patch : intPatches) {
+            byte[] bytes = original.clone();
+            ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN).putInt(patch[0], patch[1]);
+            Files.write(file, bytes);
+            assertThrows(IOException.class, () -> BinaryGraphFormat.map(file), "patch at " + patch[0]);
+        }
+        long[][] longPatches = {{16, -1}, {16, Long.MAX_VALUE}, {BinaryGraphFormat.HEADER_SIZE + 8L * n, 1}};
+        for (long[] patch : longPatches) {
+            byte[] bytes = original.clone();
+            ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN).putLong((int) patch[0], patch[1]);
+            Files.write(file, bytes);
+            assertThrows(IOException.class, () -> BinaryGraphFormat.map(file), "patch at " + patch[0]);
+        }
+    }
+
+    @Test
+    public void testRejectsForeignFile() throws IOException {
+        Path file = tempDir.resolve("not-a-graph.bin");
+        Files.write(file, new byte[]{1, 2, 3, 4, 5, 6, 7, 8});
+
+        assertThrows(IOException.class, () -> BinaryGraphFormat.map(file));
+    }
+
+    @Test
+    public void testNodeWeightsRoundTrip() throws IOException {
+        CSRGraph graph = new CSRGraph.Builder(3, true)
+                .addEdge(0, 1, 0)
+                .addEdge(1, 2, 0)
+                .setNodeWeights(new int[]{4, 9, 2})
+                .build();
+        Path file = tempDir.resolve("nodes.bin");
+
+        BinaryGraphFormat.write(graph, 0, "node", file);
+        GraphLoader.GraphData data = BinaryGraphFormat.map(file);
+
+        assertEquals("node", data.weightModel);
+        assertTrue(data.graph.hasNodeWeights());
+        for (int v = 0; v < 3; v++) {
+            assertEquals(graph.getNodeWeight(v), data.graph.getNodeWeight(v));
+        }
+        assertEquals(2, data.graph.getTarget(1, 0));
+    }
+}
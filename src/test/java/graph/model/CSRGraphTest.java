@@ -0,0 +1,108 @@
+package graph.model;
+
+import graph.scc.KosarajuSCC;
+import graph.topo.KahnTopologicalSort;
+import org.junit.jupiter.api.Test;
+import java.util.List;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CSRGraphTest {
+
+    @Test
+    public void testFromGraphKeepsEdgeOrder() {
+        Graph graph = new Graph(4, true);
+        graph.addEdge(0, 2, 5);
+        graph.addEdge(0, 1, 3);
+        graph.addEdge(2, 3, 7);
+
+        CSRGraph csr = CSRGraph.from(graph);
+
+        assertEquals(4, csr.getNumVertices());
+        assertEquals(3, csr.getNumEdges());
+        assertEquals(2, csr.getOutDegree(0));
+        assertEquals(2, csr.getTarget(0, 0));
+        assertEquals(1, csr.getTarget(0, 1));
+        assertEquals(3, csr.getWeight(0, 1));
+        assertEquals(0, csr.getOutDegree(1));
+        assertEquals(7, csr.getWeight(2, 0));
+    }
+
+    @Test
+    public void testBuilderMatchesGraph() {
+        Graph graph = new Graph(3, true);
+        graph.addEdge(2, 0, 4);
+        graph.addEdge(0, 1, 1);
+        graph.addEdge(2, 1, 2);
+
+        CSRGraph built = new CSRGraph.Builder(3, true)
+                .addEdge(2, 0, 4)
+                .addEdge(0, 1, 1)
+                .addEdge(2, 1, 2)
+                .build();
+        CSRGraph converted = CSRGraph.from(graph);
+
+        for (int u = 0; u < 3; u++) {
+            assertEquals(converted.getOutDegree(u), built.getOutDegree(u));
+            for (int i = 0; i < built.getOutDegree(u); i++) {
+                assertEquals(converted.getTarget(u, i), built.getTarget(u, i));
+                assertEquals(converted.getWeight(u, i), built.getWeight(u, i));
+            }
+        }
+    }
+
+    @Test
+    public void testBuilderRejectsInvalidVertex() {
+        CSRGraph.Builder builder = new CSRGraph.Builder(2, true);
+        assertThrows(IllegalArgumentException.class, () -> builder.addEdge(0, 2, 1));
+    }
+
+    @Test
+    public void testReverseOf() {
+        Graph graph = new Graph(3, true);
+        graph.addEdge(0, 1, 2);
+        graph.addEdge(0, 2, 3);
+        graph.addEdge(1, 2, 4);
+
+        CSRGraph reverse = CSRGraph.reverseOf(graph);
+
+        assertEquals(0, reverse.getOutDegree(0));
+        assertEquals(1, reverse.getOutDegree(1));
+        assertEquals(0, reverse.getTarget(1, 0));
+        assertEquals(2, reverse.getOutDegree(2));
+        assertEquals(0, reverse.getTarget(2, 0));
+        assertEquals(3, reverse.getWeight(2, 0));
+        assertEquals(1, reverse.getTarget(2, 1));
+    }
+
+    @Test
+    public void testToGraphRoundTrip() {
+        CSRGraph csr = new CSRGraph.Builder(3, true)
+                .addEdge(0, 1, 2)
+                .addEdge(1, 2, 3)
+                .build();
+
+        Graph graph = csr.toGraph();
+
+        assertEquals(2, graph.getNumEdges());
+        assertEquals(new Edge(1, 2, 3), graph.getEdges(1).get(0));
+    }
+
+    @Test
+    public void testAlgorithmsRunOnCSR() {
+        CSRGraph csr = new CSRGraph.Builder(4, true)
+                .addEdge(0, 1)
+                .addEdge(1, 0)
+                .addEdge(1, 2)
+                .addEdge(2, 3)
+                .build();
+
+        KosarajuSCC scc = new KosarajuSCC(csr);
+        scc.findSCCs();
+        assertEquals(3, scc.getNumComponents());
+
+        KahnTopologicalSort topoSort = new KahnTopologicalSort(scc.buildCondensationGraph());
+        List<Integer> order = topoSort.sort();
+        assertNotNull(order);
+        assertEquals(3, order.size());
+    }
+}
@@ -0,0 +1,114 @@
+package graph.model;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.junit.jupiter.api.Test;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class GraphLoaderTest {
+
+    private GraphLoader.GraphData load(String json) throws IOException {
+        return GraphLoader.load(new StringReader(json));
+    }
+
+    @Test
+    public void testEdgesBeforeVertexCount() throws IOException {
+        GraphLoader.GraphData data = load("{\"weight_model\": \"edge\", \"directed\": true,"
+                + " \"edges\": [{\"u\": 0, \"v\": 1, \"w\": 4}, {\"v\": 2, \"u\": 1}],"
+                + " \"source\": 1, \"n\": 3}");
+
+        assertEquals(3, data.graph.getNumVertices());
+        assertEquals(2, data.graph.getNumEdges());
+        assertEquals(4, data.graph.getWeight(0, 0));
+        assertEquals(2, data.graph.getTarget(1, 0));
+        assertEquals(1, data.graph.getWeight(1, 0));
+        assertEquals(1, data.source);
+        assertEquals("edge", data.weightModel);
+    }
+
+    @Test
+    public void testUnknownFieldsAreSkipped() throws IOException {
+        GraphLoader.GraphData data = load("{\"n\": 2, \"meta\": {\"tags\": [\"a\\\"b\", 1.5, null, false]},"
+                + " \"directed\": false, \"edges\": [{\"u\": 0, \"v\": 1, \"label\": \"x\"}]}");
+
+        assertFalse(data.graph.isDirected());
+        assertEquals(1, data.graph.getNumEdges());
+        assertEquals(0, data.source);
+    }
+
+    @Test
+    public void testLargeUnknownNumbersAreSkipped() throws IOException {
+        GraphLoader.GraphData data = load("{\"created\": 1729123456789012, \"n\": 2, \"directed\": true,"
+                + " \"edges\": [{\"u\": 0, \"v\": 1, \"id\": 98765432109876543210, \"p\": -1.5e300}]}");
+
+        assertEquals(2, data.graph.getNumVertices());
+        assertEquals(1, data.graph.getNumEdges());
+    }
+
+    @Test
+    public void testMissingVertexCount() {
+        assertThrows(IOException.class, () -> load("{\"directed\": true, \"edges\": []}"));
+    }
+
+    @Test
+    public void testMalformedInput() {
+        assertThrows(IOException.class, () -> load("{\"n\": 2, \"directed\": true, \"edges\": [{\"u\": 0,}"));
+    }
+
+    @Test
+    public void testEdgeOutOfRange() {
+        assertThrows(IllegalArgumentException.class,
+                () -> load("{\"n\": 2, \"directed\": true, \"edges\": [{\"u\": 0, \"v\": 5}]}"));
+    }
+
+    @Test
+    public void testMatchesJsonObjectParsing() throws IOException {
+        String path = "data/medium/medium_multi_scc.json";
+        JSONObject json = new JSONObject(new String(Files.readAllBytes(Paths.get(path))));
+        GraphView graph = GraphLoader.loadFromFile(path).graph;
+
+        Graph expected = new Graph(json.getInt("n"), json.getBoolean("directed"));
+        JSONArray edges = json.getJSONArray("edges");
+        for (int i = 0; i < edges.length(); i++) {
+            JSONObject edge = edges.getJSONObject(i);
+            expected.addEdge(edge.getInt("u"), edge.getInt("v"), edge.optInt("w", 1));
+        }
+
+        assertEquals(expected.getNumEdges(), graph.getNumEdges());
+        for (int u = 0; u < expected.getNumVertices(); u++) {
+            assertEquals(expected.getOutDegree(u), graph.getOutDegree(u));
+            for (int i = 0; i < expected.getOutDegree(u); i++) {
+                assertEquals(expected.getTarget(u, i), graph.getTarget(u, i));
+                assertEquals(expected.getWeight(u, i), graph.getWeight(u, i));
+            }
+        }
+    }
+
+    @Test
+    public void testNodeWeightModel() throws IOException {
+        GraphLoader.GraphData data = load("{\"n\": 3, \"directed\": true,"
+                + " \"edges\": [{\"u\": 0, \"v\": 1}, {\"u\": 1, \"v\": 2, \"w\": 4}],"
+                + " \"weight_model\": \"node\", \"node_weights\": [5, 2, 7]}");
+
+        assertEquals("node", data.weightModel);
+        assertTrue(data.graph.hasNodeWeights());
+        assertEquals(7, data.graph.getNodeWeight(2));
+        // dependencies without "w" weigh nothing, explicit lags are kept
+        assertEquals(0, data.graph.getWeight(0, 0));
+        assertEquals(4, data.graph.getWeight(1, 0));
+    }
+
+    @Test
+    public void testNodeWeightModelErrors() {
+        assertThrows(IOException.class, () -> load("{\"n\": 2, \"directed\": true,"
+                + " \"weight_model\": \"node\", \"edges\": []}"));
+        assertThrows(IOException.class, () -> load("{\"n\": 2, \"directed\": true,"
+                + " \"node_weights\": [1], \"edges\": []}"));
+        assertThrows(IOException.class, () -> load("{\"n\": 2, \"directed\": true,"
+                + " \"weight_model\": \"vertex\", \"edges\": []}"));
+    }
+}
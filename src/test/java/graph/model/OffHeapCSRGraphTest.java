@@ -0,0 +1,134 @@
+package graph.model;
+
+import graph.scc.CondensationBuilder;
+import graph.scc.KosarajuSCC;
+import graph.scc.ParallelSCC;
+import graph.scc.TarjanSCC;
+import graph.topo.KahnTopologicalSort;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Random;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class OffHeapCSRGraphTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void testCopyMatchesHeapGraph() {
+        Random random = new Random(23);
+        for (int trial = 0; trial < 20; trial++) {
+            int n = 1 + random.nextInt(200);
+            CSRGraph graph = TestGraphs.randomGraph(random, n, random.nextInt(4 * n));
+
+            OffHeapCSRGraph copy = OffHeapCSRGraph.copyOf(graph);
+
+            assertEquals(graph.toString(), CSRGraph.from(copy).toString());
+            assertEquals(graph.getNumEdges(), copy.getNumEdgesLong());
+            for (int u = 0; u < n; u++) {
+                assertEquals(graph.getEdgeStart(u), copy.getEdgeStart(u));
+                assertEquals(graph.getEdgeEnd(u), copy.getEdgeEnd(u));
+            }
+        }
+    }
+
+    @Test
+    public void testAlgorithmsMatchHeapGraph() {
+        Random random = new Random(7);
+        for (int trial = 0; trial < 20; trial++) {
+            int n = 1 + random.nextInt(300);
+            CSRGraph graph = TestGraphs.randomGraph(random, n, random.nextInt(2 * n));
+            OffHeapCSRGraph copy = OffHeapCSRGraph.copyOf(graph);
+
+            TarjanSCC heapTarjan = new TarjanSCC(graph);
+            heapTarjan.findSCCs();
+            TarjanSCC offHeapTarjan = new TarjanSCC(copy);
+            offHeapTarjan.findSCCs();
+            assertArrayEquals(heapTarjan.getComponentIds(), offHeapTarjan.getComponentIds());
+
+            KosarajuSCC heapKosaraju = new KosarajuSCC(graph);
+            heapKosaraju.findSCCs();
+            KosarajuSCC offHeapKosaraju = new KosarajuSCC(copy);
+            offHeapKosaraju.findSCCs();
+            assertArrayEquals(heapKosaraju.getComponentIds(), offHeapKosaraju.getComponentIds());
+
+            ParallelSCC heapParallel = new ParallelSCC(graph);
+            heapParallel.findSCCs();
+            ParallelSCC offHeapParallel = new ParallelSCC(copy);
+            offHeapParallel.findSCCs();
+            assertArrayEquals(heapParallel.getComponentIds(), offHeapParallel.getComponentIds());
+
+            CSRGraph condensation = heapTarjan.buildCondensation(CondensationBuilder.WeightMode.MIN);
+            assertArrayEquals(new KahnTopologicalSort(condensation).computeOrder(),
+                    new KahnTopologicalSort(OffHeapCSRGraph.copyOf(condensation)).computeOrder());
+        }
+    }
+
+    @Test
+    public void testTransposeMatchesReverseCopy() {
+        Random random = new Random(11);
+        CSRGraph graph = TestGraphs.randomGraph(random, 150, 600);
+        OffHeapCSRGraph copy = OffHeapCSRGraph.copyOf(graph);
+
+        OffHeapCSRGraph reverse = copy.transpose();
+
+        assertEquals(CSRGraph.reverseOf(graph).toString(), CSRGraph.from(reverse).toString());
+        assertSame(reverse, copy.transpose());
+        assertSame(copy, reverse.transpose());
+    }
+
+    @Test
+    public void testBuilderKeepsNodeWeights() {
+        OffHeapCSRGraph graph = new OffHeapCSRGraph.Builder(3, 2, true, true)
+                .addVertex(1, 5)
+                .addVertex(1, 6)
+                .addVertex(0, 7)
+                .addEdge(1, 2)
+                .addEdge(2, 4)
+                .build();
+
+        assertTrue(graph.hasNodeWeights());
+        assertEquals(7, graph.getNodeWeight(2));
+        assertEquals(4, graph.getWeight(1, 0));
+        assertEquals(6, graph.transpose().getNodeWeight(1));
+        assertEquals(1, graph.transpose().getTarget(2, 0));
+    }
+
+    @Test
+    public void testBuilderRejectsIncompleteGraph() {
+        OffHeapCSRGraph.Builder builder = new OffHeapCSRGraph.Builder(2, 2, true, false)
+                .addVertex(2)
+                .addVertex(0)
+                .addEdge(1, 1);
+
+        assertThrows(IllegalStateException.class, builder::build);
+        assertThrows(IllegalArgumentException.class, () -> builder.addEdge(5, 1));
+    }
+
+    @Test
+    public void testEmptyGraph() {
+        OffHeapCSRGraph graph = OffHeapCSRGraph.copyOf(new CSRGraph.Builder(0, true).build());
+
+        assertEquals(0, graph.getNumVertices());
+        assertEquals(0, graph.getNumEdges());
+        assertEquals(0, graph.transpose().getNumVertices());
+    }
+
+    @Test
+    public void testCopyToMappedFile() throws IOException {
+        CSRGraph graph = new CSRGraph.Builder(3, true)
+                .addEdge(0, 1, 2)
+                .addEdge(1, 2, 4)
+                .setNodeWeights(new int[]{5, 6, 7})
+                .build();
+
+        OffHeapCSRGraph mapped = OffHeapCSRGraph.copyOf(graph, tempDir.resolve("copy.bin"));
+
+        assertEquals(graph.toString(), CSRGraph.from(mapped).toString());
+        assertTrue(mapped.hasNodeWeights());
+        assertEquals(6, mapped.getNodeWeight(1));
+    }
+}
@@ -0,0 +1,100 @@
+package graph.model;
+
+import org.junit.jupiter.api.Test;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ParallelCSRBuilderTest {
+
+    private int[][] randomEdges(Random random, int n, int m) {
+        int[][] edges = new int[3][m];
+        for (int i = 0; i < m; i++) {
+            // a few hubs so that some segments are long
+            edges[0][i] = random.nextInt(8) == 0 ? random.nextInt(4) : random.nextInt(n);
+            edges[1][i] = random.nextInt(n);
+            edges[2][i] = random.nextInt(100);
+        }
+        return edges;
+    }
+
+    @Test
+    public void testMatchesSequentialBuilder() {
+        Random random = new Random(21);
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            for (int m : new int[]{0, 10, 1000, 200000}) {
+                int n = 1 + m / 4;
+                int[][] edges = randomEdges(random, n, m);
+                CSRGraph.Builder sequential = new CSRGraph.Builder(n, true);
+                for (int i = 0; i < m; i++) {
+                    sequential.addEdge(edges[0][i], edges[1][i], edges[2][i]);
+                }
+
+                CSRGraph parallel = new ParallelCSRBuilder(n, true).setPool(pool)
+                        .build(edges[0], edges[1], edges[2]);
+
+                assertEquals(sequential.build().toString(), parallel.toString());
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void testSortedNeighbours() {
+        Random random = new Random(7);
+        int n = 5000;
+        int[][] edges = randomEdges(random, n, 100000);
+
+        CSRGraph graph = new ParallelCSRBuilder(n, true).setSortNeighbours(true)
+                .build(edges[0], edges[1], edges[2]);
+
+        assertEquals(100000, graph.getNumEdges());
+        for (int u = 0; u < n; u++) {
+            for (int e = graph.getEdgeStart(u) + 1; e < graph.getEdgeEnd(u); e++) {
+                assertTrue(graph.getTargetAt(e - 1) <= graph.getTargetAt(e));
+            }
+        }
+    }
+
+    @Test
+    public void testDuplicateModes() {
+        int[] from = {0, 0, 0, 1, 0};
+        int[] to = {2, 1, 2, 0, 2};
+        int[] weight = {5, 4, 3, 1, 9};
+
+        CSRGraph first = new ParallelCSRBuilder(3, true)
+                .setDuplicates(ParallelCSRBuilder.Duplicates.FIRST).build(from, to, weight);
+        assertEquals(3, first.getNumEdges());
+        assertEquals(2, first.getOutDegree(0));
+        assertEquals(1, first.getTarget(0, 0));
+        assertEquals(2, first.getTarget(0, 1));
+        assertEquals(5, first.getWeight(0, 1));
+        assertEquals(0, first.getTarget(1, 0));
+
+        assertEquals(3, new ParallelCSRBuilder(3, true).setDuplicates(ParallelCSRBuilder.Duplicates.MIN)
+                .build(from, to, weight).getWeight(0, 1));
+        assertEquals(9, new ParallelCSRBuilder(3, true).setDuplicates(ParallelCSRBuilder.Duplicates.MAX)
+                .build(from, to, weight).getWeight(0, 1));
+        assertEquals(17, new ParallelCSRBuilder(3, true).setDuplicates(ParallelCSRBuilder.Duplicates.SUM)
+                .build(from, to, weight).getWeight(0, 1));
+    }
+
+    @Test
+    public void testDefaultsAndValidation() {
+        CSRGraph graph = new ParallelCSRBuilder(3, false).setNodeWeights(new int[]{1, 2, 3})
+                .build(new int[]{0, 1}, new int[]{1, 2}, null);
+
+        assertFalse(graph.isDirected());
+        assertEquals(1, graph.getWeight(0, 0));
+        assertEquals(3, graph.getNodeWeight(2));
+
+        assertThrows(IllegalArgumentException.class, () ->
+                new ParallelCSRBuilder(3, true).build(new int[]{0}, new int[]{3}, null));
+        assertThrows(IllegalArgumentException.class, () ->
+                new ParallelCSRBuilder(3, true).build(new int[]{0}, new int[]{1, 2}, null));
+        assertThrows(IllegalArgumentException.class, () ->
+                new ParallelCSRBuilder(3, true).setNodeWeights(new int[2]));
+    }
+}
@@ -0,0 +1,30 @@
+package graph.model;
+
+import java.util.Random;
+
+// small and random graphs shared by tests of several packages
+public final class TestGraphs {
+
+    private TestGraphs() {
+    }
+
+    // m directed edges with uniform endpoints and weights in [0, 50)
+    public static CSRGraph randomGraph(Random random, int n, int m) {
+        CSRGraph.Builder builder = new CSRGraph.Builder(n, true);
+        for (int e = 0; e < m; e++) {
+            builder.addEdge(random.nextInt(n), random.nextInt(n), random.nextInt(50));
+        }
+        return builder.build();
+    }
+
+    // A -> B -> D, A -> C -> D with zero lags; the scheduling tests give the
+    // tasks durations A=3, B=2, C=4, D=1
+    public static Graph diamond() {
+        Graph graph = new Graph(4, true);
+        graph.addEdge(0, 1, 0);
+        graph.addEdge(0, 2, 0);
+        graph.addEdge(1, 3, 0);
+        graph.addEdge(2, 3, 0);
+        return graph;
+    }
+}
@@ -0,0 +1,65 @@
+package graph.model;
+
+import org.junit.jupiter.api.Test;
+import java.util.Random;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TransposeViewTest {
+
+    @Test
+    public void testMatchesReverseCopy() {
+        Random random = new Random(22);
+        for (int trial = 0; trial < 20; trial++) {
+            int n = 1 + random.nextInt(200);
+            CSRGraph graph = TestGraphs.randomGraph(random, n, random.nextInt(4 * n));
+
+            TransposeView view = graph.transpose();
+
+            assertEquals(CSRGraph.reverseOf(graph).toString(), CSRGraph.from(view).toString());
+            assertEquals(graph.getNumEdges(), view.getNumEdges());
+            for (int v = 0; v < n; v++) {
+                assertEquals(view.getOutDegree(v), view.getEdgeEnd(v) - view.getEdgeStart(v));
+                for (int i = 0; i < view.getOutDegree(v); i++) {
+                    assertEquals(view.getTarget(v, i), view.getTargetAt(view.getEdgeStart(v) + i));
+                    assertEquals(view.getWeight(v, i), view.getWeightAt(view.getEdgeStart(v) + i));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testBuiltOnceAndReversible() {
+        CSRGraph graph = new CSRGraph.Builder(3, true)
+                .addEdge(0, 1, 2)
+                .addEdge(1, 2, 4)
+                .setNodeWeights(new int[]{5, 6, 7})
+                .build();
+
+        TransposeView view = graph.transpose();
+
+        assertSame(view, graph.transpose());
+        assertSame(graph, view.transpose());
+        assertTrue(view.hasNodeWeights());
+        assertEquals(6, view.getNodeWeight(1));
+        assertEquals(1, view.getTarget(2, 0));
+        assertEquals(4, view.getWeight(2, 0));
+    }
+
+    @Test
+    public void testGraphReverseFollowsChanges() {
+        Graph graph = new Graph(3, true);
+        graph.addEdge(0, 1, 2);
+        GraphView first = graph.transpose();
+
+        assertSame(first, graph.transpose());
+        assertEquals(0, first.getOutDegree(2));
+
+        graph.addEdge(1, 2, 3);
+        GraphView second = graph.transpose();
+
+        assertNotSame(first, second);
+        assertEquals(1, second.getOutDegree(2));
+        assertEquals(1, second.getTarget(2, 0));
+        assertEquals(3, second.getWeight(2, 0));
+    }
+}
@@ -0,0 +1,113 @@
+package graph.scc;
+
+import graph.model.CSRGraph;
+import graph.model.Graph;
+import org.junit.jupiter.api.Test;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CondensationBuilderTest {
+
+    // {0,1} cycle and {2,3} cycle with three parallel edges between them
+    private Graph twoCyclesGraph() {
+        Graph graph = new Graph(4, true);
+        graph.addEdge(0, 1, 1);
+        graph.addEdge(1, 0, 1);
+        graph.addEdge(2, 3, 1);
+        graph.addEdge(3, 2, 1);
+        graph.addEdge(0, 2, 5);
+        graph.addEdge(1, 3, 2);
+        graph.addEdge(0, 3, 9);
+        return graph;
+    }
+
+    @Test
+    public void testParallelEdgesAreMerged() {
+        SCCFinder scc = new KosarajuSCC(twoCyclesGraph());
+        scc.findSCCs();
+
+        CSRGraph condensation = scc.buildCondensation(CondensationBuilder.WeightMode.FIRST);
+
+        assertEquals(2, condensation.getNumVertices());
+        assertEquals(1, condensation.getNumEdges());
+        assertEquals(5, condensation.getWeight(0, 0));
+    }
+
+    @Test
+    public void testWeightModes() {
+        SCCFinder scc = new KosarajuSCC(twoCyclesGraph());
+        scc.findSCCs();
+
+        assertEquals(2, scc.buildCondensation(CondensationBuilder.WeightMode.MIN).getWeight(0, 0));
+        assertEquals(9, scc.buildCondensation(CondensationBuilder.WeightMode.MAX).getWeight(0, 0));
+        assertEquals(16, scc.buildCondensation(CondensationBuilder.WeightMode.SUM).getWeight(0, 0));
+    }
+
+    @Test
+    public void testSumOverflowIsRejected() {
+        Graph graph = new Graph(2, true);
+        graph.addEdge(0, 1, Integer.MAX_VALUE);
+        graph.addEdge(0, 1, 1);
+        SCCFinder scc = new KosarajuSCC(graph);
+        scc.findSCCs();
+
+        assertThrows(ArithmeticException.class,
+                () -> scc.buildCondensation(CondensationBuilder.WeightMode.SUM));
+    }
+
+    @Test
+    public void testMatchesStringKeyedCondensation() {
+        Random random = new Random(5);
+        for (int round = 0; round < 20; round++) {
+            int n = 1 + random.nextInt(100);
+            Graph graph = new Graph(n, true);
+            int m = random.nextInt(4 * n);
+            for (int i = 0; i < m; i++) {
+                graph.addEdge(random.nextInt(n), random.nextInt(n), 1 + random.nextInt(10));
+            }
+
+            KosarajuSCC scc = new KosarajuSCC(graph);
+            scc.findSCCs();
+            Graph actual = scc.buildCondensationGraph();
+
+            // the original HashSet<String> construction, kept as reference
+            int[] comp = scc.getComponentIds();
+            Graph expected = new Graph(scc.getNumComponents(), true);
+            Set<String> added = new HashSet<>();
+            for (int u = 0; u < n; u++) {
+                for (int i = 0; i < graph.getOutDegree(u); i++) {
+                    int cu = comp[u];
+                    int cv = comp[graph.getTarget(u, i)];
+                    if (cu != cv && added.add(cu + "-" + cv)) {
+                        expected.addEdge(cu, cv, graph.getWeight(u, i));
+                    }
+                }
+            }
+
+            assertEquals(expected.toString(), actual.toString());
+        }
+    }
+
+    @Test
+    public void testNodeWeightsAreSummedPerComponent() {
+        Graph graph = twoCyclesGraph();
+        graph.setNodeWeight(0, 3);
+        graph.setNodeWeight(1, 4);
+        graph.setNodeWeight(3, 10);
+        SCCFinder scc = new KosarajuSCC(graph);
+        scc.findSCCs();
+
+        CSRGraph condensation = scc.buildCondensation(CondensationBuilder.WeightMode.FIRST);
+        int[] ids = scc.getComponentIds();
+
+        assertTrue(condensation.hasNodeWeights());
+        assertEquals(7, condensation.getNodeWeight(ids[0]));
+        assertEquals(10, condensation.getNodeWeight(ids[2]));
+
+        SCCFinder unweighted = new KosarajuSCC(twoCyclesGraph());
+        unweighted.findSCCs();
+        assertFalse(unweighted.buildCondensation(CondensationBuilder.WeightMode.FIRST).hasNodeWeights());
+    }
+}
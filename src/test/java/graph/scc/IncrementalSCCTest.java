@@ -0,0 +1,134 @@
+package graph.scc;
+
+import graph.model.CSRGraph;
+import graph.model.Graph;
+import org.junit.jupiter.api.Test;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class IncrementalSCCTest {
+
+    @Test
+    public void testInsertClosingCycleMerges() {
+        // 0 -> 1 -> 2 -> 3
+        Graph graph = new Graph(4, true);
+        graph.addEdge(0, 1);
+        graph.addEdge(1, 2);
+        graph.addEdge(2, 3);
+
+        IncrementalSCC scc = new IncrementalSCC(graph);
+        assertEquals(4, scc.getNumComponents());
+
+        scc.addEdge(2, 0);
+        assertEquals(2, scc.getNumComponents());
+        assertTrue(scc.sameComponent(0, 2));
+        assertFalse(scc.sameComponent(0, 3));
+        assertArrayEquals(new int[]{0, 0, 0, 1}, scc.getComponentIds());
+
+        CSRGraph condensation = scc.buildCondensation();
+        assertEquals(2, condensation.getNumVertices());
+        assertEquals(1, condensation.getNumEdges());
+    }
+
+    @Test
+    public void testDeleteInsideComponentSplits() {
+        // 0 <-> 1 -> 2 <-> 3
+        Graph graph = new Graph(4, true);
+        graph.addEdge(0, 1);
+        graph.addEdge(1, 0);
+        graph.addEdge(1, 2);
+        graph.addEdge(2, 3);
+        graph.addEdge(3, 2);
+        graph.addEdge(3, 0);
+
+        IncrementalSCC scc = new IncrementalSCC(graph);
+        assertEquals(1, scc.getNumComponents());
+
+        assertTrue(scc.removeEdge(3, 0));
+        assertEquals(2, scc.getNumComponents());
+        assertArrayEquals(new int[]{0, 0, 1, 1}, scc.getComponentIds());
+        assertFalse(scc.removeEdge(3, 0));
+    }
+
+    @Test
+    public void testParallelEdgesKeepCondensationEdge() {
+        Graph graph = new Graph(2, true);
+        graph.addEdge(0, 1);
+        graph.addEdge(0, 1);
+
+        IncrementalSCC scc = new IncrementalSCC(graph);
+        CSRGraph condensation = scc.buildCondensation();
+        assertEquals(2, condensation.getWeight(0, 0));
+
+        scc.removeEdge(0, 1);
+        assertEquals(1, scc.buildCondensation().getNumEdges());
+        scc.removeEdge(0, 1);
+        assertEquals(0, scc.buildCondensation().getNumEdges());
+    }
+
+    @Test
+    public void testMatchesRecomputationUnderRandomUpdates() {
+        Random random = new Random(12);
+        for (int round = 0; round < 20; round++) {
+            int n = 2 + random.nextInt(60);
+            List<int[]> edges = new ArrayList<>();
+            for (int i = random.nextInt(n); i > 0; i--) {
+                edges.add(new int[]{random.nextInt(n), random.nextInt(n)});
+            }
+            IncrementalSCC scc = new IncrementalSCC(toGraph(n, edges));
+
+            for (int step = 0; step < 300; step++) {
+                if (edges.isEmpty() || random.nextInt(3) > 0) {
+                    int[] edge = {random.nextInt(n), random.nextInt(n)};
+                    edges.add(edge);
+                    scc.addEdge(edge[0], edge[1]);
+                } else {
+                    int[] edge = edges.remove(random.nextInt(edges.size()));
+                    assertTrue(scc.removeEdge(edge[0], edge[1]));
+                }
+                if (step % 10 == 0) {
+                    assertConsistent(n, edges, scc);
+                }
+            }
+            assertConsistent(n, edges, scc);
+        }
+    }
+
+    private static void assertConsistent(int n, List<int[]> edges, IncrementalSCC scc) {
+        TarjanSCC tarjan = new TarjanSCC(toGraph(n, edges));
+        tarjan.findSCCs();
+        int[] ids = scc.getComponentIds();
+        assertEquals(tarjan.getNumComponents(), scc.getNumComponents());
+        TarjanSCCTest.assertSamePartition(tarjan.getComponentIds(), ids);
+
+        // every edge goes forward in the maintained order, and the live
+        // condensation counts exactly the edges between components
+        Map<Long, Integer> expected = new HashMap<>();
+        for (int[] edge : edges) {
+            assertTrue(ids[edge[0]] <= ids[edge[1]]);
+            if (ids[edge[0]] != ids[edge[1]]) {
+                expected.merge(((long) ids[edge[0]] << 32) | ids[edge[1]], 1, Integer::sum);
+            }
+        }
+        Map<Long, Integer> actual = new HashMap<>();
+        CSRGraph condensation = scc.buildCondensation();
+        for (int c = 0; c < condensation.getNumVertices(); c++) {
+            for (int i = 0; i < condensation.getOutDegree(c); i++) {
+                actual.put(((long) c << 32) | condensation.getTarget(c, i), condensation.getWeight(c, i));
+            }
+        }
+        assertEquals(expected, actual);
+    }
+
+    private static CSRGraph toGraph(int n, List<int[]> edges) {
+        CSRGraph.Builder builder = new CSRGraph.Builder(n, true);
+        for (int[] edge : edges) {
+            builder.addEdge(edge[0], edge[1]);
+        }
+        return builder.build();
+    }
+}
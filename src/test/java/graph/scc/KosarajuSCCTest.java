@@ -2,6 +2,9 @@ package graph.scc;
 
 import graph.model.Graph;
 import org.junit.jupiter.api.Test;
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -112,4 +115,73 @@ public class KosarajuSCCTest {
         assertTrue(condensation.getNumVertices() >= 2);
         assertTrue(condensation.getNumEdges() >= 1);
     }
+
+    @Test
+    public void testLongChainDoesNotOverflowStack() {
+        // 0 -> 1 -> ... -> n-1 -> 0 is one SCC deeper than any default thread stack
+        int n = 500_000;
+        Graph graph = new Graph(n, true);
+        for (int i = 0; i + 1 < n; i++) {
+            graph.addEdge(i, i + 1);
+        }
+        graph.addEdge(n - 1, 0);
+
+        KosarajuSCC scc = new KosarajuSCC(graph);
+        scc.findSCCs();
+
+        assertEquals(1, scc.getNumComponents());
+        assertEquals(n, scc.getSCCs().get(0).size());
+    }
+
+    @Test
+    public void testComponentOrderFollowsFinishTime() {
+        // 0 -> {1,2} cycle -> 3, components come out in topological order
+        Graph graph = new Graph(4, true);
+        graph.addEdge(0, 1);
+        graph.addEdge(1, 2);
+        graph.addEdge(2, 1);
+        graph.addEdge(2, 3);
+
+        KosarajuSCC scc = new KosarajuSCC(graph);
+        scc.findSCCs();
+
+        assertEquals(3, scc.getNumComponents());
+        assertArrayEquals(new int[]{0, 1, 1, 2}, scc.getComponentIds());
+        assertEquals(List.of(1, 2), scc.getSCCs().get(1));
+    }
+
+    @Test
+    public void testRestoreGivesSameComponents() {
+        Graph graph = new Graph(5, true);
+        graph.addEdge(0, 1);
+        graph.addEdge(1, 0);
+        graph.addEdge(1, 2);
+        graph.addEdge(2, 3);
+        graph.addEdge(3, 2);
+        graph.addEdge(3, 4);
+        KosarajuSCC found = new KosarajuSCC(graph);
+        found.findSCCs();
+
+        KosarajuSCC restored = new KosarajuSCC(graph);
+        restored.restore(found.getComponentIds().clone(), found.getMembers().clone());
+
+        assertEquals(found.getNumComponents(), restored.getNumComponents());
+        assertEquals(found.getSCCs(), restored.getSCCs());
+        assertEquals(found.buildCondensation(CondensationBuilder.WeightMode.FIRST).toString(),
+                restored.buildCondensation(CondensationBuilder.WeightMode.FIRST).toString());
+        assertThrows(IllegalArgumentException.class,
+                () -> restored.restore(new int[]{0, 1, 0, 1, 2}, new int[]{0, 1, 2, 3, 4}));
+        assertThrows(IllegalArgumentException.class,
+                () -> restored.restore(new int[]{0, -1, 0, 1, 2}, new int[]{0, 2, 1, 3, 4}));
+        // id 2 unused
+        assertThrows(IllegalArgumentException.class,
+                () -> restored.restore(new int[]{0, 0, 1, 1, 3}, new int[]{0, 1, 2, 3, 4}));
+        // vertex 0 listed twice, vertex 1 missing
+        assertThrows(IllegalArgumentException.class,
+                () -> restored.restore(new int[]{0, 0, 1, 1, 2}, new int[]{0, 0, 2, 3, 4}));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        restored.printSCCs(new PrintStream(out, true, StandardCharsets.UTF_8));
+        assertTrue(out.toString(StandardCharsets.UTF_8).contains("Kosaraju SCC: restored from cache"));
+    }
 }
@@ -0,0 +1,118 @@
+package graph.scc;
+
+import graph.model.CSRGraph;
+import graph.model.Graph;
+import org.junit.jupiter.api.Test;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ParallelSCCTest {
+
+    @Test
+    public void testSimpleCycle() {
+        Graph graph = new Graph(3, true);
+        graph.addEdge(0, 1);
+        graph.addEdge(1, 2);
+        graph.addEdge(2, 0);
+
+        SCCFinder scc = new ParallelSCC(graph);
+        scc.findSCCs();
+
+        assertEquals(1, scc.getNumComponents());
+        assertEquals(3, scc.getSCCs().get(0).size());
+    }
+
+    @Test
+    public void testSameIdsAsKosarajuOnSmallGraph() {
+        // 0 -> {1,2} cycle -> 3
+        Graph graph = new Graph(4, true);
+        graph.addEdge(0, 1);
+        graph.addEdge(1, 2);
+        graph.addEdge(2, 1);
+        graph.addEdge(2, 3);
+
+        SCCFinder scc = new ParallelSCC(graph);
+        scc.findSCCs();
+
+        assertArrayEquals(new int[]{0, 1, 1, 2}, scc.getComponentIds());
+    }
+
+    @Test
+    public void testMatchesKosarajuOnRandomGraphs() {
+        Random random = new Random(11);
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            for (int round = 0; round < 10; round++) {
+                // mix of small graphs and graphs large enough to fork subtasks
+                int n = round < 5 ? 1 + random.nextInt(200) : 5_000 + random.nextInt(20_000);
+                CSRGraph.Builder builder = new CSRGraph.Builder(n, true);
+                int m = random.nextInt(3 * n);
+                for (int i = 0; i < m; i++) {
+                    builder.addEdge(random.nextInt(n), random.nextInt(n));
+                }
+                CSRGraph graph = builder.build();
+
+                SCCFinder kosaraju = new KosarajuSCC(graph);
+                SCCFinder parallel = new ParallelSCC(graph, pool);
+                kosaraju.findSCCs();
+                parallel.findSCCs();
+
+                assertEquals(kosaraju.getNumComponents(), parallel.getNumComponents());
+                TarjanSCCTest.assertSamePartition(kosaraju.getComponentIds(), parallel.getComponentIds());
+
+                int[] comp = parallel.getComponentIds();
+                for (int u = 0; u < n; u++) {
+                    for (int i = 0; i < graph.getOutDegree(u); i++) {
+                        assertTrue(comp[u] <= comp[graph.getTarget(u, i)]);
+                    }
+                }
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void testDeterministicAcrossRuns() {
+        Random random = new Random(3);
+        int n = 30_000;
+        CSRGraph.Builder builder = new CSRGraph.Builder(n, true);
+        for (int i = 0; i < 2 * n; i++) {
+            builder.addEdge(random.nextInt(n), random.nextInt(n));
+        }
+        CSRGraph graph = builder.build();
+
+        SCCFinder first = new ParallelSCC(graph);
+        SCCFinder second = new ParallelSCC(graph);
+        first.findSCCs();
+        second.findSCCs();
+
+        assertArrayEquals(first.getComponentIds(), second.getComponentIds());
+        assertEquals(first.getSCCs(), second.getSCCs());
+    }
+
+    @Test
+    public void testLongChainIsTrimmed() {
+        int n = 500_000;
+        CSRGraph.Builder builder = new CSRGraph.Builder(n, true);
+        for (int i = 0; i + 1 < n; i++) {
+            builder.addEdge(i, i + 1);
+        }
+
+        SCCFinder scc = new ParallelSCC(builder.build());
+        scc.findSCCs();
+
+        assertEquals(n, scc.getNumComponents());
+        assertEquals(0, scc.getComponentIds()[0]);
+        assertEquals(n - 1, scc.getComponentIds()[n - 1]);
+    }
+
+    @Test
+    public void testEmptyGraph() {
+        SCCFinder scc = new ParallelSCC(new Graph(0, true));
+        scc.findSCCs();
+
+        assertEquals(0, scc.getNumComponents());
+    }
+}
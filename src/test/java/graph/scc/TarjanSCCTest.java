@@ -0,0 +1,129 @@
+package graph.scc;
+
+import graph.model.CSRGraph;
+import graph.model.Graph;
+import org.junit.jupiter.api.Test;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TarjanSCCTest {
+
+    @Test
+    public void testSimpleCycle() {
+        Graph graph = new Graph(3, true);
+        graph.addEdge(0, 1);
+        graph.addEdge(1, 2);
+        graph.addEdge(2, 0);
+
+        SCCFinder scc = new TarjanSCC(graph);
+        scc.findSCCs();
+
+        assertEquals(1, scc.getNumComponents());
+        assertEquals(3, scc.getSCCs().get(0).size());
+    }
+
+    @Test
+    public void testDAG() {
+        Graph graph = new Graph(3, true);
+        graph.addEdge(0, 1);
+        graph.addEdge(1, 2);
+
+        SCCFinder scc = new TarjanSCC(graph);
+        scc.findSCCs();
+
+        assertEquals(3, scc.getNumComponents());
+        assertArrayEquals(new int[]{0, 1, 2}, scc.getComponentIds());
+        for (List<Integer> c : scc.getSCCs()) assertEquals(1, c.size());
+    }
+
+    @Test
+    public void testIdsFollowTopologicalOrder() {
+        // 0 -> {1,2} cycle -> 3
+        Graph graph = new Graph(4, true);
+        graph.addEdge(0, 1);
+        graph.addEdge(1, 2);
+        graph.addEdge(2, 1);
+        graph.addEdge(2, 3);
+
+        SCCFinder scc = new TarjanSCC(graph);
+        scc.findSCCs();
+
+        assertArrayEquals(new int[]{0, 1, 1, 2}, scc.getComponentIds());
+        assertEquals(List.of(1, 2), scc.getSCCs().get(1));
+    }
+
+    @Test
+    public void testLongChainDoesNotOverflowStack() {
+        int n = 500_000;
+        CSRGraph.Builder builder = new CSRGraph.Builder(n, true);
+        for (int i = 0; i + 1 < n; i++) {
+            builder.addEdge(i, i + 1);
+        }
+        builder.addEdge(n - 1, 0);
+
+        SCCFinder scc = new TarjanSCC(builder.build());
+        scc.findSCCs();
+
+        assertEquals(1, scc.getNumComponents());
+    }
+
+    @Test
+    public void testMatchesKosarajuOnRandomGraphs() {
+        Random random = new Random(7);
+        for (int round = 0; round < 20; round++) {
+            int n = 1 + random.nextInt(200);
+            Graph graph = new Graph(n, true);
+            int m = random.nextInt(3 * n);
+            for (int i = 0; i < m; i++) {
+                graph.addEdge(random.nextInt(n), random.nextInt(n));
+            }
+
+            SCCFinder kosaraju = new KosarajuSCC(graph);
+            SCCFinder tarjan = new TarjanSCC(graph);
+            kosaraju.findSCCs();
+            tarjan.findSCCs();
+
+            assertEquals(kosaraju.getNumComponents(), tarjan.getNumComponents());
+            assertSamePartition(kosaraju.getComponentIds(), tarjan.getComponentIds());
+
+            // every edge goes forward (or stays inside) in component order
+            int[] comp = tarjan.getComponentIds();
+            for (int u = 0; u < n; u++) {
+                for (int i = 0; i < graph.getOutDegree(u); i++) {
+                    assertTrue(comp[u] <= comp[graph.getTarget(u, i)]);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testCondensationDAG() {
+        Graph graph = new Graph(5, true);
+        graph.addEdge(0, 1);
+        graph.addEdge(1, 2);
+        graph.addEdge(2, 0);
+        graph.addEdge(0, 3);
+        graph.addEdge(3, 4);
+
+        SCCFinder scc = new TarjanSCC(graph);
+        scc.findSCCs();
+        Graph condensation = scc.buildCondensationGraph();
+
+        assertEquals(3, condensation.getNumVertices());
+        assertEquals(2, condensation.getNumEdges());
+    }
+
+    static void assertSamePartition(int[] expected, int[] actual) {
+        assertEquals(expected.length, actual.length);
+        int[] mapping = new int[expected.length];
+        Arrays.fill(mapping, -1);
+        for (int v = 0; v < expected.length; v++) {
+            if (mapping[expected[v]] == -1) {
+                mapping[expected[v]] = actual[v];
+            }
+            assertEquals(mapping[expected[v]], actual[v], "vertex " + v);
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package graph.schedule;
+
+import graph.model.Graph;
+import org.junit.jupiter.api.Test;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DAGExecutorTest {
+
+    private Graph randomGraph(Random random, int n, int m, boolean acyclic) {
+        Graph graph = new Graph(n, true);
+        for (int e = 0; e < m; e++) {
+            int u = random.nextInt(n);
+            int v = random.nextInt(n);
+            if (!acyclic || u < v) {
+                graph.addEdge(u, v);
+            }
+        }
+        return graph;
+    }
+
+    @Test
+    public void testRunsInDependencyOrder() {
+        Random random = new Random(19);
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            for (int trial = 0; trial < 10; trial++) {
+                int n = 1 + random.nextInt(2000);
+                Graph graph = randomGraph(random, n, 3 * n, true);
+                AtomicInteger clock = new AtomicInteger();
+                AtomicIntegerArray started = new AtomicIntegerArray(n);
+                AtomicIntegerArray finished = new AtomicIntegerArray(n);
+
+                DAGExecutor executor = new DAGExecutor(graph, pool, CyclePolicy.REJECT);
+                DAGExecutor.Report report = executor.execute(v -> {
+                    started.set(v, clock.incrementAndGet());
+                    finished.set(v, clock.incrementAndGet());
+                });
+
+                assertEquals(n, report.getNumTasks());
+                assertEquals(n, executor.getNumComponents());
+                for (int u = 0; u < n; u++) {
+                    assertTrue(started.get(u) > 0);
+                    for (int i = 0; i < graph.getOutDegree(u); i++) {
+                        assertTrue(finished.get(u) < started.get(graph.getTarget(u, i)));
+                    }
+                }
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void testCyclicComponentsFollowPolicy() {
+        // {0, 1, 2} cycle -> 3, 4 with a self-loop
+        Graph graph = new Graph(5, true);
+        graph.addEdge(2, 0);
+        graph.addEdge(0, 1);
+        graph.addEdge(1, 2);
+        graph.addEdge(1, 3);
+        graph.addEdge(4, 4);
+
+        DAGExecutor sequential = new DAGExecutor(graph, CyclePolicy.SEQUENTIAL);
+        assertEquals(3, sequential.getNumComponents());
+        assertEquals(2, sequential.getNumCyclicComponents());
+        ConcurrentLinkedQueue<Integer> order = new ConcurrentLinkedQueue<>();
+        sequential.execute(v -> order.add(v));
+        List<Integer> ran = new ArrayList<>(order);
+        assertEquals(5, ran.size());
+        assertEquals(List.of(0, 1, 2), ran.subList(ran.indexOf(0), ran.indexOf(0) + 3));
+        assertTrue(ran.indexOf(2) < ran.indexOf(3));
+
+        AtomicIntegerArray runs = new AtomicIntegerArray(5);
+        new DAGExecutor(graph, CyclePolicy.repeat(3)).execute(v -> runs.incrementAndGet(v));
+        assertEquals(3, runs.get(0));
+        assertEquals(1, runs.get(3));
+        assertEquals(3, runs.get(4));
+
+        AtomicIntegerArray parallelRuns = new AtomicIntegerArray(5);
+        new DAGExecutor(graph, CyclePolicy.PARALLEL).execute(v -> parallelRuns.incrementAndGet(v));
+        for (int v = 0; v < 5; v++) {
+            assertEquals(1, parallelRuns.get(v));
+        }
+
+        CompletionException rejected = assertThrows(CompletionException.class, () ->
+                new DAGExecutor(graph, CyclePolicy.REJECT).execute(v -> { }));
+        assertTrue(rejected.getCause() instanceof IllegalStateException);
+    }
+
+    @Test
+    public void testFailureSkipsDependents() {
+        Graph graph = new Graph(3, true);
+        graph.addEdge(0, 1);
+        graph.addEdge(1, 2);
+        AtomicIntegerArray runs = new AtomicIntegerArray(3);
+
+        CompletionException failure = assertThrows(CompletionException.class, () ->
+                new DAGExecutor(graph).execute(v -> {
+                    runs.incrementAndGet(v);
+                    if (v == 1) {
+                        throw new IllegalArgumentException("boom");
+                    }
+                }));
+
+        assertEquals("Task 1 failed", failure.getMessage());
+        assertEquals("boom", failure.getCause().getMessage());
+        assertEquals(1, runs.get(0));
+        assertEquals(0, runs.get(2));
+    }
+
+    @Test
+    public void testReportAndRunnables() {
+        Graph graph = randomGraph(new Random(3), 300, 900, false);
+        List<Runnable> tasks = new ArrayList<>();
+        AtomicInteger count = new AtomicInteger();
+        for (int v = 0; v < 300; v++) {
+            tasks.add(count::incrementAndGet);
+        }
+        DAGExecutor executor = new DAGExecutor(graph);
+
+        DAGExecutor.Report report = executor.execute(tasks);
+
+        assertEquals(300, count.get());
+        assertTrue(report.getThroughput() > 0);
+        assertTrue(report.getLatencyPercentile(0.5) <= report.getLatencyPercentile(0.99));
+        assertTrue(report.getLatencyPercentile(0.99) <= report.getLatencyPercentile(1.0));
+        for (int v = 0; v < 300; v++) {
+            assertTrue(report.latencyNanos[v] >= report.runNanos[v]);
+        }
+        assertThrows(IllegalArgumentException.class, () -> executor.execute(tasks.subList(0, 10)));
+        assertThrows(IllegalArgumentException.class, () -> report.getLatencyPercentile(2));
+    }
+}
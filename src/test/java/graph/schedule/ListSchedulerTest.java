@@ -0,0 +1,138 @@
+package graph.schedule;
+
+import graph.dagsp.CriticalPathMethod;
+import graph.model.Graph;
+import graph.model.TestGraphs;
+import org.junit.jupiter.api.Test;
+import java.util.Random;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ListSchedulerTest {
+
+    @Test
+    public void testDiamondOnTwoWorkers() {
+        ListScheduler scheduler = new ListScheduler(TestGraphs.diamond(), new long[]{3, 2, 4, 1}, 2);
+        ListScheduler.Plan plan = scheduler.compute();
+
+        assertNotNull(plan);
+        assertEquals(8, plan.makespan);
+        assertEquals(8, plan.criticalPath);
+        assertEquals(10, plan.totalWork);
+        assertEquals(8, plan.getLowerBound());
+        assertArrayEquals(new long[]{8, 3, 5, 1}, plan.bottomLevel);
+        assertArrayEquals(new long[]{0, 3, 3, 7}, plan.start);
+        // C has the higher bottom level and takes the first free worker
+        assertEquals(0, plan.worker[2]);
+        assertEquals(1, plan.worker[1]);
+        assertArrayEquals(new int[]{0, 2, 1, 3}, plan.dispatchOrder);
+    }
+
+    @Test
+    public void testSingleWorkerRunsAllWork() {
+        ListScheduler.Plan plan = new ListScheduler(TestGraphs.diamond(), new long[]{3, 2, 4, 1}, 1).compute();
+
+        assertEquals(10, plan.makespan);
+        assertEquals(10, plan.getLowerBound());
+        assertArrayEquals(new int[]{0, 2, 1, 3}, plan.getTasks(0));
+        assertEquals(1.0, plan.getUtilization(), 1e-9);
+    }
+
+    @Test
+    public void testLagDelaysRelease() {
+        // 0(2) -lag 5-> 1(1), 2(4) independent: the worker runs 2 while 1 waits
+        Graph graph = new Graph(3, true);
+        graph.addEdge(0, 1, 5);
+        ListScheduler.Plan plan = new ListScheduler(graph, new long[]{2, 1, 4}, 1).compute();
+
+        assertArrayEquals(new long[]{0, 7, 2}, plan.start);
+        assertEquals(8, plan.makespan);
+        assertEquals(8, plan.criticalPath);
+    }
+
+    @Test
+    public void testNodeWeightsAsDurations() {
+        Graph graph = TestGraphs.diamond();
+        graph.setNodeWeight(0, 3);
+        graph.setNodeWeight(1, 2);
+        graph.setNodeWeight(2, 4);
+        graph.setNodeWeight(3, 1);
+
+        ListScheduler.Plan plan = new ListScheduler(graph, 2).compute();
+        assertEquals(8, plan.makespan);
+    }
+
+    @Test
+    public void testRejectsCycleAndBadInput() {
+        Graph cycle = new Graph(2, true);
+        cycle.addEdge(0, 1, 0);
+        cycle.addEdge(1, 0, 0);
+        assertNull(new ListScheduler(cycle, 2).compute());
+
+        assertThrows(IllegalArgumentException.class, () -> new ListScheduler(TestGraphs.diamond(), new long[]{1}, 2));
+        assertThrows(IllegalArgumentException.class, () -> new ListScheduler(TestGraphs.diamond(), new long[]{1, -1, 1, 1}, 2));
+        assertThrows(IllegalArgumentException.class, () -> new ListScheduler(TestGraphs.diamond(), 0));
+        assertThrows(IllegalStateException.class, () -> new ListScheduler(TestGraphs.diamond(), 2).getPlan());
+    }
+
+    @Test
+    public void testRandomDagsAreFeasible() {
+        Random random = new Random(18);
+        for (int trial = 0; trial < 30; trial++) {
+            int n = 1 + random.nextInt(300);
+            Graph graph = new Graph(n, true);
+            for (int e = 0; e < 3 * n; e++) {
+                int u = random.nextInt(n);
+                int v = random.nextInt(n);
+                if (u < v) {
+                    graph.addEdge(u, v, random.nextInt(4));
+                }
+            }
+            long[] duration = new long[n];
+            for (int v = 0; v < n; v++) {
+                duration[v] = random.nextInt(10);
+            }
+            int workers = 1 + random.nextInt(8);
+            ListScheduler.Plan plan = new ListScheduler(graph, duration, workers).compute();
+
+            // precedence and lags hold
+            for (int u = 0; u < n; u++) {
+                assertEquals(plan.start[u] + duration[u], plan.finish[u]);
+                for (int i = 0; i < graph.getOutDegree(u); i++) {
+                    int v = graph.getTarget(u, i);
+                    assertTrue(plan.start[v] >= plan.finish[u] + graph.getWeight(u, i));
+                }
+            }
+            // no worker runs two tasks at once
+            for (int w = 0; w < workers; w++) {
+                long free = 0;
+                for (int task : plan.getTasks(w)) {
+                    assertTrue(plan.start[task] >= free);
+                    free = plan.finish[task];
+                }
+            }
+            assertTrue(plan.makespan >= plan.getLowerBound());
+            assertEquals(new CriticalPathMethod(graph, duration).compute().projectDuration, plan.criticalPath);
+        }
+    }
+
+    @Test
+    public void testEnoughWorkersReachCriticalPath() {
+        Random random = new Random(5);
+        int n = 200;
+        Graph graph = new Graph(n, true);
+        for (int e = 0; e < 600; e++) {
+            int u = random.nextInt(n);
+            int v = random.nextInt(n);
+            if (u < v) {
+                graph.addEdge(u, v, random.nextInt(3));
+            }
+        }
+        long[] duration = new long[n];
+        for (int v = 0; v < n; v++) {
+            duration[v] = 1 + random.nextInt(9);
+        }
+
+        ListScheduler.Plan plan = new ListScheduler(graph, duration, n).compute();
+        assertEquals(plan.criticalPath, plan.makespan);
+    }
+}
@@ -0,0 +1,118 @@
+package graph.topo;
+
+import graph.model.Graph;
+import org.junit.jupiter.api.Test;
+import java.util.List;
+import java.util.Random;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DynamicTopologicalOrderTest {
+
+    private void assertValidOrder(DynamicTopologicalOrder order, Graph graph) {
+        List<Integer> view = order.getOrder();
+        assertEquals(graph.getNumVertices(), view.size());
+        for (int u = 0; u < graph.getNumVertices(); u++) {
+            assertEquals(u, (int) view.get(order.getPosition(u)));
+            for (int i = 0; i < graph.getOutDegree(u); i++) {
+                assertTrue(order.getPosition(u) < order.getPosition(graph.getTarget(u, i)),
+                        "edge " + u + "->" + graph.getTarget(u, i));
+            }
+        }
+    }
+
+    @Test
+    public void testSeededFromKahn() {
+        Graph graph = new Graph(4, true);
+        graph.addEdge(0, 1);
+        graph.addEdge(1, 2);
+        graph.addEdge(2, 3);
+
+        DynamicTopologicalOrder order = new DynamicTopologicalOrder(graph);
+
+        assertEquals(List.of(0, 1, 2, 3), order.getOrder());
+    }
+
+    @Test
+    public void testInsertionReordersAffectedRegion() {
+        // 0 -> 1, 2 -> 3 seeded as [0, 2, 1, 3]; adding 3 -> 0 moves {2, 3} before {0, 1}
+        Graph graph = new Graph(4, true);
+        graph.addEdge(0, 1);
+        graph.addEdge(2, 3);
+        DynamicTopologicalOrder order = new DynamicTopologicalOrder(graph);
+
+        assertTrue(order.addEdge(3, 0));
+        graph.addEdge(3, 0);
+
+        assertValidOrder(order, graph);
+        assertTrue(order.getPosition(3) < order.getPosition(0));
+    }
+
+    @Test
+    public void testCycleIsRejected() {
+        Graph graph = new Graph(3, true);
+        graph.addEdge(0, 1);
+        graph.addEdge(1, 2);
+        DynamicTopologicalOrder order = new DynamicTopologicalOrder(graph);
+
+        assertFalse(order.addEdge(2, 0));
+        assertFalse(order.addEdge(1, 1));
+        assertFalse(order.hasEdge(2, 0));
+        assertEquals(List.of(0, 1, 2), order.getOrder());
+    }
+
+    @Test
+    public void testRemovalAllowsReverseEdge() {
+        Graph graph = new Graph(2, true);
+        graph.addEdge(0, 1);
+        DynamicTopologicalOrder order = new DynamicTopologicalOrder(graph);
+
+        assertFalse(order.addEdge(1, 0));
+        assertTrue(order.removeEdge(0, 1));
+        assertFalse(order.removeEdge(0, 1));
+        assertTrue(order.addEdge(1, 0));
+        assertTrue(order.getPosition(1) < order.getPosition(0));
+    }
+
+    @Test
+    public void testCyclicSeedRejected() {
+        Graph graph = new Graph(2, true);
+        graph.addEdge(0, 1);
+        graph.addEdge(1, 0);
+
+        assertThrows(IllegalArgumentException.class, () -> new DynamicTopologicalOrder(graph));
+    }
+
+    @Test
+    public void testRandomInsertionsMatchFullRecomputation() {
+        Random random = new Random(17);
+        int n = 300;
+        Graph graph = new Graph(n, true);
+        DynamicTopologicalOrder order = new DynamicTopologicalOrder(graph);
+
+        for (int step = 0; step < 2_000; step++) {
+            int u = random.nextInt(n);
+            int v = random.nextInt(n);
+
+            // reference answer: would u->v close a cycle?
+            Graph candidate = copyWith(graph, u, v);
+            boolean acyclic = u != v && new KahnTopologicalSort(candidate).sort() != null;
+
+            assertEquals(acyclic, order.addEdge(u, v), "insert " + u + "->" + v);
+            if (acyclic) {
+                graph = candidate;
+            }
+        }
+        assertValidOrder(order, graph);
+    }
+
+    private Graph copyWith(Graph graph, int u, int v) {
+        Graph copy = new Graph(graph.getNumVertices(), true);
+        for (int a = 0; a < graph.getNumVertices(); a++) {
+            for (int i = 0; i < graph.getOutDegree(a); i++) {
+                copy.addEdge(a, graph.getTarget(a, i));
+            }
+        }
+        copy.addEdge(u, v);
+        return copy;
+    }
+}
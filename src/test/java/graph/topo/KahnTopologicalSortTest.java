@@ -2,6 +2,9 @@ package graph.topo;
 
 import graph.model.Graph;
 import org.junit.jupiter.api.Test;
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -107,4 +110,34 @@ public class KahnTopologicalSortTest {
         assertTrue(order.indexOf(2) < order.indexOf(3));
         assertTrue(order.indexOf(3) < order.indexOf(1));
     }
+
+    @Test
+    public void testComputeOrderMatchesBoxedView() {
+        Graph graph = new Graph(4, true);
+        graph.addEdge(0, 2);
+        graph.addEdge(1, 2);
+        graph.addEdge(2, 3);
+
+        KahnTopologicalSort topoSort = new KahnTopologicalSort(graph);
+        int[] order = topoSort.computeOrder();
+
+        assertArrayEquals(new int[]{0, 1, 2, 3}, order);
+        assertEquals(List.of(0, 1, 2, 3), topoSort.sort());
+    }
+
+    @Test
+    public void testResultIsCallersCopy() {
+        Graph graph = new Graph(3, true);
+        graph.addEdge(0, 1);
+        graph.addEdge(1, 2);
+        KahnTopologicalSort sorter = new KahnTopologicalSort(graph);
+
+        int[] order = sorter.computeOrder();
+        order[0] = 2;
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        sorter.printOrder(new PrintStream(out, true, StandardCharsets.UTF_8));
+        assertTrue(out.toString(StandardCharsets.UTF_8).contains("Order: [0, 1, 2]"));
+        assertArrayEquals(new int[]{0, 1, 2}, sorter.computeOrder());
+    }
 }
@@ -0,0 +1,94 @@
+package graph.topo;
+
+import graph.model.CSRGraph;
+import graph.model.Graph;
+import org.junit.jupiter.api.Test;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LevelTopologicalSortTest {
+
+    @Test
+    public void testDiamondLevels() {
+        Graph graph = new Graph(5, true);
+        graph.addEdge(0, 1);
+        graph.addEdge(0, 2);
+        graph.addEdge(1, 3);
+        graph.addEdge(2, 3);
+        graph.addEdge(0, 3);
+
+        LevelTopologicalSort topoSort = new LevelTopologicalSort(graph);
+        List<Integer> order = topoSort.sort();
+
+        assertEquals(List.of(0, 4, 1, 2, 3), order);
+        assertTrue(topoSort.isDAG());
+        assertEquals(3, topoSort.getNumLevels());
+        assertArrayEquals(new int[]{0, 4}, topoSort.getLevel(0));
+        assertArrayEquals(new int[]{1, 2}, topoSort.getLevel(1));
+        assertArrayEquals(new int[]{0, 1, 1, 2, 0}, topoSort.getLevels());
+    }
+
+    @Test
+    public void testCycleDetection() {
+        Graph graph = new Graph(3, true);
+        graph.addEdge(0, 1);
+        graph.addEdge(1, 2);
+        graph.addEdge(2, 1);
+
+        LevelTopologicalSort topoSort = new LevelTopologicalSort(graph);
+
+        assertNull(topoSort.sort());
+        assertFalse(topoSort.isDAG());
+        assertNull(topoSort.getLevels());
+    }
+
+    @Test
+    public void testLevelsAreLongestPathDepths() {
+        Random random = new Random(13);
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            for (int round = 0; round < 6; round++) {
+                // small graphs and graphs wide enough for parallel frontiers
+                int n = round < 3 ? 1 + random.nextInt(100) : 20_000 + random.nextInt(20_000);
+                CSRGraph.Builder builder = new CSRGraph.Builder(n, true);
+                for (int i = random.nextInt(4 * n); i > 0; i--) {
+                    int a = random.nextInt(n);
+                    int b = random.nextInt(n);
+                    if (a != b) {
+                        builder.addEdge(Math.min(a, b), Math.max(a, b));
+                    }
+                }
+                CSRGraph graph = builder.build();
+
+                LevelTopologicalSort topoSort = new LevelTopologicalSort(graph, pool);
+                List<Integer> order = topoSort.sort();
+                assertNotNull(order);
+                assertEquals(n, order.size());
+
+                // vertex ids ascend along every edge, so depth is the longest path by id order
+                int[] expected = new int[n];
+                for (int u = 0; u < n; u++) {
+                    for (int i = 0; i < graph.getOutDegree(u); i++) {
+                        int v = graph.getTarget(u, i);
+                        expected[v] = Math.max(expected[v], expected[u] + 1);
+                    }
+                }
+                assertArrayEquals(expected, topoSort.getLevels());
+
+                int[] position = new int[n];
+                for (int i = 0; i < n; i++) {
+                    position[order.get(i)] = i;
+                }
+                for (int u = 0; u < n; u++) {
+                    for (int i = 0; i < graph.getOutDegree(u); i++) {
+                        assertTrue(position[u] < position[graph.getTarget(u, i)]);
+                    }
+                }
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+}
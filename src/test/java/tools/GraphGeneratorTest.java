@@ -0,0 +1,130 @@
+package tools;
+
+import graph.model.CSRGraph;
+import graph.model.GraphLoader;
+import graph.model.GraphView;
+import graph.scc.SCCFinder;
+import graph.scc.TarjanSCC;
+import graph.topo.KahnTopologicalSort;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.Set;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class GraphGeneratorTest {
+
+    @TempDir
+    Path tempDir;
+
+    private CSRGraph collect(GraphGenerator generator) throws IOException {
+        CSRGraph.Builder builder = new CSRGraph.Builder(generator.getNumVertices(), true);
+        generator.generate(builder::addEdge);
+        return builder.build();
+    }
+
+    @Test
+    public void testRandomDagHasNoCyclesOrDuplicates() throws IOException {
+        CSRGraph graph = collect(new GraphGenerator(2_000, 8_000).seed(1));
+
+        assertNotNull(new KahnTopologicalSort(graph).sort());
+        for (int u = 0; u < graph.getNumVertices(); u++) {
+            Set<Integer> targets = new HashSet<>();
+            for (int i = 0; i < graph.getOutDegree(u); i++) {
+                assertTrue(targets.add(graph.getTarget(u, i)), "duplicate edge from " + u);
+                assertNotEquals(u, graph.getTarget(u, i));
+            }
+        }
+    }
+
+    @Test
+    public void testRequestedSccCount() throws IOException {
+        for (double skew : new double[]{1.0, 3.0}) {
+            for (GraphGenerator.Shape shape : new GraphGenerator.Shape[]{
+                    GraphGenerator.Shape.RANDOM, GraphGenerator.Shape.POWERLAW}) {
+                CSRGraph graph = collect(new GraphGenerator(5_000, 20_000)
+                        .shape(shape).sccs(37).sccSkew(skew).seed(9));
+
+                SCCFinder scc = new TarjanSCC(graph);
+                scc.findSCCs();
+                assertEquals(37, scc.getNumComponents(), shape + " skew " + skew);
+            }
+        }
+    }
+
+    @Test
+    public void testDeterministicBySeed() throws IOException {
+        GraphGenerator a = new GraphGenerator(1_000, 5_000).shape(GraphGenerator.Shape.POWERLAW).seed(5);
+        GraphGenerator b = new GraphGenerator(1_000, 5_000).shape(GraphGenerator.Shape.POWERLAW).seed(5);
+
+        assertEquals(collect(a).toString(), collect(b).toString());
+    }
+
+    @Test
+    public void testLayeredAndGridAreDags() throws IOException {
+        CSRGraph layered = collect(new GraphGenerator(1_000, 3_000).shape(GraphGenerator.Shape.LAYERED).layers(10));
+        CSRGraph grid = collect(new GraphGenerator(100, 0).shape(GraphGenerator.Shape.GRID));
+
+        assertNotNull(new KahnTopologicalSort(layered).sort());
+        assertNotNull(new KahnTopologicalSort(grid).sort());
+        assertEquals(2 * 10 * 9, grid.getNumEdges());
+    }
+
+    @Test
+    public void testWeightsStayInRange() throws IOException {
+        for (GraphGenerator.WeightDistribution dist : GraphGenerator.WeightDistribution.values()) {
+            CSRGraph graph = collect(new GraphGenerator(500, 2_000).weights(dist, 3, 7));
+            for (int u = 0; u < graph.getNumVertices(); u++) {
+                for (int i = 0; i < graph.getOutDegree(u); i++) {
+                    int w = graph.getWeight(u, i);
+                    assertTrue(w >= 3 && w <= 7, dist + " produced " + w);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testJsonAndBinaryOutputsMatch() throws IOException {
+        GraphGenerator generator = new GraphGenerator(300, 1_200).sccs(5).seed(3);
+        Path json = tempDir.resolve("g.json");
+        Path bin = tempDir.resolve("g.bin");
+
+        long jsonEdges = generator.writeJson(json);
+        long binEdges = generator.writeBinary(bin);
+        GraphView fromJson = GraphLoader.loadFromFile(json.toString()).graph;
+        GraphView fromBin = GraphLoader.loadFromFile(bin.toString()).graph;
+
+        assertEquals(jsonEdges, binEdges);
+        assertEquals(jsonEdges, fromJson.getNumEdges());
+        assertTrue(Files.size(json) > Files.size(bin));
+        assertEquals(CSRGraph.from(fromJson).toString(), CSRGraph.from(fromBin).toString());
+    }
+
+    @Test
+    public void testNodeWeightedOutputs() throws IOException {
+        GraphGenerator generator = new GraphGenerator(200, 600).seed(8)
+                .nodeWeights(GraphGenerator.WeightDistribution.NORMAL, 5, 50);
+        Path json = tempDir.resolve("nodes.json");
+        Path bin = tempDir.resolve("nodes.bin");
+        generator.writeJson(json);
+        generator.writeBinary(bin);
+
+        GraphLoader.GraphData fromJson = GraphLoader.loadFromFile(json.toString());
+        GraphLoader.GraphData fromBin = GraphLoader.loadFromFile(bin.toString());
+
+        assertEquals("node", fromJson.weightModel);
+        assertEquals("node", fromBin.weightModel);
+        for (int v = 0; v < 200; v++) {
+            int w = fromJson.graph.getNodeWeight(v);
+            assertTrue(w >= 5 && w <= 50);
+            assertEquals(w, fromBin.graph.getNodeWeight(v));
+            for (int i = 0; i < fromJson.graph.getOutDegree(v); i++) {
+                assertEquals(0, fromJson.graph.getWeight(v, i));
+            }
+        }
+        assertEquals(CSRGraph.from(fromJson.graph).toString(), CSRGraph.from(fromBin.graph).toString());
+    }
+}
@@ -0,0 +1,66 @@
+package util;
+
+import org.junit.jupiter.api.Test;
+import java.util.Arrays;
+import java.util.Random;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class HistogramTest {
+
+    @Test
+    public void testSmallValuesAreExact() {
+        Histogram histogram = new Histogram();
+        for (int v = 1; v <= 10; v++) {
+            histogram.record(v);
+        }
+
+        assertEquals(10, histogram.getCount());
+        assertEquals(55, histogram.getSum());
+        assertEquals(5.5, histogram.getMean(), 1e-9);
+        assertEquals(1, histogram.getMin());
+        assertEquals(10, histogram.getMax());
+        assertEquals(5, histogram.getPercentile(0.5));
+        assertEquals(10, histogram.getPercentile(0.99));
+        assertEquals(1, histogram.getPercentile(0));
+    }
+
+    @Test
+    public void testPercentilesWithinBucketError() {
+        Random random = new Random(20);
+        Histogram histogram = new Histogram();
+        long[] values = new long[50000];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = (long) Math.exp(random.nextDouble() * 30);
+            histogram.record(values[i]);
+        }
+        Arrays.sort(values);
+
+        for (double q : new double[]{0.1, 0.5, 0.9, 0.99, 0.999}) {
+            long exact = values[(int) Math.ceil(q * values.length) - 1];
+            long estimate = histogram.getPercentile(q);
+            assertTrue(Math.abs(estimate - exact) <= exact / 16 + 1, q + ": " + estimate + " vs " + exact);
+        }
+        assertEquals(values[values.length - 1], histogram.getPercentile(1));
+    }
+
+    @Test
+    public void testBucketBoundaries() {
+        for (long v : new long[]{0, 15, 16, 17, 31, 32, 1000, 1L << 40, Long.MAX_VALUE}) {
+            int b = Histogram.bucketOf(v);
+            assertTrue(Histogram.lowerBound(b) <= v);
+            assertTrue(v < Histogram.lowerBound(b + 1) || b == Histogram.bucketOf(Long.MAX_VALUE));
+        }
+    }
+
+    @Test
+    public void testResetAndInvalidInput() {
+        Histogram histogram = new Histogram();
+        histogram.record(7);
+        histogram.reset();
+
+        assertEquals(0, histogram.getCount());
+        assertEquals(0, histogram.getPercentile(0.5));
+        assertThrows(IllegalArgumentException.class, () -> histogram.record(-1));
+        assertThrows(IllegalArgumentException.class, () -> histogram.getPercentile(1.5));
+    }
+}
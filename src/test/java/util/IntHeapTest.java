@@ -0,0 +1,51 @@
+package util;
+
+import org.junit.jupiter.api.Test;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+import java.util.Random;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class IntHeapTest {
+
+    @Test
+    public void testPopsByKeyThenValue() {
+        IntHeap heap = new IntHeap(2);
+        heap.push(7, 5);
+        heap.push(3, 1);
+        heap.push(9, 5);
+        heap.push(4, 5);
+
+        assertEquals(4, heap.size());
+        assertEquals(3, heap.peek());
+        assertEquals(1, heap.peekKey());
+        assertEquals(3, heap.pop());
+        assertEquals(4, heap.pop());
+        assertEquals(7, heap.pop());
+        assertEquals(9, heap.pop());
+        assertTrue(heap.isEmpty());
+        assertThrows(NoSuchElementException.class, heap::pop);
+    }
+
+    @Test
+    public void testMatchesPriorityQueue() {
+        Random random = new Random(18);
+        IntHeap heap = new IntHeap();
+        PriorityQueue<long[]> expected = new PriorityQueue<>((a, b) ->
+                a[0] != b[0] ? Long.compare(a[0], b[0]) : Long.compare(a[1], b[1]));
+
+        for (int step = 0; step < 20000; step++) {
+            if (expected.isEmpty() || random.nextInt(3) > 0) {
+                int value = random.nextInt(1000);
+                long key = random.nextInt(50) - 25;
+                heap.push(value, key);
+                expected.add(new long[]{key, value});
+            } else {
+                long[] top = expected.poll();
+                assertEquals(top[0], heap.peekKey());
+                assertEquals(top[1], heap.pop());
+            }
+            assertEquals(expected.size(), heap.size());
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package util;
+
+import org.junit.jupiter.api.Test;
+import java.util.List;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class IntListTest {
+
+    @Test
+    public void testAddGrowAndRemoveSwap() {
+        IntList list = new IntList(2);
+        for (int i = 0; i < 5; i++) {
+            list.add(i * 10);
+        }
+
+        assertEquals(5, list.size());
+        assertEquals(30, list.get(3));
+        assertTrue(list.removeSwap(10));
+        assertFalse(list.removeSwap(10));
+        // last element moved into the gap
+        assertArrayEquals(new int[]{0, 40, 20, 30}, list.toArray());
+        assertThrows(IndexOutOfBoundsException.class, () -> list.get(4));
+    }
+
+    @Test
+    public void testAddAllAndStack() {
+        IntList list = new IntList();
+        IntList other = new IntList();
+        list.add(1);
+        other.add(2);
+        other.add(3);
+        list.addAll(other);
+        assertArrayEquals(new int[]{1, 2, 3}, list.toArray());
+
+        IntStack stack = new IntStack(1);
+        for (int i = 0; i < list.size(); i++) {
+            stack.push(list.get(i));
+        }
+        assertEquals(3, stack.pop());
+        assertEquals(2, stack.peek());
+        assertEquals(2, stack.size());
+    }
+
+    @Test
+    public void testAsListIsLiveView() {
+        int[] array = {4, 5, 6};
+        List<Integer> view = IntList.asList(array);
+        assertEquals(List.of(4, 5, 6), view);
+        array[0] = 7;
+        assertEquals(7, (int) view.get(0));
+        assertThrows(UnsupportedOperationException.class, () -> view.add(1));
+    }
+}
@@ -0,0 +1,43 @@
+package util;
+
+import org.junit.jupiter.api.Test;
+import java.util.ArrayDeque;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class IntQueueTest {
+
+    @Test
+    public void testFifoOrder() {
+        IntQueue queue = new IntQueue(2);
+        queue.offer(1);
+        queue.offer(2);
+        queue.offer(3);
+
+        assertEquals(3, queue.size());
+        assertEquals(1, queue.peek());
+        assertEquals(1, queue.poll());
+        assertEquals(2, queue.poll());
+        assertEquals(3, queue.poll());
+        assertTrue(queue.isEmpty());
+        assertThrows(NoSuchElementException.class, queue::poll);
+    }
+
+    @Test
+    public void testGrowsWhileWrappedAround() {
+        Random random = new Random(14);
+        IntQueue queue = new IntQueue(4);
+        ArrayDeque<Integer> expected = new ArrayDeque<>();
+        for (int step = 0; step < 10_000; step++) {
+            if (expected.isEmpty() || random.nextInt(3) > 0) {
+                int value = random.nextInt();
+                queue.offer(value);
+                expected.add(value);
+            } else {
+                assertEquals((int) expected.poll(), queue.poll());
+            }
+            assertEquals(expected.size(), queue.size());
+        }
+    }
+}
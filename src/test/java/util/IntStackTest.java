@@ -0,0 +1,49 @@
+package util;
+
+import org.junit.jupiter.api.Test;
+import java.util.ArrayDeque;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class IntStackTest {
+
+    @Test
+    public void testLifoOrder() {
+        IntStack stack = new IntStack(2);
+        stack.push(1);
+        stack.push(2);
+        stack.push(3);
+
+        assertEquals(3, stack.size());
+        assertEquals(3, stack.peek());
+        assertEquals(3, stack.pop());
+        assertEquals(2, stack.pop());
+        assertEquals(1, stack.pop());
+        assertTrue(stack.isEmpty());
+        assertThrows(NoSuchElementException.class, stack::pop);
+        assertThrows(NoSuchElementException.class, stack::peek);
+    }
+
+    @Test
+    public void testGrowsAndClears() {
+        Random random = new Random(14);
+        IntStack stack = new IntStack(1);
+        ArrayDeque<Integer> expected = new ArrayDeque<>();
+        for (int step = 0; step < 10_000; step++) {
+            if (expected.isEmpty() || random.nextInt(3) > 0) {
+                int value = random.nextInt();
+                stack.push(value);
+                expected.push(value);
+            } else {
+                assertEquals((int) expected.pop(), stack.pop());
+            }
+            assertEquals(expected.size(), stack.size());
+        }
+
+        stack.clear();
+        assertTrue(stack.isEmpty());
+        stack.push(7);
+        assertEquals(7, stack.peek());
+    }
+}
@@ -0,0 +1,91 @@
+package util;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MetricsTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void testCountsFromManyThreadsPastIntRange() {
+        Metrics metrics = new Metrics("MetricsTest counts");
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            pool.submit(() -> IntStream.range(0, 100000).parallel()
+                    .forEach(i -> metrics.incrementOperations())).join();
+        } finally {
+            pool.shutdown();
+        }
+        metrics.addOperations(3L * Integer.MAX_VALUE);
+
+        assertEquals(100000 + 3L * Integer.MAX_VALUE, metrics.getOperations());
+        assertTrue(metrics.toString().startsWith("MetricsTest counts: " + metrics.getOperations() + " operations"));
+    }
+
+    @Test
+    public void testPhasesAndRegistryAggregate() {
+        String name = "MetricsTest phases";
+        MetricsRegistry.global().get(name).reset();
+        for (int run = 0; run < 5; run++) {
+            Metrics metrics = new Metrics(name);
+            metrics.startTimer();
+            metrics.addOperations(10);
+            metrics.record("work", 1_000);
+            metrics.stopTimer();
+
+            // the run object reads the aggregate's histograms
+            assertEquals(run + 1, metrics.getPhase(Metrics.TOTAL).getCount());
+            assertEquals(run + 1, metrics.getPhase("work").getCount());
+        }
+
+        Metrics aggregate = MetricsRegistry.global().get(name);
+        assertEquals(50, aggregate.getOperations());
+        assertEquals(5, aggregate.getPhase(Metrics.TOTAL).getCount());
+        assertEquals(5, aggregate.getPhase("work").getCount());
+        assertNull(aggregate.getPhase("missing"));
+    }
+
+    @Test
+    public void testJsonAndCsvExport() throws IOException {
+        MetricsRegistry registry = new MetricsRegistry();
+        Metrics metrics = registry.get("Say \"hi\", then\\go");
+        metrics.addOperations(42);
+        metrics.record("load", 2_000_000);
+        metrics.record("load", 4_000_000);
+        registry.get("Other").record(Metrics.TOTAL, 1_000);
+
+        JSONArray json = new JSONArray(registry.toJson());
+        assertEquals(2, json.length());
+        JSONObject first = json.getJSONObject(0);
+        assertEquals("Other", first.getString("name"));
+        JSONObject second = json.getJSONObject(1);
+        assertEquals("Say \"hi\", then\\go", second.getString("name"));
+        assertEquals(42, second.getLong("operations"));
+        JSONObject load = second.getJSONObject("phases").getJSONObject("load");
+        assertEquals(2, load.getLong("count"));
+        assertEquals(3.0, load.getDouble("mean_ms"), 1e-9);
+        assertEquals(4.0, load.getDouble("max_ms"), 1e-9);
+
+        Path csv = tempDir.resolve("metrics.csv");
+        registry.export(csv);
+        List<String> lines = Files.readAllLines(csv);
+        assertEquals(Metrics.CSV_HEADER, lines.get(0));
+        assertEquals("Other,total,1,0,0.001,0.001,0.001,0.001", lines.get(1));
+        assertTrue(lines.get(2).startsWith("\"Say \"\"hi\"\", then\\go\",load,2,42,3.000,"));
+
+        Path jsonFile = tempDir.resolve("metrics.json");
+        registry.export(jsonFile);
+        assertEquals(2, new JSONArray(Files.readString(jsonFile)).length());
+    }
+}
@@ -0,0 +1,89 @@
+package util;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class OffHeapIntArrayTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void testValuesCrossSegments() {
+        // segments of 8 ints
+        OffHeapIntArray array = OffHeapIntArray.allocate(100, 3);
+        for (long i = 0; i < 100; i++) {
+            array.set(i, (int) (i * 3 - 50));
+        }
+
+        assertEquals(100, array.length());
+        for (long i = 0; i < 100; i++) {
+            assertEquals(i * 3 - 50, array.get(i));
+        }
+    }
+
+    @Test
+    public void testLongValuesCrossSegments() {
+        OffHeapLongArray array = OffHeapLongArray.allocate(33, 2);
+        for (long i = 0; i < 33; i++) {
+            array.set(i, i << 40);
+        }
+
+        for (long i = 0; i < 33; i++) {
+            assertEquals(i << 40, array.get(i));
+        }
+    }
+
+    @Test
+    public void testAllocatedZeroFilled() {
+        OffHeapIntArray array = OffHeapIntArray.allocate(20, 4);
+
+        for (long i = 0; i < 20; i++) {
+            assertEquals(0, array.get(i));
+        }
+    }
+
+    @Test
+    public void testMapReadsLittleEndianFile() throws IOException {
+        Path file = tempDir.resolve("values.bin");
+        ByteBuffer bytes = ByteBuffer.allocate(4 + 10 * Integer.BYTES + 5 * Long.BYTES)
+                .order(ByteOrder.LITTLE_ENDIAN);
+        bytes.putInt(-1);
+        for (int i = 0; i < 10; i++) {
+            bytes.putInt(i * i);
+        }
+        for (long i = 0; i < 5; i++) {
+            bytes.putLong(i * 1_000_000_000_000L);
+        }
+        Files.write(file, bytes.array());
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            OffHeapIntArray ints = OffHeapIntArray.map(channel, FileChannel.MapMode.READ_ONLY, 4, 10, 2);
+            OffHeapLongArray longs = OffHeapLongArray.map(channel, FileChannel.MapMode.READ_ONLY,
+                    4 + 10 * Integer.BYTES, 5, 1);
+
+            for (long i = 0; i < 10; i++) {
+                assertEquals(i * i, ints.get(i));
+            }
+            for (long i = 0; i < 5; i++) {
+                assertEquals(i * 1_000_000_000_000L, longs.get(i));
+            }
+        }
+    }
+
+    @Test
+    public void testRejectsInvalidSegmentShift() {
+        assertThrows(IllegalArgumentException.class, () -> OffHeapIntArray.allocate(10, 0));
+        assertThrows(IllegalArgumentException.class, () -> OffHeapIntArray.allocate(10, 29));
+        assertThrows(IllegalArgumentException.class, () -> OffHeapLongArray.allocate(10, 28));
+        assertThrows(IllegalArgumentException.class, () -> OffHeapIntArray.allocate(-1));
+    }
+}